@@ -0,0 +1,168 @@
+package mindbadger.football.benchmark;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureKey;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixtureRepositoryBenchmark {
+	private static final Integer SEASON = 1860;
+	private static final String DIVISION_NAME = "Fixture Benchmark Division";
+	private static final String TEAM_NAME_PREFIX = "Fixture Benchmark Team ";
+	private static final int NUMBER_OF_TEAMS = 8;
+
+	private SeasonRepository seasonRepository;
+	private DivisionRepository divisionRepository;
+	private TeamRepository teamRepository;
+	private FixtureRepository fixtureRepository;
+	private DomainObjectFactory domainObjectFactory;
+
+	private Season season;
+	private Division division;
+	private SeasonDivision seasonDivision;
+	private List<Team> teams = new ArrayList<Team> ();
+	private List<Fixture> fixtures = new ArrayList<Fixture> ();
+	private List<FixtureKey> fixtureKeys = new ArrayList<FixtureKey> ();
+	private Fixture existingFixture;
+	private int nextGoals;
+
+	@Setup(Level.Trial)
+	public void setupTestData(RepositoryContext context) {
+		seasonRepository = context.getBean(SeasonRepository.class);
+		divisionRepository = context.getBean(DivisionRepository.class);
+		teamRepository = context.getBean(TeamRepository.class);
+		fixtureRepository = context.getBean(FixtureRepository.class);
+		domainObjectFactory = context.getBean(DomainObjectFactory.class);
+
+		season = seasonRepository.save(domainObjectFactory.createSeason(SEASON));
+		division = divisionRepository.save(domainObjectFactory.createDivision(DIVISION_NAME));
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			teams.add(teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_PREFIX + i)));
+		}
+
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		season = seasonRepository.save(season);
+		seasonDivision = season.getSeasonDivisions().iterator().next();
+
+		Calendar beforeToday = Calendar.getInstance();
+		beforeToday.set(2015, 4, 4);
+
+		// Every pairing is persisted except last v first, which saveAndDelete uses
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (homeTeam == awayTeam) continue;
+				if (homeTeam == lastTeam() && awayTeam == teams.get(0)) continue;
+				Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+				fixture.setDivision(division);
+				fixture.setFixtureDate(beforeToday);
+				fixtures.add(fixtureRepository.save(fixture));
+				fixtureKeys.add(FixtureKey.of(fixture));
+			}
+		}
+		existingFixture = fixtures.get(0);
+	}
+
+	@TearDown(Level.Trial)
+	public void removeTestData() {
+		for (Fixture fixture : fixtures) {
+			fixtureRepository.delete(fixture);
+		}
+		seasonRepository.delete(season);
+		divisionRepository.delete(division);
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+	}
+
+	@Benchmark
+	public Fixture saveAndDelete() {
+		Fixture fixture = fixtureRepository.save(domainObjectFactory.createFixture(season, lastTeam(), teams.get(0)));
+		fixtureRepository.delete(fixture);
+		return fixture;
+	}
+
+	@Benchmark
+	public Fixture findOne() {
+		return fixtureRepository.findOne(existingFixture.getFixtureId());
+	}
+
+	@Benchmark
+	public Fixture findMatching() {
+		return fixtureRepository.findMatching(domainObjectFactory.createFixture(season, existingFixture.getHomeTeam(), existingFixture.getAwayTeam()));
+	}
+
+	@Benchmark
+	public Fixture getExistingFixture() {
+		return fixtureRepository.getExistingFixture(season, existingFixture.getHomeTeam(), existingFixture.getAwayTeam());
+	}
+
+	@Benchmark
+	public int getExistingFixtureForEveryPairing() {
+		int found = 0;
+		for (FixtureKey key : fixtureKeys) {
+			if (fixtureRepository.getExistingFixture(key.getSeason(), key.getHomeTeam(), key.getAwayTeam()) != null) found++;
+		}
+		return found;
+	}
+
+	@Benchmark
+	public Map<FixtureKey, Fixture> getExistingFixturesForEveryPairing() {
+		return fixtureRepository.getExistingFixtures(fixtureKeys);
+	}
+
+	@Benchmark
+	public Fixture createOrUpdate() {
+		Fixture fixture = domainObjectFactory.createFixture(season, existingFixture.getHomeTeam(), existingFixture.getAwayTeam());
+		fixture.setDivision(division);
+		fixture.setFixtureDate(existingFixture.getFixtureDate());
+		fixture.setHomeGoals(nextGoals++ % 10);
+		fixture.setAwayGoals(0);
+		return fixtureRepository.createOrUpdate(fixture);
+	}
+
+	@Benchmark
+	public List<Fixture> getFixturesForDivisionInSeason() {
+		return fixtureRepository.getFixturesForDivisionInSeason(seasonDivision);
+	}
+
+	@Benchmark
+	public List<Fixture> getUnplayedFixturesBeforeToday() {
+		return fixtureRepository.getUnplayedFixturesBeforeToday();
+	}
+
+	private Team lastTeam() {
+		return teams.get(NUMBER_OF_TEAMS - 1);
+	}
+}
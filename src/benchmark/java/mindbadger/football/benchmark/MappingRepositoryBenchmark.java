@@ -0,0 +1,86 @@
+package mindbadger.football.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.domain.TrackedDivision;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TrackedDivisionRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingRepositoryBenchmark {
+	private static final String DIALECT = "benchmarkdialect";
+	private static final Integer SOURCE_ID = 10;
+	private static final Integer FRA_ID = 20;
+	private static final Integer UNKNOWN_SOURCE_ID = 99;
+
+	private TeamMappingRepository teamMappingRepository;
+	private DivisionMappingRepository divisionMappingRepository;
+	private TrackedDivisionRepository trackedDivisionRepository;
+
+	private TeamMapping teamMapping;
+	private TeamMapping unknownTeamMapping;
+	private DivisionMapping divisionMapping;
+	private TrackedDivision trackedDivision;
+
+	@Setup(Level.Trial)
+	public void setupTestData(RepositoryContext context) {
+		teamMappingRepository = context.getBean(TeamMappingRepository.class);
+		divisionMappingRepository = context.getBean(DivisionMappingRepository.class);
+		trackedDivisionRepository = context.getBean(TrackedDivisionRepository.class);
+		DomainObjectFactory domainObjectFactory = context.getBean(DomainObjectFactory.class);
+
+		teamMapping = teamMappingRepository.save(domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID, FRA_ID));
+		unknownTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, UNKNOWN_SOURCE_ID, 0);
+		divisionMapping = divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID, FRA_ID));
+		trackedDivision = trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID));
+	}
+
+	@TearDown(Level.Trial)
+	public void removeTestData() {
+		teamMappingRepository.delete(teamMapping);
+		divisionMappingRepository.delete(divisionMapping);
+		trackedDivisionRepository.delete(trackedDivision);
+	}
+
+	@Benchmark
+	public TeamMapping findTeamMapping() {
+		return teamMappingRepository.findOne(teamMapping);
+	}
+
+	@Benchmark
+	public TeamMapping findMissingTeamMapping() {
+		return teamMappingRepository.findOne(unknownTeamMapping);
+	}
+
+	@Benchmark
+	public DivisionMapping findDivisionMapping() {
+		return divisionMappingRepository.findOne(divisionMapping);
+	}
+
+	@Benchmark
+	public TrackedDivision findTrackedDivision() {
+		return trackedDivisionRepository.findOne(trackedDivision);
+	}
+}
@@ -0,0 +1,35 @@
+package mindbadger.football.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import mindbadger.TestApplication;
+
+/**
+ * Starts the same Spring context the integration tests use, once per trial,
+ * so that the benchmarks hit whichever repository implementation the active
+ * Maven profile puts on the classpath.
+ */
+@State(Scope.Benchmark)
+public class RepositoryContext {
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(TestApplication.class).web(false).run();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	public <T> T getBean(Class<T> beanClass) {
+		return context.getBean(beanClass);
+	}
+}
@@ -0,0 +1,122 @@
+package mindbadger.football.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Navigates a season of four divisions, looking up the last division and its last
+ * team. Finding the team should take the same time with one team per division as
+ * with a full league's 24; searching the sets, as callers used to, grows with them.
+ * Finding the division does not search, but the in-memory repository hands out a
+ * copy of it, which grows with its teams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeasonNavigationBenchmark {
+	private static final Integer SEASON = 1862;
+	private static final int DIVISIONS = 4;
+	private static final String DIVISION_NAME = "Season Navigation Benchmark Division ";
+	private static final String TEAM_NAME = "Season Navigation Benchmark Team ";
+
+	@Param({"1", "24"})
+	private int teamsPerDivision;
+
+	private SeasonRepository seasonRepository;
+	private DivisionRepository divisionRepository;
+	private TeamRepository teamRepository;
+
+	private Season season;
+	private final List<Division> divisions = new ArrayList<Division> ();
+	private final List<Team> teams = new ArrayList<Team> ();
+	private Division lastDivision;
+	private Team lastTeam;
+	private SeasonDivision lastSeasonDivision;
+
+	@Setup(Level.Trial)
+	public void setupTestData(RepositoryContext context) {
+		seasonRepository = context.getBean(SeasonRepository.class);
+		divisionRepository = context.getBean(DivisionRepository.class);
+		teamRepository = context.getBean(TeamRepository.class);
+		DomainObjectFactory domainObjectFactory = context.getBean(DomainObjectFactory.class);
+
+		season = seasonRepository.save(domainObjectFactory.createSeason(SEASON));
+		for (int position = 1; position <= DIVISIONS; position++) {
+			Division division = divisionRepository.save(domainObjectFactory.createDivision(DIVISION_NAME + position));
+			divisions.add(division);
+			season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, position));
+		}
+		season = seasonRepository.save(season);
+
+		for (SeasonDivision seasonDivision : season.getSeasonDivisions()) {
+			Division division = seasonDivision.getDivision();
+			for (int i = 1; i <= teamsPerDivision; i++) {
+				Team team = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME + division.getDivisionName() + " " + i));
+				teams.add(team);
+				seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+			}
+		}
+		season = seasonRepository.save(season);
+
+		lastDivision = divisions.get(divisions.size() - 1);
+		lastTeam = teams.get(teams.size() - 1);
+		lastSeasonDivision = seasonRepository.getSeasonDivision(season, lastDivision);
+	}
+
+	@TearDown(Level.Trial)
+	public void removeTestData() {
+		seasonRepository.delete(season);
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+		for (Division division : divisions) {
+			divisionRepository.delete(division);
+		}
+	}
+
+	@Benchmark
+	public SeasonDivision getSeasonDivision() {
+		return seasonRepository.getSeasonDivision(season, lastDivision);
+	}
+
+	@Benchmark
+	public SeasonDivisionTeam getSeasonDivisionTeam() {
+		return seasonRepository.getSeasonDivisionTeam(lastSeasonDivision, lastTeam);
+	}
+
+	@Benchmark
+	public SeasonDivisionTeam searchForSeasonDivisionTeam() {
+		for (SeasonDivisionTeam seasonDivisionTeam : lastSeasonDivision.getSeasonDivisionTeams()) {
+			if (lastTeam.equals(seasonDivisionTeam.getTeam())) return seasonDivisionTeam;
+		}
+		return null;
+	}
+}
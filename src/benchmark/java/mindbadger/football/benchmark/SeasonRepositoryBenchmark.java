@@ -0,0 +1,88 @@
+package mindbadger.football.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeasonRepositoryBenchmark {
+	private static final Integer SEASON = 1861;
+	private static final String DIVISION_NAME = "Season Benchmark Division";
+	private static final String TEAM_NAME = "Season Benchmark Team";
+
+	private SeasonRepository seasonRepository;
+	private DivisionRepository divisionRepository;
+	private TeamRepository teamRepository;
+
+	private Season season;
+	private Division division;
+	private Team team;
+	private SeasonDivision seasonDivision;
+
+	@Setup(Level.Trial)
+	public void setupTestData(RepositoryContext context) {
+		seasonRepository = context.getBean(SeasonRepository.class);
+		divisionRepository = context.getBean(DivisionRepository.class);
+		teamRepository = context.getBean(TeamRepository.class);
+		DomainObjectFactory domainObjectFactory = context.getBean(DomainObjectFactory.class);
+
+		season = seasonRepository.save(domainObjectFactory.createSeason(SEASON));
+		division = divisionRepository.save(domainObjectFactory.createDivision(DIVISION_NAME));
+		team = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME));
+
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		season = seasonRepository.save(season);
+		seasonDivision = season.getSeasonDivisions().iterator().next();
+		seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+		season = seasonRepository.save(season);
+		seasonDivision = seasonRepository.getSeasonDivision(season, division);
+	}
+
+	@TearDown(Level.Trial)
+	public void removeTestData() {
+		seasonRepository.delete(season);
+		divisionRepository.delete(division);
+		teamRepository.delete(team);
+	}
+
+	@Benchmark
+	public Season findOne() {
+		return seasonRepository.findOne(SEASON);
+	}
+
+	@Benchmark
+	public SeasonDivision getSeasonDivision() {
+		return seasonRepository.getSeasonDivision(season, division);
+	}
+
+	@Benchmark
+	public SeasonDivisionTeam getSeasonDivisionTeam() {
+		return seasonRepository.getSeasonDivisionTeam(seasonDivision, team);
+	}
+}
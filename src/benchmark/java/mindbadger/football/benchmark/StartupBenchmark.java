@@ -0,0 +1,45 @@
+package mindbadger.football.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import mindbadger.TestApplication;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * Cold start of the test context: each measurement is the first context
+ * started in a fresh JVM, with and without lazy initialization. Forks take
+ * the JVM arguments of the benchmark run, so the weaving set up by the
+ * Maven profiles applies. football.startup-report.enabled=true adds a phase
+ * by phase report per fork to target/startup-report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+	@Param({"false", "true"})
+	private boolean lazyInitialization;
+
+	@Benchmark
+	public FixtureRepository startContextAndFetchARepository() {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class).web(false)
+				.properties("football.lazy-initialization.enabled=" + lazyInitialization).run()) {
+			return context.getBean(FixtureRepository.class);
+		}
+	}
+}
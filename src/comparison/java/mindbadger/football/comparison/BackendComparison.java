@@ -0,0 +1,49 @@
+package mindbadger.football.comparison;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import mindbadger.TestApplication;
+
+/**
+ * Runs the ComparisonWorkload against whichever backend the active Maven
+ * profile puts on the classpath, saves the timings as that backend's result
+ * and then prints a table comparing every backend with a result so far.
+ * <p>
+ * The couchbase backend is run against an in-process CouchbaseMock, and the
+ * jpa backend against the H2 database in application-benchmark.properties,
+ * so neither needs a server.
+ */
+public class BackendComparison {
+
+	public static void main(String[] args) throws Exception {
+		String backend = System.getProperty("comparison.backend", "default");
+		File directory = new File(System.getProperty("comparison.directory", "target/backend-comparison"));
+
+		OperationTimings timings;
+		CouchbaseStandIn couchbase = "couchbase".equals(backend) ? CouchbaseStandIn.start() : null;
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class).web(false).run(args)) {
+			timings = new ComparisonWorkload(context).run();
+		} finally {
+			if (couchbase != null) couchbase.stop();
+		}
+
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create " + directory);
+		}
+		try (Writer writer = new FileWriter(ComparisonReport.resultFile(directory, backend))) {
+			writer.write(timings.toJson(backend).toString(2));
+		}
+
+		String table = ComparisonReport.read(directory).toTable();
+		try (Writer writer = new FileWriter(new File(directory, "report.txt"))) {
+			writer.write(table);
+		}
+		System.out.println(table);
+	}
+}
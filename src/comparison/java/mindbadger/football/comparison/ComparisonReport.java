@@ -0,0 +1,91 @@
+package mindbadger.football.comparison;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Puts the results of every backend that has been run side by side: one row
+ * per operation and, for each backend, the median and 95th percentile latency
+ * in milliseconds and the calls per second.
+ */
+public class ComparisonReport {
+	private static final String RESULT_SUFFIX = ".json";
+
+	private final List<String> backends = new ArrayList<String> ();
+	private final Map<String, Map<String, JSONObject>> resultsByOperation = new LinkedHashMap<String, Map<String, JSONObject>> ();
+
+	/**
+	 * Reads every backend result in directory, in backend name order.
+	 */
+	public static ComparisonReport read(File directory) throws IOException {
+		ComparisonReport report = new ComparisonReport();
+		File[] resultFiles = directory.listFiles((dir, name) -> name.endsWith(RESULT_SUFFIX));
+		if (resultFiles == null) return report;
+
+		Arrays.sort(resultFiles);
+		for (File resultFile : resultFiles) {
+			report.add(new JSONObject(new String(Files.readAllBytes(resultFile.toPath()), StandardCharsets.UTF_8)));
+		}
+		return report;
+	}
+
+	public static File resultFile(File directory, String backend) {
+		return new File(directory, backend + RESULT_SUFFIX);
+	}
+
+	public void add(JSONObject result) {
+		String backend = result.getString("backend");
+		backends.add(backend);
+		JSONArray operations = result.getJSONArray("operations");
+		for (int i = 0; i < operations.length(); i++) {
+			JSONObject operation = operations.getJSONObject(i);
+			Map<String, JSONObject> byBackend = resultsByOperation.get(operation.getString("operation"));
+			if (byBackend == null) {
+				byBackend = new LinkedHashMap<String, JSONObject> ();
+				resultsByOperation.put(operation.getString("operation"), byBackend);
+			}
+			byBackend.put(backend, operation);
+		}
+	}
+
+	public String toTable() {
+		int operationWidth = "Operation".length();
+		for (String operation : resultsByOperation.keySet()) {
+			operationWidth = Math.max(operationWidth, operation.length());
+		}
+		String operationColumn = "%-" + operationWidth + "s";
+		String backendColumn = " | %28s";
+
+		StringBuilder table = new StringBuilder();
+		table.append(String.format(operationColumn, "Operation"));
+		for (String backend : backends) {
+			table.append(String.format(backendColumn, backend));
+		}
+		table.append('\n').append(String.format(operationColumn, ""));
+		for (int i = 0; i < backends.size(); i++) {
+			table.append(String.format(backendColumn, "p50 ms    p95 ms    calls/s"));
+		}
+		table.append('\n');
+
+		for (Map.Entry<String, Map<String, JSONObject>> row : resultsByOperation.entrySet()) {
+			table.append(String.format(operationColumn, row.getKey()));
+			for (String backend : backends) {
+				JSONObject result = row.getValue().get(backend);
+				table.append(String.format(backendColumn, result == null ? "-" : String.format("%9.3f %9.3f %10d",
+						result.getDouble("p50Millis"), result.getDouble("p95Millis"), result.getLong("callsPerSecond"))));
+			}
+			table.append('\n');
+		}
+		return table.toString();
+	}
+}
@@ -0,0 +1,171 @@
+package mindbadger.football.comparison;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.context.ApplicationContext;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * The workload every backend is compared on: inserts, natural-key lookups,
+ * fixture queries and aggregate saves, with the same data and the same
+ * sequence of calls each run. It removes its data when it finishes.
+ */
+public class ComparisonWorkload {
+	private static final String NAME_PREFIX = "Comparison ";
+	private static final int FIRST_SEASON = 1870;
+	private static final int PAGE_SIZE = 100;
+
+	private final SeasonRepository seasonRepository;
+	private final DivisionRepository divisionRepository;
+	private final TeamRepository teamRepository;
+	private final FixtureRepository fixtureRepository;
+	private final DomainObjectFactory domainObjectFactory;
+
+	private final int numberOfTeams = Integer.getInteger("comparison.teams", 24);
+	private final int numberOfSeasons = Integer.getInteger("comparison.seasons", 5);
+	private final int numberOfQueries = Integer.getInteger("comparison.queries", 500);
+	private final Random random = new Random(Long.getLong("comparison.seed", 1870L));
+
+	private final OperationTimings timings = new OperationTimings();
+	private final List<Team> teams = new ArrayList<Team> ();
+	private final List<Season> seasons = new ArrayList<Season> ();
+	private final List<Fixture> fixtures = new ArrayList<Fixture> ();
+	private Division division;
+
+	public ComparisonWorkload(ApplicationContext context) {
+		seasonRepository = context.getBean(SeasonRepository.class);
+		divisionRepository = context.getBean(DivisionRepository.class);
+		teamRepository = context.getBean(TeamRepository.class);
+		fixtureRepository = context.getBean(FixtureRepository.class);
+		domainObjectFactory = context.getBean(DomainObjectFactory.class);
+	}
+
+	public OperationTimings run() {
+		try {
+			insert();
+			lookUpByNaturalKey();
+			queryFixtures();
+		} finally {
+			delete();
+		}
+		return timings;
+	}
+
+	private void insert() {
+		division = divisionRepository.save(domainObjectFactory.createDivision(NAME_PREFIX + "Division"));
+		for (int i = 0; i < numberOfTeams; i++) {
+			Team team = domainObjectFactory.createTeam(NAME_PREFIX + "Team " + i);
+			teams.add(timings.time("TeamRepository.save", () -> teamRepository.save(team)));
+		}
+
+		for (int s = 0; s < numberOfSeasons; s++) {
+			Season season = seasonRepository.save(domainObjectFactory.createSeason(FIRST_SEASON + s));
+			SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(season, division, 1);
+			for (Team team : teams) {
+				seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+			}
+			season.getSeasonDivisions().add(seasonDivision);
+			seasons.add(timings.time("SeasonRepository.save (season, division and teams)", () -> seasonRepository.save(season)));
+
+			List<Fixture> seasonFixtures = createFixtures(season, s);
+			if (s == 0) {
+				for (Fixture fixture : seasonFixtures) {
+					fixtures.add(timings.time("FixtureRepository.save", () -> fixtureRepository.save(fixture)));
+				}
+			} else {
+				timings.time("FixtureRepository.saveAll (" + seasonFixtures.size() + " fixtures)", () -> fixtureRepository.saveAll(seasonFixtures));
+				fixtures.addAll(seasonFixtures);
+			}
+		}
+	}
+
+	private List<Fixture> createFixtures(Season season, int seasonIndex) {
+		List<Fixture> seasonFixtures = new ArrayList<Fixture> ();
+		Calendar fixtureDate = Calendar.getInstance();
+		fixtureDate.clear();
+		fixtureDate.set(FIRST_SEASON + seasonIndex, Calendar.AUGUST, 1);
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (homeTeam == awayTeam) continue;
+				Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+				fixture.setDivision(division);
+				fixture.setFixtureDate((Calendar) fixtureDate.clone());
+				fixture.setHomeGoals(random.nextInt(5));
+				fixture.setAwayGoals(random.nextInt(4));
+				seasonFixtures.add(fixture);
+				if (seasonFixtures.size() % (numberOfTeams / 2) == 0) fixtureDate.add(Calendar.DAY_OF_MONTH, 3);
+			}
+		}
+		return seasonFixtures;
+	}
+
+	private void lookUpByNaturalKey() {
+		for (int i = 0; i < numberOfQueries; i++) {
+			Team team = domainObjectFactory.createTeam(randomTeam().getTeamName());
+			timings.time("TeamRepository.findMatching", () -> teamRepository.findMatching(team));
+		}
+		for (int i = 0; i < numberOfQueries; i++) {
+			Fixture fixture = fixtures.get(random.nextInt(fixtures.size()));
+			timings.time("FixtureRepository.getExistingFixture",
+					() -> fixtureRepository.getExistingFixture(fixture.getSeason(), fixture.getHomeTeam(), fixture.getAwayTeam()));
+		}
+		for (int i = 0; i < numberOfQueries; i++) {
+			Season season = randomSeason();
+			timings.time("SeasonRepository.getSeasonDivision", () -> seasonRepository.getSeasonDivision(season, division));
+		}
+	}
+
+	private void queryFixtures() {
+		for (int i = 0; i < numberOfQueries; i++) {
+			SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(randomSeason(), division, 1);
+			Team team = randomTeam();
+			timings.time("FixtureRepository.getFixturesForDivisionInSeason",
+					() -> fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+			timings.time("FixtureRepository.getFixturesForTeamInDivisionInSeason",
+					() -> fixtureRepository.getFixturesForTeamInDivisionInSeason(seasonDivision, team));
+		}
+		for (int i = 0; i < numberOfQueries; i++) {
+			Calendar from = fixtures.get(random.nextInt(fixtures.size())).getFixtureDate();
+			Calendar to = (Calendar) from.clone();
+			to.add(Calendar.MONTH, 1);
+			timings.time("FixtureRepository.getFixturesBetween (" + PAGE_SIZE + " per page)",
+					() -> fixtureRepository.getFixturesBetween(from, to, null, PAGE_SIZE));
+		}
+	}
+
+	private void delete() {
+		for (Fixture fixture : fixtures) {
+			Fixture existing = fixtureRepository.getExistingFixture(fixture.getSeason(), fixture.getHomeTeam(), fixture.getAwayTeam());
+			if (existing != null) fixtureRepository.delete(existing);
+		}
+		for (int s = 0; s < numberOfSeasons; s++) {
+			Season existing = seasonRepository.findOne(FIRST_SEASON + s);
+			if (existing != null) seasonRepository.delete(existing);
+		}
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+		if (division != null) divisionRepository.delete(division);
+	}
+
+	private Team randomTeam() {
+		return teams.get(random.nextInt(teams.size()));
+	}
+
+	private Season randomSeason() {
+		return seasons.get(random.nextInt(seasons.size()));
+	}
+}
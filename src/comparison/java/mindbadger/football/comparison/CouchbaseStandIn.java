@@ -0,0 +1,39 @@
+package mindbadger.football.comparison;
+
+import java.util.Collections;
+
+import com.couchbase.mock.Bucket.BucketType;
+import com.couchbase.mock.BucketConfiguration;
+import com.couchbase.mock.CouchbaseMock;
+
+/**
+ * An in-process CouchbaseMock cluster listening where the couchbase profile
+ * expects the real one, so the Couchbase backend can be measured without a
+ * server. The bucket name and password must match the ones the Couchbase
+ * repositories are configured with.
+ */
+public class CouchbaseStandIn {
+	private final CouchbaseMock mock;
+
+	private CouchbaseStandIn(CouchbaseMock mock) {
+		this.mock = mock;
+	}
+
+	public static CouchbaseStandIn start() throws Exception {
+		BucketConfiguration bucket = new BucketConfiguration();
+		bucket.name = System.getProperty("comparison.couchbase.bucket", "default");
+		bucket.password = System.getProperty("comparison.couchbase.password", "");
+		bucket.type = BucketType.COUCHBASE;
+		bucket.numNodes = 1;
+		bucket.numReplicas = 0;
+
+		CouchbaseMock mock = new CouchbaseMock(Integer.getInteger("comparison.couchbase.port", 8091), Collections.singletonList(bucket));
+		mock.start();
+		mock.waitForStartup();
+		return new CouchbaseStandIn(mock);
+	}
+
+	public void stop() {
+		mock.stop();
+	}
+}
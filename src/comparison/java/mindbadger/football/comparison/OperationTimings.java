@@ -0,0 +1,62 @@
+package mindbadger.football.comparison;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import mindbadger.football.repository.metrics.LatencyHistogram;
+
+/**
+ * Latencies of the named operations of one workload run, in the order the
+ * operations were first timed.
+ */
+public class OperationTimings {
+	private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<String, LatencyHistogram> ();
+	private final Map<String, Long> totalNanos = new LinkedHashMap<String, Long> ();
+
+	public <T> T time(String operation, Supplier<T> call) {
+		long start = System.nanoTime();
+		T result = call.get();
+		long nanos = System.nanoTime() - start;
+
+		LatencyHistogram histogram = latencies.get(operation);
+		if (histogram == null) {
+			histogram = new LatencyHistogram();
+			latencies.put(operation, histogram);
+			totalNanos.put(operation, 0L);
+		}
+		histogram.record(nanos);
+		totalNanos.put(operation, totalNanos.get(operation) + nanos);
+		return result;
+	}
+
+	public JSONObject toJson(String backend) {
+		JSONArray operations = new JSONArray();
+		for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			long nanos = totalNanos.get(entry.getKey());
+			JSONObject operation = new JSONObject();
+			operation.put("operation", entry.getKey());
+			operation.put("calls", histogram.getCount());
+			operation.put("callsPerSecond", nanos == 0 ? 0 : Math.round(histogram.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / nanos));
+			operation.put("p50Millis", millis(histogram.getPercentile(0.50)));
+			operation.put("p95Millis", millis(histogram.getPercentile(0.95)));
+			operation.put("p99Millis", millis(histogram.getPercentile(0.99)));
+			operation.put("maxMillis", millis(histogram.getMax()));
+			operations.put(operation);
+		}
+
+		JSONObject result = new JSONObject();
+		result.put("backend", backend);
+		result.put("operations", operations);
+		return result;
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+	}
+}
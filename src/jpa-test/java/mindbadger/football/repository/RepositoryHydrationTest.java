@@ -0,0 +1,169 @@
+package mindbadger.football.repository;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.sessions.server.Server;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+
+/**
+ * Checks that count and exists queries are answered by the database without
+ * building entities. EclipseLink raises a postBuild descriptor event for every
+ * object it builds from a row, so those events are counted with the shared
+ * cache emptied.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class RepositoryHydrationTest {
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1854);
+	private final String divisionName = namespace.name("Hydration Test Division Name 1");
+	private final String team1Name = namespace.name("Hydration Test Team Name 1");
+	private final String team2Name = namespace.name("Hydration Test Team Name 2");
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private final AtomicInteger objectsBuilt = new AtomicInteger();
+
+	private final DescriptorEventAdapter buildCounter = new DescriptorEventAdapter() {
+		@Override
+		public void postBuild(DescriptorEvent event) {
+			objectsBuilt.incrementAndGet();
+		}
+	};
+
+	private Season season;
+	private Team homeTeam;
+	private Team awayTeam;
+	private Fixture fixture;
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		homeTeam = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		awayTeam = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		season = seasonRepository.save(season);
+
+		fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture = fixtureRepository.save(fixture);
+
+		entityManagerFactory.getCache().evictAll();
+		for (ClassDescriptor descriptor : serverSession().getDescriptors().values()) {
+			descriptor.getEventManager().addListener(buildCounter);
+		}
+	}
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		for (ClassDescriptor descriptor : serverSession().getDescriptors().values()) {
+			descriptor.getEventManager().removeListener(buildCounter);
+		}
+
+		Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+		if (fixture != null) fixtureRepository.delete(fixture);
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		Team team = teamRepository.findMatching(domainObjectFactory.createTeam(team1Name));
+		if (team != null) teamRepository.delete(team);
+
+		team = teamRepository.findMatching(domainObjectFactory.createTeam(team2Name));
+		if (team != null) teamRepository.delete(team);
+	}
+
+	@Test
+	public void findOneShouldBuildEntities () {
+		// When
+		seasonRepository.findOne(seasonNumber);
+		
+		// Then - proves the listener sees hydration, so the zero counts below mean something
+		assertTrue (objectsBuilt.get() > 0);
+	}
+
+	@Test
+	public void countShouldNotBuildAnyEntities () {
+		// When
+		seasonRepository.count();
+		teamRepository.count();
+		divisionRepository.count();
+		fixtureRepository.count();
+		
+		// Then
+		assertEquals (0, objectsBuilt.get());
+	}
+
+	@Test
+	public void existsShouldNotBuildAnyEntities () {
+		// When
+		assertTrue (seasonRepository.exists(seasonNumber));
+		assertTrue (teamRepository.exists(homeTeam.getTeamId()));
+		assertTrue (fixtureRepository.exists(fixture.getFixtureId()));
+		
+		// Then
+		assertEquals (0, objectsBuilt.get());
+	}
+
+	@Test
+	public void countFixturesForDivisionInSeasonShouldNotBuildAnyFixtures () {
+		// Given
+		SeasonDivision seasonDivision = season.getSeasonDivisions().iterator().next();
+		
+		// When
+		long count = fixtureRepository.countFixturesForDivisionInSeason(seasonDivision);
+		
+		// Then
+		assertEquals (1, count);
+		assertEquals (0, objectsBuilt.get());
+	}
+
+	private Server serverSession() {
+		return JpaHelper.getServerSession(entityManagerFactory);
+	}
+}
@@ -0,0 +1,43 @@
+package mindbadger.football.domain.inmemory;
+
+import mindbadger.football.domain.Division;
+
+public class InMemoryDivision implements Division {
+	private String divisionId;
+	private String divisionName;
+
+	public String getDivisionId() {
+		return divisionId;
+	}
+
+	public void setDivisionId(String divisionId) {
+		this.divisionId = divisionId;
+	}
+
+	public String getDivisionName() {
+		return divisionName;
+	}
+
+	public void setDivisionName(String divisionName) {
+		this.divisionName = divisionName;
+	}
+
+	@Override
+	public int hashCode() {
+		return divisionName == null ? 0 : divisionName.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Division)) return false;
+
+		Division other = (Division) obj;
+		return divisionName == null ? other.getDivisionName() == null : divisionName.equals(other.getDivisionName());
+	}
+
+	@Override
+	public String toString() {
+		return "Division[" + divisionId + ", " + divisionName + "]";
+	}
+}
@@ -0,0 +1,54 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.Objects;
+
+import mindbadger.football.domain.DivisionMapping;
+
+public class InMemoryDivisionMapping implements DivisionMapping {
+	private String dialect;
+	private Integer sourceId;
+	private Integer fraId;
+
+	public String getDialect() {
+		return dialect;
+	}
+
+	public void setDialect(String dialect) {
+		this.dialect = dialect;
+	}
+
+	public Integer getSourceId() {
+		return sourceId;
+	}
+
+	public void setSourceId(Integer sourceId) {
+		this.sourceId = sourceId;
+	}
+
+	public Integer getFraId() {
+		return fraId;
+	}
+
+	public void setFraId(Integer fraId) {
+		this.fraId = fraId;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(dialect, sourceId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof DivisionMapping)) return false;
+
+		DivisionMapping other = (DivisionMapping) obj;
+		return Objects.equals(dialect, other.getDialect()) && Objects.equals(sourceId, other.getSourceId());
+	}
+
+	@Override
+	public String toString() {
+		return "DivisionMapping[" + dialect + ", " + sourceId + " -> " + fraId + "]";
+	}
+}
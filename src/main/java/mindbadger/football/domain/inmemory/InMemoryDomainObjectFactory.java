@@ -0,0 +1,93 @@
+package mindbadger.football.domain.inmemory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.domain.TrackedDivision;
+
+@Component
+@Profile("inmemory")
+public class InMemoryDomainObjectFactory implements DomainObjectFactory {
+
+	@Override
+	public Season createSeason(Integer seasonNumber) {
+		InMemorySeason season = new InMemorySeason();
+		season.setSeasonNumber(seasonNumber);
+		return season;
+	}
+
+	@Override
+	public Division createDivision(String divisionName) {
+		InMemoryDivision division = new InMemoryDivision();
+		division.setDivisionName(divisionName);
+		return division;
+	}
+
+	@Override
+	public Team createTeam(String teamName) {
+		InMemoryTeam team = new InMemoryTeam();
+		team.setTeamName(teamName);
+		return team;
+	}
+
+	@Override
+	public SeasonDivision createSeasonDivision(Season season, Division division, Integer divisionPosition) {
+		InMemorySeasonDivision seasonDivision = new InMemorySeasonDivision();
+		seasonDivision.setSeason(season);
+		seasonDivision.setDivision(division);
+		seasonDivision.setDivisionPosition(divisionPosition);
+		return seasonDivision;
+	}
+
+	@Override
+	public SeasonDivisionTeam createSeasonDivisionTeam(SeasonDivision seasonDivision, Team team) {
+		InMemorySeasonDivisionTeam seasonDivisionTeam = new InMemorySeasonDivisionTeam();
+		seasonDivisionTeam.setSeasonDivision(seasonDivision);
+		seasonDivisionTeam.setTeam(team);
+		return seasonDivisionTeam;
+	}
+
+	@Override
+	public Fixture createFixture(Season season, Team homeTeam, Team awayTeam) {
+		InMemoryFixture fixture = new InMemoryFixture();
+		fixture.setSeason(season);
+		fixture.setHomeTeam(homeTeam);
+		fixture.setAwayTeam(awayTeam);
+		return fixture;
+	}
+
+	@Override
+	public TeamMapping createTeamMapping(String dialect, Integer sourceId, Integer fraId) {
+		InMemoryTeamMapping teamMapping = new InMemoryTeamMapping();
+		teamMapping.setDialect(dialect);
+		teamMapping.setSourceId(sourceId);
+		teamMapping.setFraId(fraId);
+		return teamMapping;
+	}
+
+	@Override
+	public DivisionMapping createDivisionMapping(String dialect, Integer sourceId, Integer fraId) {
+		InMemoryDivisionMapping divisionMapping = new InMemoryDivisionMapping();
+		divisionMapping.setDialect(dialect);
+		divisionMapping.setSourceId(sourceId);
+		divisionMapping.setFraId(fraId);
+		return divisionMapping;
+	}
+
+	@Override
+	public TrackedDivision createTrackedDivision(String dialect, Integer sourceId) {
+		InMemoryTrackedDivision trackedDivision = new InMemoryTrackedDivision();
+		trackedDivision.setDialect(dialect);
+		trackedDivision.setSourceId(sourceId);
+		return trackedDivision;
+	}
+}
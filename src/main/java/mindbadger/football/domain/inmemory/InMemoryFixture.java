@@ -0,0 +1,132 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.Calendar;
+import java.util.Objects;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+
+public class InMemoryFixture implements Fixture {
+	private String fixtureId;
+	private Season season;
+	private Team homeTeam;
+	private Team awayTeam;
+	private Division division;
+	private Calendar fixtureDate;
+	private Integer homeGoals;
+	private Integer awayGoals;
+	private Long version;
+
+	public String getFixtureId() {
+		return fixtureId;
+	}
+
+	public void setFixtureId(String fixtureId) {
+		this.fixtureId = fixtureId;
+	}
+
+	public Season getSeason() {
+		return season;
+	}
+
+	public void setSeason(Season season) {
+		this.season = season;
+	}
+
+	public Team getHomeTeam() {
+		return homeTeam;
+	}
+
+	public void setHomeTeam(Team homeTeam) {
+		this.homeTeam = homeTeam;
+	}
+
+	public Team getAwayTeam() {
+		return awayTeam;
+	}
+
+	public void setAwayTeam(Team awayTeam) {
+		this.awayTeam = awayTeam;
+	}
+
+	public Division getDivision() {
+		return division;
+	}
+
+	public void setDivision(Division division) {
+		this.division = division;
+	}
+
+	public Calendar getFixtureDate() {
+		return fixtureDate;
+	}
+
+	public void setFixtureDate(Calendar fixtureDate) {
+		this.fixtureDate = fixtureDate;
+	}
+
+	public Integer getHomeGoals() {
+		return homeGoals;
+	}
+
+	public void setHomeGoals(Integer homeGoals) {
+		this.homeGoals = homeGoals;
+	}
+
+	public Integer getAwayGoals() {
+		return awayGoals;
+	}
+
+	public void setAwayGoals(Integer awayGoals) {
+		this.awayGoals = awayGoals;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	/**
+	 * A detached copy, so that callers holding a fixture read from the
+	 * repository cannot change the stored one without going through it.
+	 */
+	public InMemoryFixture copy() {
+		InMemoryFixture copy = new InMemoryFixture();
+		copy.fixtureId = fixtureId;
+		copy.season = season;
+		copy.homeTeam = homeTeam;
+		copy.awayTeam = awayTeam;
+		copy.division = division;
+		copy.fixtureDate = fixtureDate == null ? null : (Calendar) fixtureDate.clone();
+		copy.homeGoals = homeGoals;
+		copy.awayGoals = awayGoals;
+		copy.version = version;
+		return copy;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(season, homeTeam, awayTeam);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Fixture)) return false;
+
+		Fixture other = (Fixture) obj;
+		return Objects.equals(season, other.getSeason())
+				&& Objects.equals(homeTeam, other.getHomeTeam())
+				&& Objects.equals(awayTeam, other.getAwayTeam());
+	}
+
+	@Override
+	public String toString() {
+		return "Fixture[" + fixtureId + ", " + season + ", " + homeTeam + " v " + awayTeam + "]";
+	}
+}
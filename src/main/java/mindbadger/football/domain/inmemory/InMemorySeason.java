@@ -0,0 +1,84 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.Comparator;
+import java.util.Set;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+
+/**
+ * The season's divisions are iterated in division position order and indexed
+ * by division id, however they are added, removed or re-positioned.
+ */
+public class InMemorySeason implements Season {
+	private static final Comparator<SeasonDivision> BY_POSITION = Comparator.comparing(
+			SeasonDivision::getDivisionPosition, Comparator.nullsLast(Comparator.<Integer> naturalOrder()));
+
+	private Integer seasonNumber;
+	private IndexedSet<SeasonDivision> seasonDivisions = newSeasonDivisions();
+
+	public Integer getSeasonNumber() {
+		return seasonNumber;
+	}
+
+	public void setSeasonNumber(Integer seasonNumber) {
+		this.seasonNumber = seasonNumber;
+	}
+
+	public Set<SeasonDivision> getSeasonDivisions() {
+		return seasonDivisions;
+	}
+
+	public void setSeasonDivisions(Set<SeasonDivision> seasonDivisions) {
+		this.seasonDivisions = newSeasonDivisions();
+		this.seasonDivisions.addAll(seasonDivisions);
+	}
+
+	/**
+	 * The season division for the given division, without searching the season's divisions.
+	 */
+	public SeasonDivision getSeasonDivision(Division division) {
+		return seasonDivisions.get(division.getDivisionId());
+	}
+
+	/**
+	 * A detached copy of the season with its divisions and their teams, so
+	 * that callers holding a season read from the repository cannot change
+	 * the stored one without going through it. The Division and Team objects
+	 * are shared, as they belong to their own repositories.
+	 */
+	public InMemorySeason copy() {
+		InMemorySeason copy = new InMemorySeason();
+		copy.seasonNumber = seasonNumber;
+		for (SeasonDivision seasonDivision : seasonDivisions) {
+			copy.seasonDivisions.add(((InMemorySeasonDivision) seasonDivision).copy(copy));
+		}
+		return copy;
+	}
+
+	private static IndexedSet<SeasonDivision> newSeasonDivisions() {
+		return new IndexedSet<SeasonDivision> (
+				seasonDivision -> seasonDivision.getDivision() == null ? null : seasonDivision.getDivision().getDivisionId(),
+				BY_POSITION);
+	}
+
+	@Override
+	public int hashCode() {
+		return seasonNumber == null ? 0 : seasonNumber.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Season)) return false;
+
+		Season other = (Season) obj;
+		return seasonNumber == null ? other.getSeasonNumber() == null : seasonNumber.equals(other.getSeasonNumber());
+	}
+
+	@Override
+	public String toString() {
+		return "Season[" + seasonNumber + "]";
+	}
+}
@@ -0,0 +1,100 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.Set;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+
+/**
+ * Equality is on the division only, so that the repository can re-point a
+ * season division at its owning season while it sits in that season's set.
+ * The division's teams are kept in the order they were added and indexed by team id.
+ */
+public class InMemorySeasonDivision implements SeasonDivision {
+	private Season season;
+	private Division division;
+	private Integer divisionPosition;
+	private IndexedSet<SeasonDivisionTeam> seasonDivisionTeams = newSeasonDivisionTeams();
+
+	public Season getSeason() {
+		return season;
+	}
+
+	public void setSeason(Season season) {
+		this.season = season;
+	}
+
+	public Division getDivision() {
+		return division;
+	}
+
+	public void setDivision(Division division) {
+		this.division = division;
+	}
+
+	public Integer getDivisionPosition() {
+		return divisionPosition;
+	}
+
+	public void setDivisionPosition(Integer divisionPosition) {
+		this.divisionPosition = divisionPosition;
+	}
+
+	public Set<SeasonDivisionTeam> getSeasonDivisionTeams() {
+		return seasonDivisionTeams;
+	}
+
+	public void setSeasonDivisionTeams(Set<SeasonDivisionTeam> seasonDivisionTeams) {
+		this.seasonDivisionTeams = newSeasonDivisionTeams();
+		this.seasonDivisionTeams.addAll(seasonDivisionTeams);
+	}
+
+	/**
+	 * The season division team for the given team, without searching the division's teams.
+	 */
+	public SeasonDivisionTeam getSeasonDivisionTeam(Team team) {
+		return seasonDivisionTeams.get(team.getTeamId());
+	}
+
+	/**
+	 * A copy of the season division and its teams, belonging to the given season.
+	 */
+	public InMemorySeasonDivision copy(Season season) {
+		InMemorySeasonDivision copy = new InMemorySeasonDivision();
+		copy.season = season;
+		copy.division = division;
+		copy.divisionPosition = divisionPosition;
+		for (SeasonDivisionTeam seasonDivisionTeam : seasonDivisionTeams) {
+			copy.seasonDivisionTeams.add(((InMemorySeasonDivisionTeam) seasonDivisionTeam).copy(copy));
+		}
+		return copy;
+	}
+
+	private static IndexedSet<SeasonDivisionTeam> newSeasonDivisionTeams() {
+		return new IndexedSet<SeasonDivisionTeam> (
+				seasonDivisionTeam -> seasonDivisionTeam.getTeam() == null ? null : seasonDivisionTeam.getTeam().getTeamId(),
+				null);
+	}
+
+	@Override
+	public int hashCode() {
+		return division == null ? 0 : division.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof SeasonDivision)) return false;
+
+		SeasonDivision other = (SeasonDivision) obj;
+		return division == null ? other.getDivision() == null : division.equals(other.getDivision());
+	}
+
+	@Override
+	public String toString() {
+		return "SeasonDivision[" + season + ", " + division + ", " + divisionPosition + "]";
+	}
+}
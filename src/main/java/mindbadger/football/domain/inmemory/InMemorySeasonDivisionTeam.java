@@ -0,0 +1,59 @@
+package mindbadger.football.domain.inmemory;
+
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+
+/**
+ * Equality is on the team only, so that moving a team between divisions can
+ * re-point it at its new season division while it sits in that division's set.
+ */
+public class InMemorySeasonDivisionTeam implements SeasonDivisionTeam {
+	private SeasonDivision seasonDivision;
+	private Team team;
+
+	public SeasonDivision getSeasonDivision() {
+		return seasonDivision;
+	}
+
+	public void setSeasonDivision(SeasonDivision seasonDivision) {
+		this.seasonDivision = seasonDivision;
+	}
+
+	public Team getTeam() {
+		return team;
+	}
+
+	public void setTeam(Team team) {
+		this.team = team;
+	}
+
+	/**
+	 * A copy of the season division team, belonging to the given season division.
+	 */
+	InMemorySeasonDivisionTeam copy(SeasonDivision seasonDivision) {
+		InMemorySeasonDivisionTeam copy = new InMemorySeasonDivisionTeam();
+		copy.seasonDivision = seasonDivision;
+		copy.team = team;
+		return copy;
+	}
+
+	@Override
+	public int hashCode() {
+		return team == null ? 0 : team.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof SeasonDivisionTeam)) return false;
+
+		SeasonDivisionTeam other = (SeasonDivisionTeam) obj;
+		return team == null ? other.getTeam() == null : team.equals(other.getTeam());
+	}
+
+	@Override
+	public String toString() {
+		return "SeasonDivisionTeam[" + team + "]";
+	}
+}
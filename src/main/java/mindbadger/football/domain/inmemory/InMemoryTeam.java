@@ -0,0 +1,43 @@
+package mindbadger.football.domain.inmemory;
+
+import mindbadger.football.domain.Team;
+
+public class InMemoryTeam implements Team {
+	private String teamId;
+	private String teamName;
+
+	public String getTeamId() {
+		return teamId;
+	}
+
+	public void setTeamId(String teamId) {
+		this.teamId = teamId;
+	}
+
+	public String getTeamName() {
+		return teamName;
+	}
+
+	public void setTeamName(String teamName) {
+		this.teamName = teamName;
+	}
+
+	@Override
+	public int hashCode() {
+		return teamName == null ? 0 : teamName.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Team)) return false;
+
+		Team other = (Team) obj;
+		return teamName == null ? other.getTeamName() == null : teamName.equals(other.getTeamName());
+	}
+
+	@Override
+	public String toString() {
+		return "Team[" + teamId + ", " + teamName + "]";
+	}
+}
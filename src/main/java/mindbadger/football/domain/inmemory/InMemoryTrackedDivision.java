@@ -0,0 +1,45 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.Objects;
+
+import mindbadger.football.domain.TrackedDivision;
+
+public class InMemoryTrackedDivision implements TrackedDivision {
+	private String dialect;
+	private Integer sourceId;
+
+	public String getDialect() {
+		return dialect;
+	}
+
+	public void setDialect(String dialect) {
+		this.dialect = dialect;
+	}
+
+	public Integer getSourceId() {
+		return sourceId;
+	}
+
+	public void setSourceId(Integer sourceId) {
+		this.sourceId = sourceId;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(dialect, sourceId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof TrackedDivision)) return false;
+
+		TrackedDivision other = (TrackedDivision) obj;
+		return Objects.equals(dialect, other.getDialect()) && Objects.equals(sourceId, other.getSourceId());
+	}
+
+	@Override
+	public String toString() {
+		return "TrackedDivision[" + dialect + ", " + sourceId + "]";
+	}
+}
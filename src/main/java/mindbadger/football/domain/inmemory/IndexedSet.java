@@ -0,0 +1,149 @@
+package mindbadger.football.domain.inmemory;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The members of an aggregate, with set semantics taken from the members' own
+ * equality and a second index on the id of the entity each member refers to,
+ * so that the aggregate can be navigated by id without searching.
+ * <p>
+ * Members are iterated in the given order, or in insertion order when there is
+ * none. The order is applied as the set is iterated, so changing a member's
+ * position while it sits in the set needs no re-insertion. Members whose
+ * entity had no id yet when they were added are searched for until the set
+ * is copied, as the repository does when it saves the aggregate; reading
+ * never changes the indexes.
+ */
+class IndexedSet<E> extends AbstractSet<E> {
+	private final Function<E, String> idOf;
+	private final Comparator<? super E> order;
+	private final Map<E, E> members = new LinkedHashMap<E, E> ();
+	private final Map<String, E> byId = new HashMap<String, E> ();
+	private final List<E> withoutId = new ArrayList<E> ();
+
+	IndexedSet(Function<E, String> idOf, Comparator<? super E> order) {
+		this.idOf = idOf;
+		this.order = order;
+	}
+
+	/**
+	 * The member referring to the entity with the given id, or null.
+	 */
+	E get(String id) {
+		if (id == null) return null;
+		E member = byId.get(id);
+		if (member != null) return member;
+
+		for (E unindexed : withoutId) {
+			if (id.equals(idOf.apply(unindexed))) return unindexed;
+		}
+		return null;
+	}
+
+	@Override
+	public boolean add(E member) {
+		if (members.containsKey(member)) return false;
+
+		members.put(member, member);
+		index(member);
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object member) {
+		E removed = members.remove(member);
+		if (removed == null) return false;
+
+		unindex(removed);
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object member) {
+		return members.containsKey(member);
+	}
+
+	@Override
+	public void clear() {
+		members.clear();
+		byId.clear();
+		withoutId.clear();
+	}
+
+	@Override
+	public int size() {
+		return members.size();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		if (order == null) return new MemberIterator(members.keySet().iterator(), true);
+
+		List<E> ordered = new ArrayList<E> (members.keySet());
+		ordered.sort(order);
+		return new MemberIterator(ordered.iterator(), false);
+	}
+
+	private void index(E member) {
+		String id = idOf.apply(member);
+		if (id == null) {
+			withoutId.add(member);
+		} else {
+			byId.put(id, member);
+		}
+	}
+
+	private void unindex(E member) {
+		String id = idOf.apply(member);
+		if (id != null && byId.get(id) == member) {
+			byId.remove(id);
+		} else {
+			withoutId.remove(member);
+		}
+	}
+
+	/**
+	 * Keeps the id index in step when members are removed through the iterator.
+	 */
+	private class MemberIterator implements Iterator<E> {
+		private final Iterator<E> elements;
+		private final boolean live;
+		private E last;
+
+		MemberIterator(Iterator<E> elements, boolean live) {
+			this.elements = elements;
+			this.live = live;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return elements.hasNext();
+		}
+
+		@Override
+		public E next() {
+			return last = elements.next();
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+
+			if (live) {
+				elements.remove();
+				unindex(last);
+			} else {
+				IndexedSet.this.remove(last);
+			}
+			last = null;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package mindbadger.football.importer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a ResultImporter run did: rows read, fixtures written, rows skipped
+ * because their season, division or teams could not be resolved, and how
+ * long it took.
+ */
+public class ImportReport {
+	private final long rowsRead;
+	private final long fixturesWritten;
+	private final long rowsSkipped;
+	private final long elapsedNanos;
+
+	ImportReport(long rowsRead, long fixturesWritten, long rowsSkipped, long elapsedNanos) {
+		this.rowsRead = rowsRead;
+		this.fixturesWritten = fixturesWritten;
+		this.rowsSkipped = rowsSkipped;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public long getFixturesWritten() {
+		return fixturesWritten;
+	}
+
+	public long getRowsSkipped() {
+		return rowsSkipped;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getRowsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rowsRead * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportReport[" + rowsRead + " rows read, " + fixturesWritten + " fixtures written, " + rowsSkipped
+				+ " rows skipped, " + getRowsPerSecond() + " rows/s]";
+	}
+}
@@ -0,0 +1,211 @@
+package mindbadger.football.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Imports a results file with one match per line:
+ * <pre>
+ * season,divisionId,homeTeamId,awayTeamId,fixtureDate,homeGoals,awayGoals
+ * 1990,1,10,11,1990-08-25,2,1
+ * </pre>
+ * Division and team ids are the source's own, translated through the
+ * dialect's division and team mappings. The dialect's mappings are loaded
+ * once at the start with findByDialect, and each season, division and team is
+ * looked up once, so the work per row is parsing and writing. The file is read a line at a time and
+ * fixtures go to createOrUpdateAll in batches of
+ * football.result-import.batch-size (default 500), so memory use does not
+ * grow with the file. A missing fixture date or score may be left empty.
+ * Seasons that do not exist yet are created; rows whose division or teams are
+ * not mapped are skipped.
+ * <p>
+ * Each batch is written as it fills and the import is not one transaction. A
+ * malformed row (wrong number of columns, or a value that cannot be read)
+ * stops the import with an IllegalArgumentException naming the line, and the
+ * batches written before it stay written. As createOrUpdateAll replaces
+ * fixtures by (season, homeTeam, awayTeam), importing the corrected file again
+ * finishes the job without duplicating them.
+ */
+@Component
+public class ResultImporter {
+	private static final Logger logger = LoggerFactory.getLogger(ResultImporter.class);
+	private static final int COLUMNS = 7;
+
+	private final SeasonRepository seasonRepository;
+	private final DivisionRepository divisionRepository;
+	private final TeamRepository teamRepository;
+	private final FixtureRepository fixtureRepository;
+	private final TeamMappingRepository teamMappingRepository;
+	private final DivisionMappingRepository divisionMappingRepository;
+	private final DomainObjectFactory domainObjectFactory;
+	private final int batchSize;
+
+	@Autowired
+	public ResultImporter(SeasonRepository seasonRepository, DivisionRepository divisionRepository, TeamRepository teamRepository,
+			FixtureRepository fixtureRepository, TeamMappingRepository teamMappingRepository,
+			DivisionMappingRepository divisionMappingRepository, DomainObjectFactory domainObjectFactory, Environment environment) {
+		this.seasonRepository = seasonRepository;
+		this.divisionRepository = divisionRepository;
+		this.teamRepository = teamRepository;
+		this.fixtureRepository = fixtureRepository;
+		this.teamMappingRepository = teamMappingRepository;
+		this.divisionMappingRepository = divisionMappingRepository;
+		this.domainObjectFactory = domainObjectFactory;
+		this.batchSize = environment.getProperty("football.result-import.batch-size", Integer.class, 500);
+	}
+
+	public ImportReport importResults(String dialect, Path file) throws IOException {
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return importResults(dialect, reader);
+		}
+	}
+
+	public ImportReport importResults(String dialect, Reader reader) throws IOException {
+		long start = System.nanoTime();
+		Resolver resolver = new Resolver(dialect);
+		List<Fixture> batch = new ArrayList<Fixture> (batchSize);
+		long rowsRead = 0;
+		long fixturesWritten = 0;
+		long rowsSkipped = 0;
+
+		BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		int lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty() || (lineNumber == 1 && line.startsWith("season"))) continue;
+
+			rowsRead++;
+			Fixture fixture = parse(line, lineNumber, resolver);
+			if (fixture == null) {
+				rowsSkipped++;
+				continue;
+			}
+
+			batch.add(fixture);
+			if (batch.size() == batchSize) {
+				fixturesWritten += write(batch);
+			}
+		}
+		fixturesWritten += write(batch);
+
+		ImportReport report = new ImportReport(rowsRead, fixturesWritten, rowsSkipped, System.nanoTime() - start);
+		logger.info("Imported results for {}: {}", dialect, report);
+		return report;
+	}
+
+	private Fixture parse(String line, int lineNumber, Resolver resolver) {
+		String[] columns = line.split(",", -1);
+		if (columns.length != COLUMNS) {
+			throw new IllegalArgumentException("Line " + lineNumber + " has " + columns.length + " columns, expected " + COLUMNS);
+		}
+
+		try {
+			Season season = resolver.season(Integer.valueOf(columns[0].trim()));
+			Division division = resolver.division(Integer.valueOf(columns[1].trim()));
+			Team homeTeam = resolver.team(Integer.valueOf(columns[2].trim()));
+			Team awayTeam = resolver.team(Integer.valueOf(columns[3].trim()));
+			if (division == null || homeTeam == null || awayTeam == null) return null;
+
+			Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+			fixture.setDivision(division);
+			fixture.setFixtureDate(date(columns[4].trim()));
+			fixture.setHomeGoals(goals(columns[5].trim()));
+			fixture.setAwayGoals(goals(columns[6].trim()));
+			return fixture;
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Line " + lineNumber + " could not be read: " + e.getMessage(), e);
+		}
+	}
+
+	private int write(List<Fixture> batch) {
+		if (batch.isEmpty()) return 0;
+
+		fixtureRepository.createOrUpdateAll(batch);
+		int written = batch.size();
+		batch.clear();
+		return written;
+	}
+
+	private static Calendar date(String value) {
+		if (value.isEmpty()) return null;
+		return GregorianCalendar.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()));
+	}
+
+	private static Integer goals(String value) {
+		return value.isEmpty() ? null : Integer.valueOf(value);
+	}
+
+	/**
+	 * Source ids to domain objects for one import. Holds one entry per
+	 * mapping, season, division and team, however long the file is.
+	 */
+	private class Resolver {
+		private final Map<Integer, Integer> divisionIds = new HashMap<Integer, Integer> ();
+		private final Map<Integer, Integer> teamIds = new HashMap<Integer, Integer> ();
+		private final Map<Integer, Season> seasons = new HashMap<Integer, Season> ();
+		private final Map<Integer, Division> divisions = new HashMap<Integer, Division> ();
+		private final Map<Integer, Team> teams = new HashMap<Integer, Team> ();
+
+		Resolver(String dialect) {
+			for (DivisionMapping divisionMapping : divisionMappingRepository.findByDialect(dialect)) {
+				divisionIds.put(divisionMapping.getSourceId(), divisionMapping.getFraId());
+			}
+			for (TeamMapping teamMapping : teamMappingRepository.findByDialect(dialect)) {
+				teamIds.put(teamMapping.getSourceId(), teamMapping.getFraId());
+			}
+		}
+
+		Season season(Integer seasonNumber) {
+			return seasons.computeIfAbsent(seasonNumber, number -> {
+				Season season = seasonRepository.findOne(number);
+				return season != null ? season : seasonRepository.save(domainObjectFactory.createSeason(number));
+			});
+		}
+
+		Division division(Integer sourceId) {
+			Integer fraId = divisionIds.get(sourceId);
+			if (fraId == null) return null;
+			return divisions.computeIfAbsent(fraId, id -> divisionRepository.findOne(String.valueOf(id)));
+		}
+
+		Team team(Integer sourceId) {
+			Integer fraId = teamIds.get(sourceId);
+			if (fraId == null) return null;
+			return teams.computeIfAbsent(fraId, id -> teamRepository.findOne(String.valueOf(id)));
+		}
+	}
+}
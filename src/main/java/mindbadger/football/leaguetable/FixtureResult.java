@@ -0,0 +1,83 @@
+package mindbadger.football.leaguetable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+
+/**
+ * Snapshot of the parts of a played fixture that count towards a league
+ * table, so later changes to the fixture object do not alter what is taken
+ * back out of the table.
+ */
+final class FixtureResult {
+	private final List<Object> tableKey;
+	private final Season season;
+	private final Division division;
+	private final Team homeTeam;
+	private final Team awayTeam;
+	private final int homeGoals;
+	private final int awayGoals;
+
+	private FixtureResult(List<Object> tableKey, Season season, Division division, Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+		this.tableKey = tableKey;
+		this.season = season;
+		this.division = division;
+		this.homeTeam = homeTeam;
+		this.awayTeam = awayTeam;
+		this.homeGoals = homeGoals;
+		this.awayGoals = awayGoals;
+	}
+
+	/**
+	 * The result of the fixture, or null if it has not been played or does
+	 * not belong to a division.
+	 */
+	static FixtureResult of(Fixture fixture) {
+		if (fixture == null || fixture.getDivision() == null || fixture.getHomeGoals() == null || fixture.getAwayGoals() == null) {
+			return null;
+		}
+		return new FixtureResult(tableKey(fixture.getSeason().getSeasonNumber(), fixture.getDivision().getDivisionId()),
+				fixture.getSeason(), fixture.getDivision(), fixture.getHomeTeam(), fixture.getAwayTeam(), fixture.getHomeGoals(), fixture.getAwayGoals());
+	}
+
+	static List<Object> tableKey(SeasonDivision seasonDivision) {
+		return tableKey(seasonDivision.getSeason().getSeasonNumber(), seasonDivision.getDivision().getDivisionId());
+	}
+
+	static List<Object> tableKey(Integer seasonNumber, String divisionId) {
+		return Arrays.<Object>asList(seasonNumber, divisionId);
+	}
+
+	List<Object> getTableKey() {
+		return tableKey;
+	}
+
+	Season getSeason() {
+		return season;
+	}
+
+	Division getDivision() {
+		return division;
+	}
+
+	Team getHomeTeam() {
+		return homeTeam;
+	}
+
+	Team getAwayTeam() {
+		return awayTeam;
+	}
+
+	int getHomeGoals() {
+		return homeGoals;
+	}
+
+	int getAwayGoals() {
+		return awayGoals;
+	}
+}
@@ -0,0 +1,83 @@
+package mindbadger.football.leaguetable;
+
+import java.util.List;
+
+import mindbadger.football.domain.Fixture;
+
+/**
+ * Snapshot of a fixture as it was written or deleted: which table it belongs
+ * to, its version and its result, if it has one. Taken when the write
+ * returns, so later changes to the fixture object do not alter what a table
+ * holds for it.
+ */
+final class FixtureState {
+	private static final Long DELETED = Long.MAX_VALUE;
+
+	private final String fixtureId;
+	private final Long version;
+	private final List<Object> tableKey;
+	private final FixtureResult result;
+
+	private FixtureState(String fixtureId, Long version, List<Object> tableKey, FixtureResult result) {
+		this.fixtureId = fixtureId;
+		this.version = version;
+		this.tableKey = tableKey;
+		this.result = result;
+	}
+
+	/**
+	 * The fixture as written, or null if it has no id to follow it by.
+	 */
+	static FixtureState written(Fixture fixture) {
+		if (fixture == null || fixture.getFixtureId() == null) return null;
+
+		return new FixtureState(fixture.getFixtureId(), fixture.getVersion(), tableKeyOf(fixture), FixtureResult.of(fixture));
+	}
+
+	/**
+	 * The fixture once deleted: it counts for nothing, and no earlier write
+	 * of it is taken in after this.
+	 */
+	static FixtureState deleted(Fixture fixture) {
+		if (fixture == null || fixture.getFixtureId() == null) return null;
+
+		return new FixtureState(fixture.getFixtureId(), DELETED, tableKeyOf(fixture), null);
+	}
+
+	private static List<Object> tableKeyOf(Fixture fixture) {
+		if (fixture.getSeason() == null || fixture.getDivision() == null) return null;
+
+		return FixtureResult.tableKey(fixture.getSeason().getSeasonNumber(), fixture.getDivision().getDivisionId());
+	}
+
+	/**
+	 * Whether this write was overtaken by the given one, so that it arrived
+	 * late. Writes without a version are taken in the order they arrive.
+	 */
+	boolean isOlderThan(FixtureState other) {
+		if (DELETED.equals(other.version)) return !DELETED.equals(version);
+		return version != null && other.version != null && version < other.version;
+	}
+
+	boolean isDeleted() {
+		return DELETED.equals(version);
+	}
+
+	String getFixtureId() {
+		return fixtureId;
+	}
+
+	/**
+	 * The (season, division) table the fixture belongs to, or null if it has no division.
+	 */
+	List<Object> getTableKey() {
+		return tableKey;
+	}
+
+	/**
+	 * The result, or null if the fixture has not been played or was deleted.
+	 */
+	FixtureResult getResult() {
+		return result;
+	}
+}
@@ -0,0 +1,131 @@
+package mindbadger.football.leaguetable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * Keeps the LeagueTableRepository in step with the FixtureRepository when
+ * football.league-table.enabled=true. Every fixture that save, createOrUpdate,
+ * saveAll or createOrUpdateAll returns, and every fixture deleted, is passed
+ * on to its table once the write returns, so a changed score moves only the
+ * two teams involved. No lock is held while the store is written to; the
+ * tables use the fixtures' versions to put writes that reach them out of
+ * order back in order.
+ * <p>
+ * In a transaction the writes are passed on again when it commits, in case a
+ * table was built from the store in between without them. If it does not
+ * commit, the tables written to are dropped and built again from the store
+ * on next use.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.league-table", name = "enabled")
+public class LeagueTableConfiguration {
+
+	@Bean
+	public static BeanPostProcessor leagueTableBeanPostProcessor(final ObjectFactory<LeagueTableRepository> leagueTableRepository) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				if (!(bean instanceof FixtureRepository)) return bean;
+
+				ProxyFactory proxyFactory = new ProxyFactory();
+				proxyFactory.setTarget(bean);
+				proxyFactory.setInterfaces(FixtureRepository.class);
+				proxyFactory.addAdvice(new ResultTracker(leagueTableRepository));
+				return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+			}
+		};
+	}
+
+	private static class ResultTracker implements MethodInterceptor {
+		private final ObjectFactory<LeagueTableRepository> leagueTableRepository;
+
+		ResultTracker(ObjectFactory<LeagueTableRepository> leagueTableRepository) {
+			this.leagueTableRepository = leagueTableRepository;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			String name = invocation.getMethod().getName();
+			Object[] arguments = invocation.getArguments();
+			if (("save".equals(name) || "createOrUpdate".equals(name)) && arguments.length == 1 && arguments[0] instanceof Fixture) {
+				Object saved = invocation.proceed();
+				takeIn(Collections.singletonList(FixtureState.written((Fixture) saved)));
+				return saved;
+			}
+			if (("saveAll".equals(name) || "createOrUpdateAll".equals(name)) && arguments.length == 1) {
+				Iterable<?> saved = (Iterable<?>) invocation.proceed();
+				List<FixtureState> states = new ArrayList<FixtureState> ();
+				for (Object fixture : saved) {
+					states.add(FixtureState.written((Fixture) fixture));
+				}
+				takeIn(states);
+				return saved;
+			}
+			if ("delete".equals(name) && arguments.length == 1 && arguments[0] instanceof Fixture) {
+				Object result = invocation.proceed();
+				takeIn(Collections.singletonList(FixtureState.deleted((Fixture) arguments[0])));
+				return result;
+			}
+			return invocation.proceed();
+		}
+
+		private void takeIn(List<FixtureState> states) {
+			LeagueTableRepository table = leagueTableRepository.getObject();
+			Set<List<Object>> tableKeys = table.takeIn(states);
+			if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+			TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+			if (writes == null) {
+				TransactionWrites transactionWrites = new TransactionWrites();
+				TransactionSynchronizationManager.bindResource(this, transactionWrites);
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+					@Override
+					public void afterCompletion(int status) {
+						TransactionSynchronizationManager.unbindResourceIfPossible(ResultTracker.this);
+						if (status == STATUS_COMMITTED) {
+							table.takeIn(transactionWrites.states);
+						} else {
+							table.forget(transactionWrites.tableKeys);
+						}
+					}
+				});
+				writes = transactionWrites;
+			}
+			writes.states.addAll(states);
+			writes.tableKeys.addAll(tableKeys);
+		}
+	}
+
+	/**
+	 * The fixture writes of one transaction, and the tables they touched.
+	 */
+	private static final class TransactionWrites {
+		final List<FixtureState> states = new ArrayList<FixtureState> ();
+		final Set<List<Object>> tableKeys = new HashSet<List<Object>> ();
+	}
+}
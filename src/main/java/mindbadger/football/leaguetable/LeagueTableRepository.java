@@ -0,0 +1,266 @@
+package mindbadger.football.leaguetable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * League tables kept as one Standing per team per (season, division), so a
+ * table is read without touching the fixtures. Each table also holds the last
+ * state taken in for each of its fixtures, so that a write replaces what the
+ * fixture counted for before rather than adding to it (see
+ * LeagueTableConfiguration). Taking in the same write twice changes nothing,
+ * and a write older than the fixture's version in the table is ignored.
+ * <p>
+ * The standings are held in memory for every backend. A table is built from
+ * the FixtureRepository the first time it is read, so after a restart, or
+ * after forget, the table starts from the stored results rather than from
+ * nothing. Writes to a table that has not been built are left to that first
+ * read. The store is never called with the lock held: writes that arrive
+ * while a table is being built are queued and taken in once it is built.
+ */
+@Repository
+public class LeagueTableRepository {
+	private static final Comparator<Standing> TABLE_ORDER = Comparator.comparingInt(Standing::getPoints).reversed()
+			.thenComparing(Comparator.comparingInt(Standing::getGoalDifference).reversed())
+			.thenComparing(Comparator.comparingInt(Standing::getGoalsFor).reversed())
+			.thenComparing(standing -> standing.getTeam().getTeamName());
+
+	private final Map<List<Object>, Table> tables = new HashMap<List<Object>, Table> ();
+	private final Map<String, List<Object>> tableKeyByFixtureId = new HashMap<String, List<Object>> ();
+
+	private final FixtureRepository fixtureRepository;
+
+	@Autowired
+	public LeagueTableRepository(FixtureRepository fixtureRepository) {
+		this.fixtureRepository = fixtureRepository;
+	}
+
+	/**
+	 * Tables that are only filled by rebuild, with no store behind them.
+	 */
+	LeagueTableRepository() {
+		this(null);
+	}
+
+	/**
+	 * The table for a division in a season, in order of points, goal
+	 * difference, goals scored and then team name. Teams in the division that
+	 * have not played yet are included with an empty row.
+	 */
+	public List<Standing> getLeagueTable(SeasonDivision seasonDivision) {
+		Map<String, Standing> standingsByTeamId = new LinkedHashMap<String, Standing> ();
+		for (SeasonDivisionTeam seasonDivisionTeam : seasonDivision.getSeasonDivisionTeams()) {
+			Team team = seasonDivisionTeam.getTeam();
+			standingsByTeamId.put(team.getTeamId(), new Standing(team));
+		}
+
+		Table table = builtTable(seasonDivision);
+		if (table != null) {
+			synchronized (this) {
+				for (Standing standing : table.standings.values()) {
+					standingsByTeamId.put(standing.getTeam().getTeamId(), standing.copy());
+				}
+			}
+		}
+
+		List<Standing> standings = new ArrayList<Standing> (standingsByTeamId.values());
+		standings.sort(TABLE_ORDER);
+		return standings;
+	}
+
+	/**
+	 * Replaces the table for a division in a season with one worked out from
+	 * the given fixtures, e.g. those from getFixturesForDivisionInSeason.
+	 */
+	public synchronized void rebuild(SeasonDivision seasonDivision, Iterable<Fixture> fixtures) {
+		List<Object> tableKey = FixtureResult.tableKey(seasonDivision);
+		forget(tableKey);
+		Table table = new Table(tableKey);
+		table.built = true;
+		tables.put(tableKey, table);
+		for (Fixture fixture : fixtures) {
+			takeIn(FixtureState.written(fixture));
+		}
+	}
+
+	/**
+	 * Drops a table, so that it is built again from the store the next time
+	 * it is read.
+	 */
+	public synchronized void forget(SeasonDivision seasonDivision) {
+		forget(FixtureResult.tableKey(seasonDivision));
+	}
+
+	synchronized void forget(Collection<List<Object>> tableKeys) {
+		for (List<Object> tableKey : tableKeys) {
+			forget(tableKey);
+		}
+	}
+
+	/**
+	 * Takes in fixtures as they were written or deleted, in order. Returns
+	 * the keys of every table they belong to or belonged to before, built or not.
+	 */
+	synchronized Set<List<Object>> takeIn(List<FixtureState> states) {
+		Set<List<Object>> tableKeys = new HashSet<List<Object>> ();
+		for (FixtureState state : states) {
+			if (state == null) continue;
+
+			List<Object> previousTableKey = tableKeyByFixtureId.get(state.getFixtureId());
+			if (previousTableKey != null) tableKeys.add(previousTableKey);
+			if (state.getTableKey() != null) tableKeys.add(state.getTableKey());
+			takeIn(state);
+		}
+		return tableKeys;
+	}
+
+	private void takeIn(FixtureState state) {
+		if (state == null) return;
+
+		Table previousTable = tables.get(tableKeyByFixtureId.get(state.getFixtureId()));
+		FixtureState previous = previousTable == null ? null : previousTable.states.get(state.getFixtureId());
+		if (previous != null && state.isOlderThan(previous)) return;
+
+		Table table = state.isDeleted() && previousTable != null ? previousTable : tables.get(state.getTableKey());
+		if (table != null && !table.built) {
+			table.queued.add(state);
+			return;
+		}
+
+		if (previous != null) {
+			previousTable.record(previous.getResult(), -1);
+			previousTable.states.remove(state.getFixtureId());
+			tableKeyByFixtureId.remove(state.getFixtureId());
+		}
+		if (table != null) {
+			table.record(state.getResult(), 1);
+			table.states.put(state.getFixtureId(), state);
+			tableKeyByFixtureId.put(state.getFixtureId(), table.key);
+		}
+	}
+
+	private void forget(List<Object> tableKey) {
+		Table table = tables.remove(tableKey);
+		if (table == null) return;
+
+		tableKeyByFixtureId.keySet().removeAll(table.states.keySet());
+		notifyAll();
+	}
+
+	/**
+	 * The table, built from the store if it has not been. Another thread
+	 * already building it is waited for rather than building it again.
+	 */
+	private Table builtTable(SeasonDivision seasonDivision) {
+		List<Object> tableKey = FixtureResult.tableKey(seasonDivision);
+		while (true) {
+			Table table;
+			synchronized (this) {
+				table = tables.get(tableKey);
+				if (table == null) {
+					if (fixtureRepository == null) return null;
+					table = new Table(tableKey);
+					tables.put(tableKey, table);
+				} else {
+					if (awaitBuilt(table)) return table;
+					continue;
+				}
+			}
+			if (build(table, seasonDivision)) return table;
+		}
+	}
+
+	/**
+	 * Waits while another thread builds the table. False if the build failed
+	 * or the table was dropped meanwhile, so it needs looking up again.
+	 */
+	private synchronized boolean awaitBuilt(Table table) {
+		boolean interrupted = false;
+		while (!table.built && tables.get(table.key) == table) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+		return table.built;
+	}
+
+	private boolean build(Table table, SeasonDivision seasonDivision) {
+		List<Fixture> fixtures;
+		try {
+			fixtures = fixtureRepository.getFixturesForDivisionInSeason(seasonDivision);
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				if (tables.get(table.key) == table) forget(table.key);
+			}
+			throw e;
+		}
+
+		synchronized (this) {
+			table.built = true;
+			if (tables.get(table.key) != table) {
+				// Dropped while it was being read, so only this reader sees it
+				for (Fixture fixture : fixtures) {
+					table.record(FixtureResult.of(fixture), 1);
+				}
+				return true;
+			}
+
+			for (Fixture fixture : fixtures) {
+				takeIn(FixtureState.written(fixture));
+			}
+			for (FixtureState queued : table.queued) {
+				takeIn(queued);
+			}
+			table.queued.clear();
+			notifyAll();
+			return true;
+		}
+	}
+
+	/**
+	 * One (season, division) table: its standings and the state last taken
+	 * in for each of its fixtures. Until it is built from the store, writes
+	 * to it are queued.
+	 */
+	private static final class Table {
+		final List<Object> key;
+		final Map<String, Standing> standings = new LinkedHashMap<String, Standing> ();
+		final Map<String, FixtureState> states = new HashMap<String, FixtureState> ();
+		final List<FixtureState> queued = new ArrayList<FixtureState> ();
+		boolean built;
+
+		Table(List<Object> key) {
+			this.key = key;
+		}
+
+		void record(FixtureResult result, int sign) {
+			if (result == null) return;
+
+			standingOf(result.getHomeTeam()).record(result.getHomeGoals(), result.getAwayGoals(), sign);
+			standingOf(result.getAwayTeam()).record(result.getAwayGoals(), result.getHomeGoals(), sign);
+		}
+
+		private Standing standingOf(Team team) {
+			return standings.computeIfAbsent(team.getTeamId(), teamId -> new Standing(team));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package mindbadger.football.leaguetable;
+
+import java.util.Objects;
+
+import mindbadger.football.domain.Team;
+
+/**
+ * One team's row in a league table: games played, won, drawn and lost,
+ * goals for and against, and points at three for a win and one for a draw.
+ */
+public class Standing {
+	static final int POINTS_FOR_A_WIN = 3;
+	static final int POINTS_FOR_A_DRAW = 1;
+
+	private final Team team;
+	private int played;
+	private int won;
+	private int drawn;
+	private int lost;
+	private int goalsFor;
+	private int goalsAgainst;
+
+	public Standing(Team team) {
+		this.team = team;
+	}
+
+	public Team getTeam() {
+		return team;
+	}
+
+	public int getPlayed() {
+		return played;
+	}
+
+	public int getWon() {
+		return won;
+	}
+
+	public int getDrawn() {
+		return drawn;
+	}
+
+	public int getLost() {
+		return lost;
+	}
+
+	public int getGoalsFor() {
+		return goalsFor;
+	}
+
+	public int getGoalsAgainst() {
+		return goalsAgainst;
+	}
+
+	public int getGoalDifference() {
+		return goalsFor - goalsAgainst;
+	}
+
+	public int getPoints() {
+		return won * POINTS_FOR_A_WIN + drawn * POINTS_FOR_A_DRAW;
+	}
+
+	/**
+	 * Adds one game to the row (sign 1) or takes it away again (sign -1).
+	 */
+	void record(int scored, int conceded, int sign) {
+		played += sign;
+		goalsFor += sign * scored;
+		goalsAgainst += sign * conceded;
+		if (scored > conceded) {
+			won += sign;
+		} else if (scored == conceded) {
+			drawn += sign;
+		} else {
+			lost += sign;
+		}
+	}
+
+	Standing copy() {
+		Standing copy = new Standing(team);
+		copy.played = played;
+		copy.won = won;
+		copy.drawn = drawn;
+		copy.lost = lost;
+		copy.goalsFor = goalsFor;
+		copy.goalsAgainst = goalsAgainst;
+		return copy;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(team, played, won, drawn, lost, goalsFor, goalsAgainst);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Standing)) return false;
+
+		Standing other = (Standing) obj;
+		return Objects.equals(team, other.team) && played == other.played && won == other.won && drawn == other.drawn
+				&& lost == other.lost && goalsFor == other.goalsFor && goalsAgainst == other.goalsAgainst;
+	}
+
+	@Override
+	public String toString() {
+		return "Standing[" + (team == null ? null : team.getTeamName()) + ", P" + played + " W" + won + " D" + drawn + " L" + lost
+				+ " F" + goalsFor + " A" + goalsAgainst + " Pts" + getPoints() + "]";
+	}
+}
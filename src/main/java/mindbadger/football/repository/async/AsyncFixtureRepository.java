@@ -0,0 +1,108 @@
+package mindbadger.football.repository.async;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * CompletableFuture versions of the FixtureRepository queries, so that a
+ * caller can issue several independent reads at once instead of one after
+ * another. The reads run on a fixed pool of football.async.threads threads
+ * (default 8) with a queue of football.async.queue-capacity waiting reads
+ * (default 1000). When the pool and queue are both full the returned future
+ * fails with a RejectedExecutionException rather than the caller blocking.
+ */
+@Component
+public class AsyncFixtureRepository implements DisposableBean {
+	private final FixtureRepository fixtureRepository;
+	private final ThreadPoolExecutor executor;
+
+	@Autowired
+	public AsyncFixtureRepository(FixtureRepository fixtureRepository, Environment environment) {
+		this(fixtureRepository,
+				environment.getProperty("football.async.threads", Integer.class, 8),
+				environment.getProperty("football.async.queue-capacity", Integer.class, 1000));
+	}
+
+	AsyncFixtureRepository(FixtureRepository fixtureRepository, int threads, int queueCapacity) {
+		this.fixtureRepository = fixtureRepository;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable> (queueCapacity), new DaemonThreadFactory());
+	}
+
+	public CompletableFuture<Fixture> findOneAsync(String fixtureId) {
+		return supply(() -> fixtureRepository.findOne(fixtureId));
+	}
+
+	public CompletableFuture<Fixture> getExistingFixtureAsync(Season season, Team homeTeam, Team awayTeam) {
+		return supply(() -> fixtureRepository.getExistingFixture(season, homeTeam, awayTeam));
+	}
+
+	public CompletableFuture<List<Fixture>> getFixturesForDivisionInSeasonAsync(SeasonDivision seasonDivision) {
+		return supply(() -> fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+	}
+
+	public CompletableFuture<List<Fixture>> getFixturesForTeamInDivisionInSeasonAsync(SeasonDivision seasonDivision, Team team) {
+		return supply(() -> fixtureRepository.getFixturesForTeamInDivisionInSeason(seasonDivision, team));
+	}
+
+	public CompletableFuture<List<Fixture>> getFixturesWithNoFixtureDateAsync() {
+		return supply(() -> fixtureRepository.getFixturesWithNoFixtureDate());
+	}
+
+	public CompletableFuture<List<Fixture>> getUnplayedFixturesBeforeTodayAsync() {
+		return supply(() -> fixtureRepository.getUnplayedFixturesBeforeToday());
+	}
+
+	public CompletableFuture<List<Fixture>> getUnplayedFixturesOnDateAsync(Calendar fixtureDate) {
+		return supply(() -> fixtureRepository.getUnplayedFixturesOnDate(fixtureDate));
+	}
+
+	public CompletableFuture<List<Fixture>> getFixturesBetweenAsync(Calendar from, Calendar to, Fixture after, int limit) {
+		return supply(() -> fixtureRepository.getFixturesBetween(from, to, after, limit));
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	private <T> CompletableFuture<T> supply(Supplier<T> query) {
+		try {
+			return CompletableFuture.supplyAsync(query, executor);
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<T> rejected = new CompletableFuture<T> ();
+			rejected.completeExceptionally(e);
+			return rejected;
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "async-fixture-repository-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
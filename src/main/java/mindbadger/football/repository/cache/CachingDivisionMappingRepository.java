@@ -0,0 +1,119 @@
+package mindbadger.football.repository.cache;
+
+import java.util.List;
+
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+
+/**
+ * Read-through cache in front of a DivisionMappingRepository, keyed on
+ * (dialect, sourceId). Writes and deletes go to the underlying repository
+ * first and then invalidate the cached entry, and in a transaction invalidate
+ * it again once the transaction completes (see TransactionInvalidations).
+ * Lookups that find nothing are not cached, and neither are lookups that
+ * overlapped an invalidation. The cache holds its own copies and answers
+ * every hit with a fresh copy, made through the DomainObjectFactory.
+ */
+public class CachingDivisionMappingRepository implements DivisionMappingRepository {
+	private final DivisionMappingRepository divisionMappingRepository;
+	private final LookupCache<MappingKey, DivisionMapping> cache;
+	private final DomainObjectFactory domainObjectFactory;
+	private final TransactionInvalidations invalidations = new TransactionInvalidations();
+
+	public CachingDivisionMappingRepository(DivisionMappingRepository divisionMappingRepository, LookupCache<MappingKey, DivisionMapping> cache,
+			DomainObjectFactory domainObjectFactory) {
+		this.divisionMappingRepository = divisionMappingRepository;
+		this.cache = cache;
+		this.domainObjectFactory = domainObjectFactory;
+	}
+
+	@Override
+	public DivisionMapping findOne(DivisionMapping id) {
+		if (id == null || invalidations.isWriting()) return divisionMappingRepository.findOne(id);
+
+		MappingKey key = keyOf(id);
+		DivisionMapping cached = cache.get(key);
+		if (cached != null) return copyOf(cached);
+
+		long generation = cache.getGeneration();
+		DivisionMapping divisionMapping = divisionMappingRepository.findOne(id);
+		if (divisionMapping != null) cache.put(generation, key, copyOf(divisionMapping));
+		return divisionMapping;
+	}
+
+	@Override
+	public DivisionMapping findMatching(DivisionMapping divisionMapping) {
+		return divisionMappingRepository.findMatching(divisionMapping);
+	}
+
+	@Override
+	public Iterable<DivisionMapping> findAll() {
+		return divisionMappingRepository.findAll();
+	}
+
+	@Override
+	public List<DivisionMapping> findAll(DivisionMapping after, int limit) {
+		return divisionMappingRepository.findAll(after, limit);
+	}
+
+	@Override
+	public List<DivisionMapping> findByDialect(String dialect) {
+		return divisionMappingRepository.findByDialect(dialect);
+	}
+
+	@Override
+	public DivisionMapping save(DivisionMapping divisionMapping) {
+		try {
+			return divisionMappingRepository.save(divisionMapping);
+		} finally {
+			invalidate(divisionMapping);
+		}
+	}
+
+	@Override
+	public DivisionMapping createOrUpdate(DivisionMapping divisionMapping) {
+		try {
+			return divisionMappingRepository.createOrUpdate(divisionMapping);
+		} finally {
+			invalidate(divisionMapping);
+		}
+	}
+
+	@Override
+	public void delete(DivisionMapping divisionMapping) {
+		try {
+			divisionMappingRepository.delete(divisionMapping);
+		} finally {
+			invalidate(divisionMapping);
+		}
+	}
+
+	@Override
+	public long count() {
+		return divisionMappingRepository.count();
+	}
+
+	@Override
+	public boolean exists(DivisionMapping id) {
+		if (id != null && !invalidations.isWriting() && cache.get(keyOf(id)) != null) return true;
+		return divisionMappingRepository.exists(id);
+	}
+
+	public LookupCache<MappingKey, DivisionMapping> getCache() {
+		return cache;
+	}
+
+	private void invalidate(DivisionMapping divisionMapping) {
+		MappingKey key = keyOf(divisionMapping);
+		invalidations.invalidate(() -> cache.invalidate(key));
+	}
+
+	private DivisionMapping copyOf(DivisionMapping divisionMapping) {
+		return domainObjectFactory.createDivisionMapping(divisionMapping.getDialect(), divisionMapping.getSourceId(), divisionMapping.getFraId());
+	}
+
+	private static MappingKey keyOf(DivisionMapping divisionMapping) {
+		return new MappingKey(divisionMapping.getDialect(), divisionMapping.getSourceId());
+	}
+}
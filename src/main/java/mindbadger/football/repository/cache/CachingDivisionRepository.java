@@ -0,0 +1,20 @@
+package mindbadger.football.repository.cache;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.repository.DivisionRepository;
+
+/**
+ * CachingEntityRepository for divisions. Copies are made through the
+ * DomainObjectFactory, so they are the backend's own Division type.
+ */
+public class CachingDivisionRepository extends CachingEntityRepository<Division> implements DivisionRepository {
+
+	public CachingDivisionRepository(DivisionRepository divisionRepository, EntityCache<Division> cache, DomainObjectFactory domainObjectFactory) {
+		super(divisionRepository, cache, division -> {
+			Division copy = domainObjectFactory.createDivision(division.getDivisionName());
+			copy.setDivisionId(division.getDivisionId());
+			return copy;
+		});
+	}
+}
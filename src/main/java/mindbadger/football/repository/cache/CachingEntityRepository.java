@@ -0,0 +1,116 @@
+package mindbadger.football.repository.cache;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import mindbadger.football.repository.CrudRepository;
+
+/**
+ * Read-through cache in front of a repository of reference entities, such as
+ * teams and divisions, for findOne and findMatching, by id and by name.
+ * Writes and deletes go to the underlying repository first and then
+ * invalidate the entity, and in a transaction invalidate it again once the
+ * transaction completes (see TransactionInvalidations). Lookups that find
+ * nothing are not cached.
+ * <p>
+ * The cache holds its own copy of each entity and every hit is answered with
+ * a fresh copy, so a caller changing an entity it was given cannot change
+ * what the cache hands to the next caller.
+ */
+public class CachingEntityRepository<E> implements CrudRepository<E, String> {
+	private final CrudRepository<E, String> repository;
+	private final EntityCache<E> cache;
+	private final UnaryOperator<E> copyOf;
+	private final TransactionInvalidations invalidations = new TransactionInvalidations();
+
+	public CachingEntityRepository(CrudRepository<E, String> repository, EntityCache<E> cache, UnaryOperator<E> copyOf) {
+		this.repository = repository;
+		this.cache = cache;
+		this.copyOf = copyOf;
+	}
+
+	@Override
+	public E findOne(String id) {
+		if (id == null || invalidations.isWriting()) return repository.findOne(id);
+
+		E cached = cache.getById(id);
+		if (cached != null) return copyOf.apply(cached);
+
+		long generation = cache.getGeneration();
+		E entity = repository.findOne(id);
+		if (entity != null) cache.put(generation, copyOf.apply(entity));
+		return entity;
+	}
+
+	@Override
+	public E findMatching(E entity) {
+		String name = cache.nameOf(entity);
+		if (name == null || invalidations.isWriting()) return repository.findMatching(entity);
+
+		E cached = cache.getByName(name);
+		if (cached != null) return copyOf.apply(cached);
+
+		long generation = cache.getGeneration();
+		E matching = repository.findMatching(entity);
+		if (matching != null) cache.put(generation, copyOf.apply(matching));
+		return matching;
+	}
+
+	@Override
+	public Iterable<E> findAll() {
+		return repository.findAll();
+	}
+
+	@Override
+	public List<E> findAll(String afterId, int limit) {
+		return repository.findAll(afterId, limit);
+	}
+
+	@Override
+	public E save(E entity) {
+		try {
+			return repository.save(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public E createOrUpdate(E entity) {
+		try {
+			return repository.createOrUpdate(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public void delete(E entity) {
+		try {
+			repository.delete(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public long count() {
+		return repository.count();
+	}
+
+	@Override
+	public boolean exists(String id) {
+		if (id != null && !invalidations.isWriting() && cache.getById(id) != null) return true;
+		return repository.exists(id);
+	}
+
+	public EntityCache<E> getCache() {
+		return cache;
+	}
+
+	private void invalidate(E entity) {
+		String id = cache.idOf(entity);
+		String name = cache.nameOf(entity);
+		invalidations.invalidate(() -> cache.invalidate(id, name));
+	}
+}
@@ -0,0 +1,119 @@
+package mindbadger.football.repository.cache;
+
+import java.util.List;
+
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.TeamMappingRepository;
+
+/**
+ * Read-through cache in front of a TeamMappingRepository, keyed on
+ * (dialect, sourceId). Writes and deletes go to the underlying repository
+ * first and then invalidate the cached entry, and in a transaction invalidate
+ * it again once the transaction completes (see TransactionInvalidations).
+ * Lookups that find nothing are not cached, and neither are lookups that
+ * overlapped an invalidation. The cache holds its own copies and answers
+ * every hit with a fresh copy, made through the DomainObjectFactory.
+ */
+public class CachingTeamMappingRepository implements TeamMappingRepository {
+	private final TeamMappingRepository teamMappingRepository;
+	private final LookupCache<MappingKey, TeamMapping> cache;
+	private final DomainObjectFactory domainObjectFactory;
+	private final TransactionInvalidations invalidations = new TransactionInvalidations();
+
+	public CachingTeamMappingRepository(TeamMappingRepository teamMappingRepository, LookupCache<MappingKey, TeamMapping> cache,
+			DomainObjectFactory domainObjectFactory) {
+		this.teamMappingRepository = teamMappingRepository;
+		this.cache = cache;
+		this.domainObjectFactory = domainObjectFactory;
+	}
+
+	@Override
+	public TeamMapping findOne(TeamMapping id) {
+		if (id == null || invalidations.isWriting()) return teamMappingRepository.findOne(id);
+
+		MappingKey key = keyOf(id);
+		TeamMapping cached = cache.get(key);
+		if (cached != null) return copyOf(cached);
+
+		long generation = cache.getGeneration();
+		TeamMapping teamMapping = teamMappingRepository.findOne(id);
+		if (teamMapping != null) cache.put(generation, key, copyOf(teamMapping));
+		return teamMapping;
+	}
+
+	@Override
+	public TeamMapping findMatching(TeamMapping teamMapping) {
+		return teamMappingRepository.findMatching(teamMapping);
+	}
+
+	@Override
+	public Iterable<TeamMapping> findAll() {
+		return teamMappingRepository.findAll();
+	}
+
+	@Override
+	public List<TeamMapping> findAll(TeamMapping after, int limit) {
+		return teamMappingRepository.findAll(after, limit);
+	}
+
+	@Override
+	public List<TeamMapping> findByDialect(String dialect) {
+		return teamMappingRepository.findByDialect(dialect);
+	}
+
+	@Override
+	public TeamMapping save(TeamMapping teamMapping) {
+		try {
+			return teamMappingRepository.save(teamMapping);
+		} finally {
+			invalidate(teamMapping);
+		}
+	}
+
+	@Override
+	public TeamMapping createOrUpdate(TeamMapping teamMapping) {
+		try {
+			return teamMappingRepository.createOrUpdate(teamMapping);
+		} finally {
+			invalidate(teamMapping);
+		}
+	}
+
+	@Override
+	public void delete(TeamMapping teamMapping) {
+		try {
+			teamMappingRepository.delete(teamMapping);
+		} finally {
+			invalidate(teamMapping);
+		}
+	}
+
+	@Override
+	public long count() {
+		return teamMappingRepository.count();
+	}
+
+	@Override
+	public boolean exists(TeamMapping id) {
+		if (id != null && !invalidations.isWriting() && cache.get(keyOf(id)) != null) return true;
+		return teamMappingRepository.exists(id);
+	}
+
+	public LookupCache<MappingKey, TeamMapping> getCache() {
+		return cache;
+	}
+
+	private void invalidate(TeamMapping teamMapping) {
+		MappingKey key = keyOf(teamMapping);
+		invalidations.invalidate(() -> cache.invalidate(key));
+	}
+
+	private TeamMapping copyOf(TeamMapping teamMapping) {
+		return domainObjectFactory.createTeamMapping(teamMapping.getDialect(), teamMapping.getSourceId(), teamMapping.getFraId());
+	}
+
+	private static MappingKey keyOf(TeamMapping teamMapping) {
+		return new MappingKey(teamMapping.getDialect(), teamMapping.getSourceId());
+	}
+}
@@ -0,0 +1,20 @@
+package mindbadger.football.repository.cache;
+
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * CachingEntityRepository for teams. Copies are made through the
+ * DomainObjectFactory, so they are the backend's own Team type.
+ */
+public class CachingTeamRepository extends CachingEntityRepository<Team> implements TeamRepository {
+
+	public CachingTeamRepository(TeamRepository teamRepository, EntityCache<Team> cache, DomainObjectFactory domainObjectFactory) {
+		super(teamRepository, cache, team -> {
+			Team copy = domainObjectFactory.createTeam(team.getTeamName());
+			copy.setTeamId(team.getTeamId());
+			return copy;
+		});
+	}
+}
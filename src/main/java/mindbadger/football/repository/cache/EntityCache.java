@@ -0,0 +1,97 @@
+package mindbadger.football.repository.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of reference entities, such as teams and divisions, indexed
+ * by id and by name. The name index only holds ids, and a name lookup is a
+ * hit only if the entity cached under that id still has the name, so a
+ * rename can never be answered with the old entity.
+ * <p>
+ * Loads and invalidations are ordered by a generation number. A caller reads
+ * the generation before loading from the store and the load is only cached
+ * if no invalidation happened in between, so a slow read cannot put back an
+ * entity that a concurrent save or delete has just invalidated.
+ */
+public class EntityCache<E> {
+	private final LookupCache<String, E> entitiesById;
+	private final LookupCache<String, String> idsByName;
+	private final Function<E, String> idOf;
+	private final Function<E, String> nameOf;
+	private long generation;
+
+	public EntityCache(int maximumSize, long timeToLive, TimeUnit unit, Function<E, String> idOf, Function<E, String> nameOf) {
+		this.entitiesById = new LookupCache<String, E> (maximumSize, timeToLive, unit);
+		this.idsByName = new LookupCache<String, String> (maximumSize, timeToLive, unit);
+		this.idOf = idOf;
+		this.nameOf = nameOf;
+	}
+
+	public E getById(String id) {
+		return entitiesById.get(id);
+	}
+
+	public E getByName(String name) {
+		String id = idsByName.get(name);
+		E entity = id == null ? null : entitiesById.get(id);
+		return entity != null && name.equals(nameOf.apply(entity)) ? entity : null;
+	}
+
+	String nameOf(E entity) {
+		return nameOf.apply(entity);
+	}
+
+	/**
+	 * The generation to pass to put for an entity about to be loaded.
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Caches an entity loaded from the store, unless an invalidation has
+	 * happened since the given generation.
+	 */
+	public synchronized void put(long loadedInGeneration, E entity) {
+		if (loadedInGeneration != generation || entity == null || idOf.apply(entity) == null) return;
+
+		entitiesById.put(idOf.apply(entity), entity);
+		if (nameOf.apply(entity) != null) idsByName.put(nameOf.apply(entity), idOf.apply(entity));
+	}
+
+	/**
+	 * Drops the entity from both indexes. Call after the store has been
+	 * written, so that no load can cache the state from before the write.
+	 */
+	public void invalidate(E entity) {
+		invalidate(idOf.apply(entity), nameOf.apply(entity));
+	}
+
+	/**
+	 * As invalidate(E), for the id and name an entity had when it was written.
+	 */
+	public synchronized void invalidate(String id, String name) {
+		generation++;
+		if (id != null) entitiesById.invalidate(id);
+		if (name != null) idsByName.invalidate(name);
+	}
+
+	String idOf(E entity) {
+		return idOf.apply(entity);
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		entitiesById.invalidateAll();
+		idsByName.invalidateAll();
+	}
+
+	public long getHitCount() {
+		return entitiesById.getHitCount();
+	}
+
+	public int size() {
+		return entitiesById.size();
+	}
+}
@@ -0,0 +1,53 @@
+package mindbadger.football.repository.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Wraps whichever TeamRepository and DivisionRepository the backend provides
+ * in a caching decorator when football.entity-cache.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.entity-cache", name = "enabled")
+public class EntityCacheConfiguration {
+
+	@Bean
+	public static BeanPostProcessor entityCacheBeanPostProcessor(final Environment environment,
+			final ObjectFactory<DomainObjectFactory> domainObjectFactory) {
+		final int maximumSize = environment.getProperty("football.entity-cache.maximum-size", Integer.class, 10000);
+		final long timeToLiveSeconds = environment.getProperty("football.entity-cache.time-to-live-seconds", Long.class, 3600L);
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				if (bean instanceof TeamRepository && !(bean instanceof CachingTeamRepository)) {
+					return new CachingTeamRepository((TeamRepository) bean, new EntityCache<Team>(maximumSize,
+							timeToLiveSeconds, TimeUnit.SECONDS, Team::getTeamId, Team::getTeamName), domainObjectFactory.getObject());
+				}
+				if (bean instanceof DivisionRepository && !(bean instanceof CachingDivisionRepository)) {
+					return new CachingDivisionRepository((DivisionRepository) bean, new EntityCache<Division>(maximumSize,
+							timeToLiveSeconds, TimeUnit.SECONDS, Division::getDivisionId, Division::getDivisionName), domainObjectFactory.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,133 @@
+package mindbadger.football.repository.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache with a fixed time-to-live per entry. Entries past their
+ * time-to-live are treated as misses and dropped; once the cache is full the
+ * least recently used entry is evicted. All access is synchronized on the
+ * cache, which is cheap compared with the repository round trip it saves.
+ * <p>
+ * As in EntityCache, a read-through caller takes the generation before
+ * loading and puts the loaded value under it; the value is dropped if an
+ * invalidation happened in between, so a slow read cannot put back a value
+ * that a concurrent save or delete has just invalidated.
+ */
+public class LookupCache<K, V> {
+	private final int maximumSize;
+	private final long timeToLiveNanos;
+	private final LongSupplier clock;
+	private final LinkedHashMap<K, Entry<V>> entries;
+	private long generation;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	public LookupCache(int maximumSize, long timeToLive, TimeUnit unit) {
+		this(maximumSize, unit.toNanos(timeToLive), System::nanoTime);
+	}
+
+	LookupCache(int maximumSize, long timeToLiveNanos, LongSupplier clock) {
+		if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be at least 1");
+
+		this.maximumSize = maximumSize;
+		this.timeToLiveNanos = timeToLiveNanos;
+		this.clock = clock;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > LookupCache.this.maximumSize) {
+					evictionCount.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null && clock.getAsLong() - entry.loadedAt >= timeToLiveNanos) {
+			entries.remove(key);
+			evictionCount.incrementAndGet();
+			entry = null;
+		}
+
+		if (entry == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Entry<V>(value, clock.getAsLong()));
+	}
+
+	/**
+	 * The generation to pass to put for a value about to be loaded.
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Caches a value loaded from the store, unless an invalidation has
+	 * happened since the given generation.
+	 */
+	public synchronized void put(long loadedInGeneration, K key, V value) {
+		if (loadedInGeneration == generation) put(key, value);
+	}
+
+	public synchronized void invalidate(K key) {
+		generation++;
+		entries.remove(key);
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		long now = clock.getAsLong();
+		for (Iterator<Entry<V>> iterator = entries.values().iterator(); iterator.hasNext();) {
+			if (now - iterator.next().loadedAt >= timeToLiveNanos) {
+				iterator.remove();
+				evictionCount.incrementAndGet();
+			}
+		}
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long loadedAt;
+
+		private Entry(V value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
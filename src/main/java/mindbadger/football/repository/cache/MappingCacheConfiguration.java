@@ -0,0 +1,54 @@
+package mindbadger.football.repository.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+
+/**
+ * Wraps whichever TeamMappingRepository and DivisionMappingRepository the
+ * backend provides in a caching decorator when
+ * football.mapping-cache.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.mapping-cache", name = "enabled")
+public class MappingCacheConfiguration {
+
+	@Bean
+	public static BeanPostProcessor mappingCacheBeanPostProcessor(final Environment environment,
+			final ObjectFactory<DomainObjectFactory> domainObjectFactory) {
+		final int maximumSize = environment.getProperty("football.mapping-cache.maximum-size", Integer.class, 10000);
+		final long timeToLiveSeconds = environment.getProperty("football.mapping-cache.time-to-live-seconds", Long.class, 300L);
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				if (bean instanceof TeamMappingRepository && !(bean instanceof CachingTeamMappingRepository)) {
+					return new CachingTeamMappingRepository((TeamMappingRepository) bean,
+							new LookupCache<MappingKey, TeamMapping>(maximumSize, timeToLiveSeconds, TimeUnit.SECONDS), domainObjectFactory.getObject());
+				}
+				if (bean instanceof DivisionMappingRepository && !(bean instanceof CachingDivisionMappingRepository)) {
+					return new CachingDivisionMappingRepository((DivisionMappingRepository) bean,
+							new LookupCache<MappingKey, DivisionMapping>(maximumSize, timeToLiveSeconds, TimeUnit.SECONDS), domainObjectFactory.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
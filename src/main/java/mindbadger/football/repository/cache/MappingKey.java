@@ -0,0 +1,34 @@
+package mindbadger.football.repository.cache;
+
+/**
+ * The natural key of a team or division mapping: a source id within a dialect.
+ */
+public final class MappingKey {
+	private final String dialect;
+	private final Integer sourceId;
+
+	MappingKey(String dialect, Integer sourceId) {
+		this.dialect = dialect;
+		this.sourceId = sourceId;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (dialect == null ? 0 : dialect.hashCode()) + (sourceId == null ? 0 : sourceId.hashCode());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof MappingKey)) return false;
+
+		MappingKey other = (MappingKey) obj;
+		return (dialect == null ? other.dialect == null : dialect.equals(other.dialect))
+				&& (sourceId == null ? other.sourceId == null : sourceId.equals(other.sourceId));
+	}
+
+	@Override
+	public String toString() {
+		return dialect + ":" + sourceId;
+	}
+}
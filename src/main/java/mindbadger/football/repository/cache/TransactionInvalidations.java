@@ -0,0 +1,51 @@
+package mindbadger.football.repository.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Repeats a cache's invalidations when the transaction that wrote through it
+ * completes. A write in a transaction invalidates its entry straight away, but
+ * until the transaction commits other threads still read the row as it was
+ * and may cache it again, and if it rolls back, anything cached from inside
+ * it is wrong. Invalidating again after commit or rollback drops both. Until
+ * then the writing thread bypasses the cache, so that it reads its own writes.
+ */
+final class TransactionInvalidations {
+
+	/**
+	 * Whether the current thread's transaction has written through the cache.
+	 */
+	boolean isWriting() {
+		return TransactionSynchronizationManager.hasResource(this);
+	}
+
+	/**
+	 * Runs the invalidation now and, in a transaction, again once it completes.
+	 */
+	void invalidate(Runnable invalidation) {
+		invalidation.run();
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+		@SuppressWarnings("unchecked")
+		List<Runnable> pending = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			List<Runnable> invalidations = new ArrayList<Runnable> ();
+			TransactionSynchronizationManager.bindResource(this, invalidations);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(TransactionInvalidations.this);
+					for (Runnable each : invalidations) {
+						each.run();
+					}
+				}
+			});
+			pending = invalidations;
+		}
+		pending.add(invalidation);
+	}
+}
@@ -0,0 +1,59 @@
+package mindbadger.football.repository.inmemory;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+
+import mindbadger.football.domain.Fixture;
+
+/**
+ * Orders fixtures by date and then by id, which is the ordering the date range
+ * queries page over. Also keeps the date as a day number, for fixture
+ * summaries.
+ */
+final class FixtureDateKey implements Comparable<FixtureDateKey> {
+	private static final String LOWEST_ID = "";
+
+	private final long timeInMillis;
+	private final int epochDay;
+	private final String fixtureId;
+
+	private FixtureDateKey(Calendar date, String fixtureId) {
+		this.timeInMillis = date.getTimeInMillis();
+		this.epochDay = (int) LocalDate.of(date.get(Calendar.YEAR), date.get(Calendar.MONTH) + 1, date.get(Calendar.DAY_OF_MONTH)).toEpochDay();
+		this.fixtureId = fixtureId;
+	}
+
+	static FixtureDateKey of(Fixture fixture) {
+		return new FixtureDateKey(fixture.getFixtureDate(), fixture.getFixtureId());
+	}
+
+	/**
+	 * A key that sorts before every fixture on or after the given date.
+	 */
+	static FixtureDateKey startingAt(Calendar date) {
+		return new FixtureDateKey(date, LOWEST_ID);
+	}
+
+	/**
+	 * The fixture's date, in the calendar's own time zone, as days since 1970-01-01.
+	 */
+	int getEpochDay() {
+		return epochDay;
+	}
+
+	@Override
+	public int compareTo(FixtureDateKey other) {
+		int result = Long.compare(timeInMillis, other.timeInMillis);
+		return result != 0 ? result : fixtureId.compareTo(other.fixtureId);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(timeInMillis) + fixtureId.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof FixtureDateKey && compareTo((FixtureDateKey) obj) == 0;
+	}
+}
@@ -0,0 +1,80 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryDivisionMappingRepository implements DivisionMappingRepository {
+	private final ConcurrentSkipListMap<NaturalKey, DivisionMapping> divisionMappings = new ConcurrentSkipListMap<NaturalKey, DivisionMapping> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryDivisionMappingRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public DivisionMapping findOne(DivisionMapping id) {
+		return id == null ? null : divisionMappings.get(keyOf(id));
+	}
+
+	@Override
+	public DivisionMapping findMatching(DivisionMapping divisionMapping) {
+		throw new RuntimeException("This method is not implemented for DivisionMappings");
+	}
+
+	@Override
+	public Iterable<DivisionMapping> findAll() {
+		return new ArrayList<DivisionMapping> (divisionMappings.values());
+	}
+
+	@Override
+	public List<DivisionMapping> findAll(DivisionMapping after, int limit) {
+		return KeysetPage.after(divisionMappings, after == null ? null : keyOf(after), limit);
+	}
+
+	@Override
+	public List<DivisionMapping> findByDialect(String dialect) {
+		return new ArrayList<DivisionMapping> (divisionMappings.subMap(NaturalKey.of(dialect), true, NaturalKey.of(dialect, Integer.MAX_VALUE), true).values());
+	}
+
+	@Override
+	public DivisionMapping save(DivisionMapping divisionMapping) {
+		undoLog.put(divisionMappings, keyOf(divisionMapping), divisionMapping);
+		return divisionMapping;
+	}
+
+	@Override
+	public DivisionMapping createOrUpdate(DivisionMapping divisionMapping) {
+		throw new RuntimeException("This method is not implemented for DivisionMappings");
+	}
+
+	@Override
+	public void delete(DivisionMapping divisionMapping) {
+		undoLog.remove(divisionMappings, keyOf(divisionMapping));
+	}
+
+	@Override
+	public long count() {
+		return divisionMappings.size();
+	}
+
+	@Override
+	public boolean exists(DivisionMapping id) {
+		return id != null && divisionMappings.containsKey(keyOf(id));
+	}
+
+	private static NaturalKey keyOf(DivisionMapping divisionMapping) {
+		return NaturalKey.of(divisionMapping.getDialect(), divisionMapping.getSourceId());
+	}
+}
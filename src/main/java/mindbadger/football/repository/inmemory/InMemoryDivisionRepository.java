@@ -0,0 +1,95 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.inmemory.InMemoryDivision;
+import mindbadger.football.repository.DivisionRepository;
+
+/**
+ * Divisions indexed by id, in id order, and by name. Writes are serialized so the two indexes
+ * stay in step; reads go straight to the concurrent maps.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryDivisionRepository implements DivisionRepository {
+	private final AtomicLong nextId = new AtomicLong();
+	private final ConcurrentSkipListMap<String, Division> divisionsById = new ConcurrentSkipListMap<String, Division> (KeysetPage.ID_ORDER);
+	private final ConcurrentMap<String, Division> divisionsByName = new ConcurrentHashMap<String, Division> ();
+	private final ConcurrentMap<String, String> namesById = new ConcurrentHashMap<String, String> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryDivisionRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public Division findOne(String id) {
+		return id == null ? null : divisionsById.get(id);
+	}
+
+	@Override
+	public Division findMatching(Division division) {
+		return division.getDivisionName() == null ? null : divisionsByName.get(division.getDivisionName());
+	}
+
+	@Override
+	public Iterable<Division> findAll() {
+		return new ArrayList<Division> (divisionsById.values());
+	}
+
+	@Override
+	public List<Division> findAll(String afterDivisionId, int limit) {
+		return KeysetPage.after(divisionsById, afterDivisionId, limit);
+	}
+
+	@Override
+	public synchronized Division save(Division division) {
+		if (division.getDivisionId() == null) {
+			Division existing = findMatching(division);
+			((InMemoryDivision) division).setDivisionId(existing != null ? existing.getDivisionId() : String.valueOf(nextId.incrementAndGet()));
+		}
+
+		String previousName = undoLog.put(namesById, division.getDivisionId(), division.getDivisionName());
+		undoLog.put(divisionsById, division.getDivisionId(), division);
+		undoLog.put(divisionsByName, division.getDivisionName(), division);
+		if (previousName != null && !previousName.equals(division.getDivisionName())) undoLog.remove(divisionsByName, previousName);
+		return division;
+	}
+
+	@Override
+	public Division createOrUpdate(Division division) {
+		Division existing = findMatching(division);
+		return existing != null ? existing : save(division);
+	}
+
+	@Override
+	public synchronized void delete(Division division) {
+		if (division.getDivisionId() == null) return;
+
+		String name = undoLog.remove(namesById, division.getDivisionId());
+		if (name != null) undoLog.remove(divisionsByName, name);
+		undoLog.remove(divisionsById, division.getDivisionId());
+	}
+
+	@Override
+	public long count() {
+		return divisionsById.size();
+	}
+
+	@Override
+	public boolean exists(String id) {
+		return id != null && divisionsById.containsKey(id);
+	}
+}
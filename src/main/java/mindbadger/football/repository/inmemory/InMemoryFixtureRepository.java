@@ -0,0 +1,345 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.inmemory.InMemoryFixture;
+import mindbadger.football.repository.FixtureKey;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.FixtureSummary;
+
+/**
+ * Fixtures indexed by id, in id order, by (season, homeTeam, awayTeam) and,
+ * for fixtures that have one, by fixture date. Writes are serialized so the
+ * indexes stay in step; reads go straight to the concurrent maps.
+ * <p>
+ * Stored fixtures are never handed out: reads return copies, as a database
+ * backed repository would return freshly loaded rows. save and createOrUpdate
+ * check the version of the fixture passed in against the stored version and
+ * reject the write if another writer got there first. A fixture with no
+ * version, such as one just made by the DomainObjectFactory, has nothing to
+ * check against and is written over whatever is stored: only writers that
+ * read the fixture first and pass back what they read, as
+ * RetryingFixtureUpdater does, are protected from lost updates.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryFixtureRepository implements FixtureRepository {
+	private final AtomicLong nextId = new AtomicLong();
+	private final ConcurrentSkipListMap<String, InMemoryFixture> fixturesById = new ConcurrentSkipListMap<String, InMemoryFixture> (KeysetPage.ID_ORDER);
+	private final ConcurrentMap<NaturalKey, InMemoryFixture> fixturesByKey = new ConcurrentHashMap<NaturalKey, InMemoryFixture> ();
+	private final ConcurrentMap<String, NaturalKey> keysById = new ConcurrentHashMap<String, NaturalKey> ();
+	private final ConcurrentSkipListMap<FixtureDateKey, InMemoryFixture> fixturesByDate = new ConcurrentSkipListMap<FixtureDateKey, InMemoryFixture> ();
+	private final ConcurrentMap<String, FixtureDateKey> dateKeysById = new ConcurrentHashMap<String, FixtureDateKey> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryFixtureRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public Fixture findOne(String id) {
+		return id == null ? null : copyOf(fixturesById.get(id));
+	}
+
+	@Override
+	public Fixture findMatching(Fixture fixture) {
+		return copyOf(fixturesByKey.get(keyOf(fixture)));
+	}
+
+	@Override
+	public Iterable<Fixture> findAll() {
+		return select(fixture -> true);
+	}
+
+	@Override
+	public List<Fixture> findAll(String afterFixtureId, int limit) {
+		return KeysetPage.after(fixturesById, afterFixtureId, limit).stream().map(InMemoryFixture::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public Stream<Fixture> streamAll(int chunkSize) {
+		return fixturesById.values().stream().map(InMemoryFixture::copy);
+	}
+
+	@Override
+	public Stream<FixtureSummary> streamFixtureSummaries(int fromSeasonNumber, int toSeasonNumber) {
+		return fixturesById.values().stream()
+				.filter(fixture -> {
+					int seasonNumber = fixture.getSeason().getSeasonNumber();
+					return seasonNumber >= fromSeasonNumber && seasonNumber <= toSeasonNumber;
+				})
+				.map(this::summaryOf);
+	}
+
+	@Override
+	public synchronized Fixture save(Fixture fixture) {
+		InMemoryFixture inMemoryFixture = (InMemoryFixture) fixture;
+		InMemoryFixture existing = fixture.getFixtureId() == null
+				? fixturesByKey.get(keyOf(fixture))
+				: fixturesById.get(fixture.getFixtureId());
+		checkVersion(fixture, existing);
+		if (fixture.getFixtureId() == null) {
+			inMemoryFixture.setFixtureId(existing != null ? existing.getFixtureId() : String.valueOf(nextId.incrementAndGet()));
+		}
+		inMemoryFixture.setVersion(existing != null ? existing.getVersion() + 1 : 0L);
+
+		store(inMemoryFixture.copy());
+		return fixture;
+	}
+
+	@Override
+	public Iterable<Fixture> saveAll(Iterable<Fixture> fixtures) {
+		List<Fixture> savedFixtures = new ArrayList<Fixture> ();
+		for (Fixture fixture : fixtures) {
+			savedFixtures.add(save(fixture));
+		}
+		return savedFixtures;
+	}
+
+	@Override
+	public synchronized Fixture createOrUpdate(Fixture fixture) {
+		InMemoryFixture existing = fixturesByKey.get(keyOf(fixture));
+		if (existing == null) return save(fixture);
+
+		checkVersion(fixture, existing);
+
+		InMemoryFixture updated = existing.copy();
+		updated.setDivision(fixture.getDivision());
+		updated.setFixtureDate(fixture.getFixtureDate() == null ? null : (Calendar) fixture.getFixtureDate().clone());
+		updated.setHomeGoals(fixture.getHomeGoals());
+		updated.setAwayGoals(fixture.getAwayGoals());
+		updated.setVersion(existing.getVersion() + 1);
+		store(updated);
+		return updated.copy();
+	}
+
+	/**
+	 * Rejects a write from a fixture read at another version than the stored
+	 * one. A fixture with no version is not checked.
+	 */
+	private static void checkVersion(Fixture fixture, InMemoryFixture existing) {
+		Long version = fixture.getVersion();
+		if (existing == null || version == null || version.equals(existing.getVersion())) return;
+
+		throw new OptimisticLockingFailureException("Fixture " + existing.getFixtureId() + " is at version "
+				+ existing.getVersion() + ", not " + version);
+	}
+
+	@Override
+	public Iterable<Fixture> createOrUpdateAll(Iterable<Fixture> fixtures) {
+		List<Fixture> savedFixtures = new ArrayList<Fixture> ();
+		for (Fixture fixture : fixtures) {
+			savedFixtures.add(createOrUpdate(fixture));
+		}
+		return savedFixtures;
+	}
+
+	@Override
+	public synchronized void delete(Fixture fixture) {
+		if (fixture.getFixtureId() == null) return;
+
+		NaturalKey key = undoLog.remove(keysById, fixture.getFixtureId());
+		if (key != null) undoLog.remove(fixturesByKey, key);
+		FixtureDateKey dateKey = undoLog.remove(dateKeysById, fixture.getFixtureId());
+		if (dateKey != null) undoLog.remove(fixturesByDate, dateKey);
+		undoLog.remove(fixturesById, fixture.getFixtureId());
+	}
+
+	@Override
+	public long count() {
+		return fixturesById.size();
+	}
+
+	@Override
+	public boolean exists(String id) {
+		return id != null && fixturesById.containsKey(id);
+	}
+
+	@Override
+	public Fixture getExistingFixture(Season season, Team homeTeam, Team awayTeam) {
+		return copyOf(fixturesByKey.get(NaturalKey.of(season.getSeasonNumber(), homeTeam.getTeamId(), awayTeam.getTeamId())));
+	}
+
+	@Override
+	public Map<FixtureKey, Fixture> getExistingFixtures(Collection<FixtureKey> keys) {
+		Map<FixtureKey, Fixture> existingFixtures = new HashMap<FixtureKey, Fixture> ();
+		for (FixtureKey key : keys) {
+			InMemoryFixture fixture = fixturesByKey.get(NaturalKey.of(key.getSeason().getSeasonNumber(),
+					key.getHomeTeam().getTeamId(), key.getAwayTeam().getTeamId()));
+			if (fixture != null) existingFixtures.put(key, fixture.copy());
+		}
+		return existingFixtures;
+	}
+
+	@Override
+	public List<Fixture> getFixturesWithNoFixtureDate() {
+		return select(fixture -> fixture.getFixtureDate() == null);
+	}
+
+	@Override
+	public List<Fixture> getFixturesForTeamInDivisionInSeason(SeasonDivision seasonDivision, Team team) {
+		return select(inDivisionInSeason(seasonDivision)
+				.and(fixture -> team.equals(fixture.getHomeTeam()) || team.equals(fixture.getAwayTeam())));
+	}
+
+	@Override
+	public List<Fixture> getFixturesForDivisionInSeason(SeasonDivision seasonDivision) {
+		return select(inDivisionInSeason(seasonDivision));
+	}
+
+	@Override
+	public Map<Team, List<Fixture>> getFixturesByTeamForDivisionInSeason(SeasonDivision seasonDivision) {
+		Map<Team, List<Fixture>> fixturesByTeam = new LinkedHashMap<Team, List<Fixture>> ();
+		for (SeasonDivisionTeam seasonDivisionTeam : seasonDivision.getSeasonDivisionTeams()) {
+			fixturesByTeam.put(seasonDivisionTeam.getTeam(), new ArrayList<Fixture> ());
+		}
+		for (Fixture fixture : getFixturesForDivisionInSeason(seasonDivision)) {
+			fixturesByTeam.computeIfAbsent(fixture.getHomeTeam(), team -> new ArrayList<Fixture> ()).add(fixture);
+			fixturesByTeam.computeIfAbsent(fixture.getAwayTeam(), team -> new ArrayList<Fixture> ()).add(fixture);
+		}
+		return fixturesByTeam;
+	}
+
+	@Override
+	public long countFixturesForDivisionInSeason(SeasonDivision seasonDivision) {
+		return fixturesById.values().stream().filter(inDivisionInSeason(seasonDivision)).count();
+	}
+
+	@Override
+	public List<Fixture> getUnplayedFixturesBeforeToday() {
+		Calendar today = startOfDay(Calendar.getInstance());
+		return fixturesByDate.headMap(FixtureDateKey.startingAt(today)).values().stream()
+				.filter(InMemoryFixtureRepository::isUnplayed)
+				.map(InMemoryFixture::copy)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<Fixture> getUnplayedFixturesOnDate(Calendar fixtureDate) {
+		Calendar startOfDay = startOfDay(fixtureDate);
+		Calendar startOfNextDay = (Calendar) startOfDay.clone();
+		startOfNextDay.add(Calendar.DAY_OF_MONTH, 1);
+		return fixturesByDate.subMap(FixtureDateKey.startingAt(startOfDay), FixtureDateKey.startingAt(startOfNextDay)).values().stream()
+				.filter(InMemoryFixtureRepository::isUnplayed)
+				.map(InMemoryFixture::copy)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<Fixture> getFixturesBetween(Calendar from, Calendar to, Fixture after, int limit) {
+		return page(from, to, after, limit, fixture -> true);
+	}
+
+	@Override
+	public List<Fixture> getUnplayedFixturesBetween(Calendar from, Calendar to, Fixture after, int limit) {
+		return page(from, to, after, limit, InMemoryFixtureRepository::isUnplayed);
+	}
+
+	private List<Fixture> page(Calendar from, Calendar to, Fixture after, int limit, Predicate<Fixture> predicate) {
+		FixtureDateKey fromKey = FixtureDateKey.startingAt(from);
+		boolean fromInclusive = true;
+		if (after != null && FixtureDateKey.of(after).compareTo(fromKey) >= 0) {
+			fromKey = FixtureDateKey.of(after);
+			fromInclusive = false;
+		}
+
+		FixtureDateKey toKey = FixtureDateKey.startingAt(to);
+		if (fromKey.compareTo(toKey) >= 0) return new ArrayList<Fixture> ();
+
+		NavigableMap<FixtureDateKey, InMemoryFixture> range = fixturesByDate.subMap(fromKey, fromInclusive, toKey, false);
+		return range.values().stream().filter(predicate).limit(limit).map(InMemoryFixture::copy).collect(Collectors.toList());
+	}
+
+	private void store(InMemoryFixture fixture) {
+		NaturalKey key = keyOf(fixture);
+		NaturalKey previousKey = undoLog.put(keysById, fixture.getFixtureId(), key);
+		undoLog.put(fixturesById, fixture.getFixtureId(), fixture);
+		undoLog.put(fixturesByKey, key, fixture);
+		// Replace entries in place rather than remove and re-add, so readers never miss a stored fixture
+		if (previousKey != null && !previousKey.equals(key)) undoLog.remove(fixturesByKey, previousKey);
+		indexFixtureDate(fixture);
+	}
+
+	private void indexFixtureDate(InMemoryFixture fixture) {
+		FixtureDateKey dateKey = fixture.getFixtureDate() == null ? null : FixtureDateKey.of(fixture);
+		FixtureDateKey previousDateKey = dateKey == null
+				? undoLog.remove(dateKeysById, fixture.getFixtureId())
+				: undoLog.put(dateKeysById, fixture.getFixtureId(), dateKey);
+		if (dateKey != null) undoLog.put(fixturesByDate, dateKey, fixture);
+		if (previousDateKey != null && !previousDateKey.equals(dateKey)) undoLog.remove(fixturesByDate, previousDateKey);
+	}
+
+	private List<Fixture> select(Predicate<Fixture> predicate) {
+		return fixturesById.values().stream().filter(predicate).map(InMemoryFixture::copy).collect(Collectors.toList());
+	}
+
+	/**
+	 * Reads the stored fixture in place rather than copying it, and shares its
+	 * id strings. The date comes from the date index, so the stored calendar,
+	 * which is not safe to read from many threads, is not touched.
+	 */
+	private FixtureSummary summaryOf(InMemoryFixture fixture) {
+		FixtureDateKey dateKey = dateKeysById.get(fixture.getFixtureId());
+		int epochDay = dateKey == null ? FixtureSummary.NO_DATE : dateKey.getEpochDay();
+		return new FixtureSummary(fixture.getFixtureId(), fixture.getSeason().getSeasonNumber(),
+				fixture.getDivision() == null ? null : fixture.getDivision().getDivisionId(),
+				fixture.getHomeTeam().getTeamId(), fixture.getAwayTeam().getTeamId(), epochDay,
+				goals(fixture.getHomeGoals()), goals(fixture.getAwayGoals()));
+	}
+
+	private static short goals(Integer goals) {
+		return goals == null ? FixtureSummary.NOT_PLAYED : goals.shortValue();
+	}
+
+	private static Fixture copyOf(InMemoryFixture fixture) {
+		return fixture == null ? null : fixture.copy();
+	}
+
+	private static boolean isUnplayed(Fixture fixture) {
+		return fixture.getHomeGoals() == null;
+	}
+
+	private static Predicate<Fixture> inDivisionInSeason(SeasonDivision seasonDivision) {
+		return fixture -> seasonDivision.getSeason().equals(fixture.getSeason())
+				&& seasonDivision.getDivision().equals(fixture.getDivision());
+	}
+
+	private static Calendar startOfDay(Calendar calendar) {
+		Calendar startOfDay = (Calendar) calendar.clone();
+		startOfDay.set(Calendar.HOUR_OF_DAY, 0);
+		startOfDay.set(Calendar.MINUTE, 0);
+		startOfDay.set(Calendar.SECOND, 0);
+		startOfDay.set(Calendar.MILLISECOND, 0);
+		return startOfDay;
+	}
+
+	private static NaturalKey keyOf(Fixture fixture) {
+		return NaturalKey.of(fixture.getSeason().getSeasonNumber(), fixture.getHomeTeam().getTeamId(), fixture.getAwayTeam().getTeamId());
+	}
+}
@@ -0,0 +1,128 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.inmemory.InMemorySeason;
+import mindbadger.football.domain.inmemory.InMemorySeasonDivision;
+import mindbadger.football.domain.inmemory.InMemorySeasonDivisionTeam;
+import mindbadger.football.repository.SeasonRepository;
+
+/**
+ * Seasons indexed by season number, in order. A season is stored together with its
+ * divisions and their teams, as the other backends store the aggregate. Divisions
+ * and teams are looked up through the aggregate's id indexes; only a division or
+ * team that has not been saved yet is searched for by equality.
+ * <p>
+ * The repository stores a copy of each season it is given and hands out
+ * copies, as InMemoryFixtureRepository does with fixtures, so a change to a
+ * season only reaches the store through save, and a rollback puts back the
+ * season as it was stored.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemorySeasonRepository implements SeasonRepository {
+	private final ConcurrentSkipListMap<Integer, InMemorySeason> seasons = new ConcurrentSkipListMap<Integer, InMemorySeason> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemorySeasonRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public Season findOne(Integer id) {
+		InMemorySeason season = id == null ? null : seasons.get(id);
+		return season == null ? null : season.copy();
+	}
+
+	@Override
+	public Season findMatching(Season season) {
+		return findOne(season.getSeasonNumber());
+	}
+
+	@Override
+	public Iterable<Season> findAll() {
+		List<Season> copies = new ArrayList<Season> ();
+		for (InMemorySeason season : seasons.values()) {
+			copies.add(season.copy());
+		}
+		return copies;
+	}
+
+	@Override
+	public List<Season> findAll(Integer afterSeasonNumber, int limit) {
+		return KeysetPage.after(seasons, afterSeasonNumber, limit).stream().map(InMemorySeason::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public Season save(Season season) {
+		for (SeasonDivision seasonDivision : season.getSeasonDivisions()) {
+			((InMemorySeasonDivision) seasonDivision).setSeason(season);
+			for (SeasonDivisionTeam seasonDivisionTeam : seasonDivision.getSeasonDivisionTeams()) {
+				((InMemorySeasonDivisionTeam) seasonDivisionTeam).setSeasonDivision(seasonDivision);
+			}
+		}
+		undoLog.put(seasons, season.getSeasonNumber(), ((InMemorySeason) season).copy());
+		return season;
+	}
+
+	@Override
+	public Season createOrUpdate(Season season) {
+		Season existing = findMatching(season);
+		return existing != null ? existing : save(season);
+	}
+
+	@Override
+	public void delete(Season season) {
+		undoLog.remove(seasons, season.getSeasonNumber());
+	}
+
+	@Override
+	public long count() {
+		return seasons.size();
+	}
+
+	@Override
+	public boolean exists(Integer id) {
+		return id != null && seasons.containsKey(id);
+	}
+
+	@Override
+	public SeasonDivision getSeasonDivision(Season season, Division division) {
+		InMemorySeason storedSeason = season.getSeasonNumber() == null ? null : seasons.get(season.getSeasonNumber());
+		if (storedSeason == null) return null;
+		if (division.getDivisionId() != null) return copyOf(storedSeason.getSeasonDivision(division), season);
+
+		for (SeasonDivision seasonDivision : storedSeason.getSeasonDivisions()) {
+			if (division.equals(seasonDivision.getDivision())) return copyOf(seasonDivision, season);
+		}
+		return null;
+	}
+
+	private static SeasonDivision copyOf(SeasonDivision seasonDivision, Season season) {
+		return seasonDivision == null ? null : ((InMemorySeasonDivision) seasonDivision).copy(season);
+	}
+
+	@Override
+	public SeasonDivisionTeam getSeasonDivisionTeam(SeasonDivision seasonDivision, Team team) {
+		if (team.getTeamId() != null) return ((InMemorySeasonDivision) seasonDivision).getSeasonDivisionTeam(team);
+
+		for (SeasonDivisionTeam seasonDivisionTeam : seasonDivision.getSeasonDivisionTeams()) {
+			if (team.equals(seasonDivisionTeam.getTeam())) return seasonDivisionTeam;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,80 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.TeamMappingRepository;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTeamMappingRepository implements TeamMappingRepository {
+	private final ConcurrentSkipListMap<NaturalKey, TeamMapping> teamMappings = new ConcurrentSkipListMap<NaturalKey, TeamMapping> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryTeamMappingRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public TeamMapping findOne(TeamMapping id) {
+		return id == null ? null : teamMappings.get(keyOf(id));
+	}
+
+	@Override
+	public TeamMapping findMatching(TeamMapping teamMapping) {
+		throw new RuntimeException("This method is not implemented for TeamMappings");
+	}
+
+	@Override
+	public Iterable<TeamMapping> findAll() {
+		return new ArrayList<TeamMapping> (teamMappings.values());
+	}
+
+	@Override
+	public List<TeamMapping> findAll(TeamMapping after, int limit) {
+		return KeysetPage.after(teamMappings, after == null ? null : keyOf(after), limit);
+	}
+
+	@Override
+	public List<TeamMapping> findByDialect(String dialect) {
+		return new ArrayList<TeamMapping> (teamMappings.subMap(NaturalKey.of(dialect), true, NaturalKey.of(dialect, Integer.MAX_VALUE), true).values());
+	}
+
+	@Override
+	public TeamMapping save(TeamMapping teamMapping) {
+		undoLog.put(teamMappings, keyOf(teamMapping), teamMapping);
+		return teamMapping;
+	}
+
+	@Override
+	public TeamMapping createOrUpdate(TeamMapping teamMapping) {
+		throw new RuntimeException("This method is not implemented for TeamMappings");
+	}
+
+	@Override
+	public void delete(TeamMapping teamMapping) {
+		undoLog.remove(teamMappings, keyOf(teamMapping));
+	}
+
+	@Override
+	public long count() {
+		return teamMappings.size();
+	}
+
+	@Override
+	public boolean exists(TeamMapping id) {
+		return id != null && teamMappings.containsKey(keyOf(id));
+	}
+
+	private static NaturalKey keyOf(TeamMapping teamMapping) {
+		return NaturalKey.of(teamMapping.getDialect(), teamMapping.getSourceId());
+	}
+}
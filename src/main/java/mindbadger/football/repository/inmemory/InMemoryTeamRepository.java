@@ -0,0 +1,95 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.inmemory.InMemoryTeam;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Teams indexed by id, in id order, and by name. Writes are serialized so the two indexes
+ * stay in step; reads go straight to the concurrent maps.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryTeamRepository implements TeamRepository {
+	private final AtomicLong nextId = new AtomicLong();
+	private final ConcurrentSkipListMap<String, Team> teamsById = new ConcurrentSkipListMap<String, Team> (KeysetPage.ID_ORDER);
+	private final ConcurrentMap<String, Team> teamsByName = new ConcurrentHashMap<String, Team> ();
+	private final ConcurrentMap<String, String> namesById = new ConcurrentHashMap<String, String> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryTeamRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public Team findOne(String id) {
+		return id == null ? null : teamsById.get(id);
+	}
+
+	@Override
+	public Team findMatching(Team team) {
+		return team.getTeamName() == null ? null : teamsByName.get(team.getTeamName());
+	}
+
+	@Override
+	public Iterable<Team> findAll() {
+		return new ArrayList<Team> (teamsById.values());
+	}
+
+	@Override
+	public List<Team> findAll(String afterTeamId, int limit) {
+		return KeysetPage.after(teamsById, afterTeamId, limit);
+	}
+
+	@Override
+	public synchronized Team save(Team team) {
+		if (team.getTeamId() == null) {
+			Team existing = findMatching(team);
+			((InMemoryTeam) team).setTeamId(existing != null ? existing.getTeamId() : String.valueOf(nextId.incrementAndGet()));
+		}
+
+		String previousName = undoLog.put(namesById, team.getTeamId(), team.getTeamName());
+		undoLog.put(teamsById, team.getTeamId(), team);
+		undoLog.put(teamsByName, team.getTeamName(), team);
+		if (previousName != null && !previousName.equals(team.getTeamName())) undoLog.remove(teamsByName, previousName);
+		return team;
+	}
+
+	@Override
+	public Team createOrUpdate(Team team) {
+		Team existing = findMatching(team);
+		return existing != null ? existing : save(team);
+	}
+
+	@Override
+	public synchronized void delete(Team team) {
+		if (team.getTeamId() == null) return;
+
+		String name = undoLog.remove(namesById, team.getTeamId());
+		if (name != null) undoLog.remove(teamsByName, name);
+		undoLog.remove(teamsById, team.getTeamId());
+	}
+
+	@Override
+	public long count() {
+		return teamsById.size();
+	}
+
+	@Override
+	public boolean exists(String id) {
+		return id != null && teamsById.containsKey(id);
+	}
+}
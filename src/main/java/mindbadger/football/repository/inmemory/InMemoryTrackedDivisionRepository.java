@@ -0,0 +1,75 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import mindbadger.football.domain.TrackedDivision;
+import mindbadger.football.repository.TrackedDivisionRepository;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTrackedDivisionRepository implements TrackedDivisionRepository {
+	private final ConcurrentSkipListMap<NaturalKey, TrackedDivision> trackedDivisions = new ConcurrentSkipListMap<NaturalKey, TrackedDivision> ();
+
+	private final InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryTrackedDivisionRepository(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	public TrackedDivision findOne(TrackedDivision id) {
+		return id == null ? null : trackedDivisions.get(keyOf(id));
+	}
+
+	@Override
+	public TrackedDivision findMatching(TrackedDivision trackedDivision) {
+		throw new RuntimeException("This method is not implemented for TrackedDivisions");
+	}
+
+	@Override
+	public Iterable<TrackedDivision> findAll() {
+		return new ArrayList<TrackedDivision> (trackedDivisions.values());
+	}
+
+	@Override
+	public List<TrackedDivision> findAll(TrackedDivision after, int limit) {
+		return KeysetPage.after(trackedDivisions, after == null ? null : keyOf(after), limit);
+	}
+
+	@Override
+	public TrackedDivision save(TrackedDivision trackedDivision) {
+		undoLog.put(trackedDivisions, keyOf(trackedDivision), trackedDivision);
+		return trackedDivision;
+	}
+
+	@Override
+	public TrackedDivision createOrUpdate(TrackedDivision trackedDivision) {
+		throw new RuntimeException("This method is not implemented for TrackedDivisions");
+	}
+
+	@Override
+	public void delete(TrackedDivision trackedDivision) {
+		undoLog.remove(trackedDivisions, keyOf(trackedDivision));
+	}
+
+	@Override
+	public long count() {
+		return trackedDivisions.size();
+	}
+
+	@Override
+	public boolean exists(TrackedDivision id) {
+		return id != null && trackedDivisions.containsKey(keyOf(id));
+	}
+
+	private static NaturalKey keyOf(TrackedDivision trackedDivision) {
+		return NaturalKey.of(trackedDivision.getDialect(), trackedDivision.getSourceId());
+	}
+}
@@ -0,0 +1,56 @@
+package mindbadger.football.repository.inmemory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Transactions over the whole in-memory store, so that code written against
+ * a PlatformTransactionManager, such as a test that rolls back its own data,
+ * works with the inmemory profile too. A transaction belongs to the thread
+ * that began it: only that thread joins it, and a thread asking for a
+ * transaction while another thread has one open gets an
+ * IllegalTransactionStateException rather than sharing it. Changes are visible
+ * to other threads as soon as they are made; a rollback undoes the owning
+ * thread's changes from the InMemoryUndoLog.
+ */
+@Component
+@Profile("inmemory")
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+	private static final long serialVersionUID = 1L;
+
+	private final transient InMemoryUndoLog undoLog;
+
+	@Autowired
+	public InMemoryTransactionManager(InMemoryUndoLog undoLog) {
+		this.undoLog = undoLog;
+	}
+
+	@Override
+	protected Object doGetTransaction() {
+		return undoLog;
+	}
+
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		return undoLog.isRecording();
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		undoLog.begin();
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		undoLog.commit();
+	}
+
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) {
+		undoLog.rollback();
+	}
+}
@@ -0,0 +1,76 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+/**
+ * The in-memory repositories make every change to their maps through this log.
+ * While a transaction is open (see InMemoryTransactionManager) it remembers
+ * the previous value of each entry changed by the thread that opened it, so a
+ * rollback can put those entries back as they were. Changes made by other
+ * threads meanwhile are not part of the transaction and are not recorded.
+ * There is one log for the whole store, so only one transaction can be open
+ * at a time. Ids handed out during a rolled back transaction are not reused,
+ * as with a database sequence.
+ */
+@Component
+@Profile("inmemory")
+public class InMemoryUndoLog {
+	private final Deque<Runnable> undoActions = new ArrayDeque<Runnable> ();
+	private volatile Thread owner;
+
+	public <K, V> V put(Map<K, V> map, K key, V value) {
+		V previous = map.put(key, value);
+		record(map, key, previous);
+		return previous;
+	}
+
+	public <K, V> V remove(Map<K, V> map, K key) {
+		V previous = map.remove(key);
+		if (previous != null) record(map, key, previous);
+		return previous;
+	}
+
+	/**
+	 * Whether the calling thread has a transaction open.
+	 */
+	boolean isRecording() {
+		return owner == Thread.currentThread();
+	}
+
+	synchronized void begin() {
+		if (owner != null) throw new IllegalTransactionStateException("An in-memory transaction is already open on " + owner.getName());
+		owner = Thread.currentThread();
+	}
+
+	synchronized void commit() {
+		owner = null;
+		undoActions.clear();
+	}
+
+	synchronized void rollback() {
+		owner = null;
+		while (!undoActions.isEmpty()) {
+			undoActions.pop().run();
+		}
+	}
+
+	private <K, V> void record(Map<K, V> map, K key, V previous) {
+		if (!isRecording()) return;
+
+		synchronized (this) {
+			undoActions.push(() -> {
+				if (previous == null) {
+					map.remove(key);
+				} else {
+					map.put(key, previous);
+				}
+			});
+		}
+	}
+}
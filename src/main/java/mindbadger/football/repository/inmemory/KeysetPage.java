@@ -0,0 +1,26 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset paging over an index sorted by primary key: a page is the entries
+ * after the last key of the previous page, so inserts and deletes between
+ * fetches neither repeat nor skip the entries around them.
+ */
+final class KeysetPage {
+	/**
+	 * Orders generated ids numerically, so ids handed out later sort later.
+	 */
+	static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+	private KeysetPage() {
+	}
+
+	static <K, V> List<V> after(NavigableMap<K, V> index, K afterKey, int limit) {
+		NavigableMap<K, V> tail = afterKey == null ? index : index.tailMap(afterKey, false);
+		return tail.values().stream().limit(limit).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,49 @@
+package mindbadger.football.repository.inmemory;
+
+import java.util.Arrays;
+
+/**
+ * Immutable composite key for the natural-key indexes, e.g. (dialect, sourceId)
+ * or (season, homeTeam, awayTeam). Built from values rather than the domain
+ * objects so that later changes to an entity cannot move it within an index.
+ * Keys order part by part, with nulls first.
+ */
+final class NaturalKey implements Comparable<NaturalKey> {
+	private final Object[] parts;
+
+	private NaturalKey(Object[] parts) {
+		this.parts = parts;
+	}
+
+	static NaturalKey of(Object... parts) {
+		return new NaturalKey(parts.clone());
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public int compareTo(NaturalKey other) {
+		for (int i = 0; i < Math.min(parts.length, other.parts.length); i++) {
+			if (parts[i] == other.parts[i]) continue;
+			if (parts[i] == null) return -1;
+			if (other.parts[i] == null) return 1;
+			int result = ((Comparable) parts[i]).compareTo(other.parts[i]);
+			if (result != 0) return result;
+		}
+		return Integer.compare(parts.length, other.parts.length);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(parts);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof NaturalKey && Arrays.equals(parts, ((NaturalKey) obj).parts);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(parts);
+	}
+}
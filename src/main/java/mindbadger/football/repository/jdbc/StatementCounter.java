@@ -0,0 +1,53 @@
+package mindbadger.football.repository.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements sent through the data sources wrapped by
+ * StatementCountingConfiguration. A statement added to a JDBC batch counts as
+ * a statement when it is added; the batch counts as one round trip when it is
+ * executed.
+ */
+public class StatementCounter {
+	private final AtomicLong statementCount = new AtomicLong();
+	private final AtomicLong roundTripCount = new AtomicLong();
+	private volatile boolean counting;
+
+	/**
+	 * Whether any data source is being counted. Backends that do not use JDBC
+	 * leave this false and the counts at zero.
+	 */
+	public boolean isCounting() {
+		return counting;
+	}
+
+	public long getStatementCount() {
+		return statementCount.get();
+	}
+
+	public long getRoundTripCount() {
+		return roundTripCount.get();
+	}
+
+	public void reset() {
+		statementCount.set(0);
+		roundTripCount.set(0);
+	}
+
+	void startCounting() {
+		counting = true;
+	}
+
+	void statementExecuted() {
+		statementCount.incrementAndGet();
+		roundTripCount.incrementAndGet();
+	}
+
+	void statementBatched() {
+		statementCount.incrementAndGet();
+	}
+
+	void batchExecuted() {
+		roundTripCount.incrementAndGet();
+	}
+}
@@ -0,0 +1,42 @@
+package mindbadger.football.repository.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counts the SQL statements issued through every DataSource bean when
+ * football.statement-count.enabled=true, so tests can assert how many
+ * statements a repository call costs on the jpa backend.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.statement-count", name = "enabled")
+public class StatementCountingConfiguration {
+
+	@Bean
+	public static StatementCounter statementCounter() {
+		return new StatementCounter();
+	}
+
+	@Bean
+	public static BeanPostProcessor statementCountingBeanPostProcessor(final StatementCounter statementCounter) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				if (bean instanceof DataSource) {
+					return StatementCountingDataSource.wrap((DataSource) bean, statementCounter);
+				}
+				return bean;
+			}
+		};
+	}
+}
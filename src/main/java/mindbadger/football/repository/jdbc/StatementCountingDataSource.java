@@ -0,0 +1,119 @@
+package mindbadger.football.repository.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * JDK proxies around a DataSource, the connections it hands out and the
+ * statements they create, reporting every execution to a StatementCounter.
+ * Only java.sql types are used, so no JDBC library is needed to build this.
+ * <p>
+ * The DataSource proxy is also AutoCloseable and passes close on to the
+ * pool's own close method, if it has one. Spring then still infers the
+ * destroy method and closes the pool when the context is closed.
+ */
+final class StatementCountingDataSource {
+
+	private StatementCountingDataSource() {
+	}
+
+	static DataSource wrap(DataSource dataSource, StatementCounter counter) {
+		counter.startCounting();
+		return DataSource.class.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+				new Class<?>[] {DataSource.class, AutoCloseable.class}, new DataSourceHandler(dataSource, counter)));
+	}
+
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static class DataSourceHandler implements InvocationHandler {
+		private final DataSource dataSource;
+		private final StatementCounter counter;
+
+		DataSourceHandler(DataSource dataSource, StatementCounter counter) {
+			this.dataSource = dataSource;
+			this.counter = counter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getDeclaringClass() == AutoCloseable.class) {
+				close();
+				return null;
+			}
+
+			Object result = StatementCountingDataSource.invoke(dataSource, method, args);
+			if (result instanceof Connection && "getConnection".equals(method.getName())) {
+				return proxy(Connection.class, new ConnectionHandler((Connection) result, counter));
+			}
+			return result;
+		}
+
+		private void close() throws Throwable {
+			Method close;
+			try {
+				close = dataSource.getClass().getMethod("close");
+			} catch (NoSuchMethodException e) {
+				return;
+			}
+			StatementCountingDataSource.invoke(dataSource, close, null);
+		}
+	}
+
+	private static class ConnectionHandler implements InvocationHandler {
+		private final Connection connection;
+		private final StatementCounter counter;
+
+		ConnectionHandler(Connection connection, StatementCounter counter) {
+			this.connection = connection;
+			this.counter = counter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = StatementCountingDataSource.invoke(connection, method, args);
+			if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+				return proxy(method.getReturnType(), new StatementHandler(result, counter));
+			}
+			return result;
+		}
+	}
+
+	private static class StatementHandler implements InvocationHandler {
+		private final Object statement;
+		private final StatementCounter counter;
+
+		StatementHandler(Object statement, StatementCounter counter) {
+			this.statement = statement;
+			this.counter = counter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if ("addBatch".equals(name)) {
+				counter.statementBatched();
+			} else if ("executeBatch".equals(name) || "executeLargeBatch".equals(name)) {
+				counter.batchExecuted();
+			} else if (name.startsWith("execute")) {
+				counter.statementExecuted();
+			}
+			return StatementCountingDataSource.invoke(statement, method, args);
+		}
+	}
+}
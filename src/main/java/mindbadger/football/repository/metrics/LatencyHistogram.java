@@ -0,0 +1,68 @@
+package mindbadger.football.repository.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds. Values below 32 get a
+ * bucket each; above that every power of two is split into 16 buckets, so a
+ * percentile read back from the histogram is within about 6% of the true
+ * value. The maximum is tracked exactly.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong maxValue = new AtomicLong();
+
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts.incrementAndGet(bucketOf(value));
+		totalCount.incrementAndGet();
+		maxValue.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	public long getMax() {
+		return maxValue.get();
+	}
+
+	/**
+	 * The smallest recorded bucket bound that at least the given fraction of
+	 * values fall at or below, or 0 if nothing has been recorded.
+	 */
+	public long getPercentile(double fraction) {
+		long total = totalCount.get();
+		if (total == 0) return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts.get(bucket);
+			if (seen >= rank) return Math.min(upperBoundOf(bucket), getMax());
+		}
+		return getMax();
+	}
+
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+
+		int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+		long top = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+		return ((top + 1) << shift) - 1;
+	}
+}
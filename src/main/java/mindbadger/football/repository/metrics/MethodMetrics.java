@@ -0,0 +1,28 @@
+package mindbadger.football.repository.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Call count, error count and latency histogram for one repository method.
+ */
+public class MethodMetrics {
+	private final AtomicLong errorCount = new AtomicLong();
+	private final LatencyHistogram latencies = new LatencyHistogram();
+
+	void record(long nanos, boolean failed) {
+		latencies.record(nanos);
+		if (failed) errorCount.incrementAndGet();
+	}
+
+	public long getCallCount() {
+		return latencies.getCount();
+	}
+
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+}
@@ -0,0 +1,110 @@
+package mindbadger.football.repository.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-method metrics for the repository beans of one application context,
+ * keyed by repository interface and method name, e.g. SeasonRepository.save.
+ * When the context closes the metrics are logged and written as JSON to
+ * reportDirectory, one file per context, named after the backend.
+ */
+public class RepositoryMetrics {
+	private static final Logger logger = LoggerFactory.getLogger(RepositoryMetrics.class);
+	private static final AtomicInteger reportNumber = new AtomicInteger();
+
+	private final String backend;
+	private final File reportDirectory;
+	private final ConcurrentMap<String, MethodMetrics> metricsByMethod = new ConcurrentHashMap<String, MethodMetrics> ();
+
+	public RepositoryMetrics(String backend, File reportDirectory) {
+		this.backend = backend;
+		this.reportDirectory = reportDirectory;
+	}
+
+	public String getBackend() {
+		return backend;
+	}
+
+	/**
+	 * The metrics for a method, or null if it has not been called.
+	 */
+	public MethodMetrics get(String method) {
+		return metricsByMethod.get(method);
+	}
+
+	public Map<String, MethodMetrics> getAll() {
+		return new TreeMap<String, MethodMetrics> (metricsByMethod);
+	}
+
+	void record(String method, long nanos, boolean failed) {
+		MethodMetrics metrics = metricsByMethod.get(method);
+		if (metrics == null) {
+			metricsByMethod.putIfAbsent(method, new MethodMetrics());
+			metrics = metricsByMethod.get(method);
+		}
+		metrics.record(nanos, failed);
+	}
+
+	public JSONObject toJson() {
+		JSONArray methods = new JSONArray();
+		for (Map.Entry<String, MethodMetrics> entry : getAll().entrySet()) {
+			MethodMetrics metrics = entry.getValue();
+			LatencyHistogram latencies = metrics.getLatencies();
+			JSONObject method = new JSONObject();
+			method.put("method", entry.getKey());
+			method.put("calls", metrics.getCallCount());
+			method.put("errors", metrics.getErrorCount());
+			method.put("p50Millis", millis(latencies.getPercentile(0.50)));
+			method.put("p95Millis", millis(latencies.getPercentile(0.95)));
+			method.put("p99Millis", millis(latencies.getPercentile(0.99)));
+			method.put("maxMillis", millis(latencies.getMax()));
+			methods.put(method);
+		}
+
+		JSONObject report = new JSONObject();
+		report.put("backend", backend);
+		report.put("methods", methods);
+		return report;
+	}
+
+	public void writeReport() throws IOException {
+		if (metricsByMethod.isEmpty()) return;
+
+		JSONObject report = toJson();
+		JSONArray methods = report.getJSONArray("methods");
+		for (int i = 0; i < methods.length(); i++) {
+			JSONObject method = methods.getJSONObject(i);
+			logger.info("[{}] {}: {} calls, {} errors, p50 {}ms, p95 {}ms, p99 {}ms, max {}ms", backend,
+					method.get("method"), method.get("calls"), method.get("errors"), method.get("p50Millis"),
+					method.get("p95Millis"), method.get("p99Millis"), method.get("maxMillis"));
+		}
+
+		if (!reportDirectory.isDirectory() && !reportDirectory.mkdirs()) {
+			throw new IOException("Could not create " + reportDirectory);
+		}
+		String processId = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+		File reportFile = new File(reportDirectory, backend + "-" + processId + "-" + reportNumber.incrementAndGet() + ".json");
+		try (Writer writer = new FileWriter(reportFile)) {
+			writer.write(report.toString(2));
+		}
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+	}
+}
@@ -0,0 +1,89 @@
+package mindbadger.football.repository.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Proxies every bean that implements one of the football repository
+ * interfaces so that each call is timed into a RepositoryMetrics. Runs ahead
+ * of other post processors, so decorators such as the mapping cache wrap the
+ * timed bean and the metrics measure the backend itself.
+ */
+public class RepositoryMetricsBeanPostProcessor implements BeanPostProcessor, Ordered {
+	private static final String REPOSITORY_PACKAGE = "mindbadger.football.repository.";
+
+	private final RepositoryMetrics repositoryMetrics;
+
+	public RepositoryMetricsBeanPostProcessor(RepositoryMetrics repositoryMetrics) {
+		this.repositoryMetrics = repositoryMetrics;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		List<Class<?>> repositoryInterfaces = repositoryInterfacesOf(bean.getClass());
+		if (repositoryInterfaces.isEmpty()) return bean;
+
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTarget(bean);
+		proxyFactory.setInterfaces(repositoryInterfaces.toArray(new Class<?>[repositoryInterfaces.size()]));
+		proxyFactory.addAdvice(new Timer(mostSpecific(repositoryInterfaces).getSimpleName()));
+		return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+	}
+
+	static List<Class<?>> repositoryInterfacesOf(Class<?> clazz) {
+		List<Class<?>> repositoryInterfaces = new ArrayList<Class<?>> ();
+		for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+			if (candidate.getName().startsWith(REPOSITORY_PACKAGE) && candidate.getSimpleName().endsWith("Repository")) {
+				repositoryInterfaces.add(candidate);
+			}
+		}
+		return repositoryInterfaces;
+	}
+
+	private static Class<?> mostSpecific(List<Class<?>> repositoryInterfaces) {
+		Class<?> mostSpecific = repositoryInterfaces.get(0);
+		for (Class<?> candidate : repositoryInterfaces) {
+			if (mostSpecific.isAssignableFrom(candidate)) mostSpecific = candidate;
+		}
+		return mostSpecific;
+	}
+
+	private class Timer implements MethodInterceptor {
+		private final String repositoryName;
+
+		Timer(String repositoryName) {
+			this.repositoryName = repositoryName;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			long start = System.nanoTime();
+			boolean failed = true;
+			try {
+				Object result = invocation.proceed();
+				failed = false;
+				return result;
+			} finally {
+				repositoryMetrics.record(repositoryName + "." + invocation.getMethod().getName(), System.nanoTime() - start, failed);
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package mindbadger.football.repository.metrics;
+
+import java.io.File;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Times every repository bean when football.repository-metrics.enabled=true.
+ * football.repository-metrics.backend labels the report (default: the active
+ * profiles) and football.repository-metrics.report-directory says where it is
+ * written (default target/repository-metrics).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.repository-metrics", name = "enabled")
+public class RepositoryMetricsConfiguration {
+
+	@Bean(destroyMethod = "writeReport")
+	public static RepositoryMetrics repositoryMetrics(Environment environment) {
+		String activeProfiles = String.join(",", environment.getActiveProfiles());
+		String backend = environment.getProperty("football.repository-metrics.backend",
+				activeProfiles.isEmpty() ? "default" : activeProfiles);
+		String reportDirectory = environment.getProperty("football.repository-metrics.report-directory", "target/repository-metrics");
+		return new RepositoryMetrics(backend, new File(reportDirectory));
+	}
+
+	@Bean
+	public static RepositoryMetricsBeanPostProcessor repositoryMetricsBeanPostProcessor(RepositoryMetrics repositoryMetrics) {
+		return new RepositoryMetricsBeanPostProcessor(repositoryMetrics);
+	}
+}
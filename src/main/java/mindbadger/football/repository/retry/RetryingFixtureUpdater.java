@@ -0,0 +1,77 @@
+package mindbadger.football.repository.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * Read-modify-write of a single fixture that retries when createOrUpdate
+ * reports that another writer updated the fixture in between. Each attempt
+ * re-reads the fixture and re-applies the update, so concurrent updates are
+ * applied one after another instead of overwriting each other. This is the
+ * write path that is protected from lost updates: createOrUpdate only checks
+ * the version of a fixture that was read first, and writes one made from
+ * scratch over whatever is stored.
+ * <p>
+ * football.fixture-update.max-attempts (default 100) bounds the number of
+ * attempts; football.fixture-update.backoff-millis (default 1) is the step of
+ * the random pause taken between them.
+ */
+@Component
+public class RetryingFixtureUpdater {
+	private final FixtureRepository fixtureRepository;
+	private final int maxAttempts;
+	private final long backoffMillis;
+
+	@Autowired
+	public RetryingFixtureUpdater(FixtureRepository fixtureRepository, Environment environment) {
+		this(fixtureRepository,
+				environment.getProperty("football.fixture-update.max-attempts", Integer.class, 100),
+				environment.getProperty("football.fixture-update.backoff-millis", Long.class, 1L));
+	}
+
+	RetryingFixtureUpdater(FixtureRepository fixtureRepository, int maxAttempts, long backoffMillis) {
+		this.fixtureRepository = fixtureRepository;
+		this.maxAttempts = maxAttempts;
+		this.backoffMillis = backoffMillis;
+	}
+
+	/**
+	 * Applies update to the stored fixture for (season, homeTeam, awayTeam)
+	 * and returns the updated fixture, or null if there is no such fixture.
+	 * Throws OptimisticLockingFailureException if every attempt conflicted.
+	 */
+	public Fixture update(Season season, Team homeTeam, Team awayTeam, Consumer<Fixture> update) {
+		for (int attempt = 1; ; attempt++) {
+			Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+			if (fixture == null) return null;
+
+			update.accept(fixture);
+			try {
+				return fixtureRepository.createOrUpdate(fixture);
+			} catch (OptimisticLockingFailureException e) {
+				if (attempt >= maxAttempts) throw e;
+				pause(attempt, e);
+			}
+		}
+	}
+
+	private void pause(int attempt, OptimisticLockingFailureException conflict) {
+		if (backoffMillis <= 0) return;
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw conflict;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package mindbadger.football.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * Keeps the DueFixtureScheduler in step with the FixtureRepository when
+ * football.due-fixtures.enabled=true. Every fixture that save or
+ * createOrUpdate returns is rescheduled under its date, or dropped once it
+ * has a result, and every deleted fixture is dropped. The scheduler is told
+ * after each write returns, with no lock held around the write, and uses the
+ * fixtures' versions to ignore one passed on out of order. Writes made in a
+ * transaction are passed on again when it commits, so that a schedule loaded
+ * from the store while the transaction was open still sees them. If a
+ * transaction that wrote fixtures rolls back, the schedule is dropped and
+ * loaded again from the store on next use.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.due-fixtures", name = "enabled")
+public class DueFixtureConfiguration {
+
+	@Bean
+	public static BeanPostProcessor dueFixtureBeanPostProcessor(final ObjectFactory<DueFixtureScheduler> dueFixtureScheduler) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				if (!(bean instanceof FixtureRepository)) return bean;
+
+				ProxyFactory proxyFactory = new ProxyFactory();
+				proxyFactory.setTarget(bean);
+				proxyFactory.setInterfaces(FixtureRepository.class);
+				proxyFactory.addAdvice(new ScheduleTracker(dueFixtureScheduler));
+				return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+			}
+		};
+	}
+
+	private static class ScheduleTracker implements MethodInterceptor {
+		private final ObjectFactory<DueFixtureScheduler> dueFixtureScheduler;
+
+		ScheduleTracker(ObjectFactory<DueFixtureScheduler> dueFixtureScheduler) {
+			this.dueFixtureScheduler = dueFixtureScheduler;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			String name = invocation.getMethod().getName();
+			Object[] arguments = invocation.getArguments();
+			if (("save".equals(name) || "createOrUpdate".equals(name)) && arguments.length == 1 && arguments[0] instanceof Fixture) {
+				Object saved = invocation.proceed();
+				written(dueFixtureScheduler.getObject(), (Fixture) saved, false);
+				return saved;
+			}
+			if (("saveAll".equals(name) || "createOrUpdateAll".equals(name)) && arguments.length == 1) {
+				Iterable<?> saved = (Iterable<?>) invocation.proceed();
+				DueFixtureScheduler scheduler = dueFixtureScheduler.getObject();
+				for (Object fixture : saved) {
+					written(scheduler, (Fixture) fixture, false);
+				}
+				return saved;
+			}
+			if ("delete".equals(name) && arguments.length == 1 && arguments[0] instanceof Fixture) {
+				Object result = invocation.proceed();
+				written(dueFixtureScheduler.getObject(), (Fixture) arguments[0], true);
+				return result;
+			}
+			return invocation.proceed();
+		}
+
+		/**
+		 * Tells the scheduler about a write now and, in a transaction, again
+		 * once it commits.
+		 */
+		private void written(DueFixtureScheduler scheduler, Fixture fixture, boolean deleted) {
+			if (fixture == null) return;
+
+			if (deleted) {
+				scheduler.delete(fixture);
+			} else {
+				scheduler.update(fixture);
+			}
+			if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+			Fixture written = scheduler.copyOf(fixture);
+			writesInTransaction(scheduler).add(deleted ? () -> scheduler.delete(written) : () -> scheduler.update(written));
+		}
+
+		/**
+		 * The writes the current transaction has made so far, to be passed on
+		 * again when it commits. A schedule loaded while the transaction was
+		 * open was read without them, and one not loaded at the time of a write
+		 * ignored it. If the transaction does not commit, the schedule is unloaded.
+		 */
+		@SuppressWarnings("unchecked")
+		private List<Runnable> writesInTransaction(DueFixtureScheduler scheduler) {
+			List<Runnable> writes = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+			if (writes != null) return writes;
+
+			List<Runnable> newWrites = new ArrayList<Runnable> ();
+			TransactionSynchronizationManager.bindResource(this, newWrites);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(ScheduleTracker.this);
+					if (status != STATUS_COMMITTED) {
+						scheduler.unload();
+						return;
+					}
+					for (Runnable write : newWrites) {
+						write.run();
+					}
+				}
+			});
+			return newWrites;
+		}
+	}
+}
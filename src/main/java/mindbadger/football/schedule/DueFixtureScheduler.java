@@ -0,0 +1,286 @@
+package mindbadger.football.schedule;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.repository.FixtureRepository;
+
+/**
+ * The unplayed fixtures that have a date, ordered by date, for a results poller
+ * to ask which fixtures are due without re-querying the FixtureRepository. A
+ * fixture is due from the start of its day until it has a result, so the due
+ * fixtures are those getUnplayedFixturesBeforeToday and
+ * getUnplayedFixturesOnDate(today) would return between them.
+ * <p>
+ * The fixtures are loaded on first use. After that the schedule is kept in step
+ * a fixture at a time as fixtures are written (see DueFixtureConfiguration): a
+ * result takes a fixture out, a new date moves it and a new fixture is added.
+ * Each change costs O(log n) and finding the due fixtures costs O(log n) plus
+ * one step per fixture handed out. A transaction that wrote fixtures and
+ * rolled back unloads the schedule, so it is loaded again on next use. Other
+ * writes that do not go through the FixtureRepository are not seen; call
+ * reload afterwards.
+ * <p>
+ * Writes are not serialized, so two writes to the same fixture may be passed
+ * on out of order. A fixture in the schedule carries the version last taken
+ * in, and an older version is ignored. Once a fixture leaves the schedule,
+ * because it has a result, lost its date or was deleted, its last version is
+ * kept only among the most recent removals, so that what is remembered is
+ * bounded by the schedule's size plus that number. A late write of a fixture
+ * that left longer ago than that is taken in. The schedule keeps copies of the
+ * fixtures and hands out copies, so changing a fixture it returned changes
+ * nothing until the change is written.
+ * <p>
+ * football.due-fixtures.page-size (default 1000) is the number of fixtures read
+ * per query while loading, and football.due-fixtures.recent-removals (default
+ * 10000) the number of removed fixtures whose last version is remembered.
+ */
+@Component
+public class DueFixtureScheduler {
+	private static final Logger logger = LoggerFactory.getLogger(DueFixtureScheduler.class);
+	private static final int LAST_YEAR = 9999;
+
+	private static final Long DELETED = Long.MAX_VALUE;
+
+	private final FixtureRepository fixtureRepository;
+	private final DomainObjectFactory domainObjectFactory;
+	private final int pageSize;
+	private final TreeSet<ScheduledFixture> schedule = new TreeSet<ScheduledFixture> (ScheduledFixture.ORDER);
+	private final Map<String, ScheduledFixture> scheduledById = new HashMap<String, ScheduledFixture> ();
+	private final Map<String, Long> recentlyRemovedVersionsById;
+	private boolean loaded;
+
+	@Autowired
+	public DueFixtureScheduler(FixtureRepository fixtureRepository, DomainObjectFactory domainObjectFactory, Environment environment) {
+		this(fixtureRepository, domainObjectFactory,
+				environment.getProperty("football.due-fixtures.page-size", Integer.class, 1000),
+				environment.getProperty("football.due-fixtures.recent-removals", Integer.class, 10000));
+	}
+
+	DueFixtureScheduler(FixtureRepository fixtureRepository, DomainObjectFactory domainObjectFactory, int pageSize, final int recentRemovals) {
+		this.fixtureRepository = fixtureRepository;
+		this.domainObjectFactory = domainObjectFactory;
+		this.pageSize = pageSize;
+		this.recentlyRemovedVersionsById = new LinkedHashMap<String, Long> () {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > recentRemovals;
+			}
+		};
+	}
+
+	/**
+	 * The fixtures due today, earliest first.
+	 */
+	public List<Fixture> getDueFixtures() {
+		return getDueFixtures(Calendar.getInstance());
+	}
+
+	/**
+	 * The fixtures on or before the given day that have no result yet,
+	 * earliest first. These are copies of the fixtures as last written; write
+	 * any change back through the FixtureRepository.
+	 */
+	public synchronized List<Fixture> getDueFixtures(Calendar today) {
+		loadIfNotLoaded();
+
+		Calendar startOfNextDay = startOfDay(today);
+		startOfNextDay.add(Calendar.DAY_OF_MONTH, 1);
+		List<Fixture> dueFixtures = new ArrayList<Fixture> ();
+		for (ScheduledFixture scheduled : schedule.headSet(ScheduledFixture.startingAt(startOfNextDay))) {
+			dueFixtures.add(copyOf(scheduled.fixture));
+		}
+		return dueFixtures;
+	}
+
+	/**
+	 * The date of the earliest fixture with no result, or null if there is
+	 * none, so a poller can wait until then.
+	 */
+	public synchronized Calendar getNextFixtureDate() {
+		loadIfNotLoaded();
+
+		return schedule.isEmpty() ? null : (Calendar) schedule.first().fixtureDate.clone();
+	}
+
+	/**
+	 * Replaces the schedule with the unplayed fixtures currently in the FixtureRepository.
+	 */
+	public synchronized void reload() {
+		schedule.clear();
+		scheduledById.clear();
+		recentlyRemovedVersionsById.clear();
+
+		long start = System.nanoTime();
+		for (Fixture fixture : fixtureRepository.getUnplayedFixturesBeforeToday()) {
+			takeIn(fixture);
+		}
+
+		Calendar startOfToday = startOfDay(Calendar.getInstance());
+		Calendar end = (Calendar) startOfToday.clone();
+		end.set(LAST_YEAR, Calendar.DECEMBER, 31);
+		Fixture after = null;
+		List<Fixture> page;
+		do {
+			page = fixtureRepository.getUnplayedFixturesBetween(startOfToday, end, after, pageSize);
+			for (Fixture fixture : page) {
+				takeIn(fixture);
+			}
+			after = page.isEmpty() ? null : page.get(page.size() - 1);
+		} while (page.size() == pageSize);
+
+		loaded = true;
+		logger.info("Scheduled {} unplayed fixtures in {}ms", schedule.size(), (System.nanoTime() - start) / 1000000);
+	}
+
+	/**
+	 * Takes in a fixture as it was written: reschedules it under its new date,
+	 * or drops it if it now has a result or no date. A fixture older than the
+	 * one last taken in is ignored.
+	 */
+	synchronized void update(Fixture fixture) {
+		if (!loaded || fixture == null || fixture.getFixtureId() == null) return;
+
+		takeIn(fixture);
+	}
+
+	synchronized void delete(Fixture fixture) {
+		if (!loaded || fixture.getFixtureId() == null) return;
+
+		remove(fixture.getFixtureId());
+		rememberRemoved(fixture.getFixtureId(), DELETED);
+	}
+
+	/**
+	 * Drops the schedule, so that it is loaded again on next use.
+	 */
+	synchronized void unload() {
+		schedule.clear();
+		scheduledById.clear();
+		recentlyRemovedVersionsById.clear();
+		loaded = false;
+	}
+
+	/**
+	 * The number of fixtures whose last version is remembered: those in the
+	 * schedule and those recently removed from it.
+	 */
+	synchronized int getRememberedVersionCount() {
+		return scheduledById.size() + recentlyRemovedVersionsById.size();
+	}
+
+	private void loadIfNotLoaded() {
+		if (!loaded) reload();
+	}
+
+	private void takeIn(Fixture fixture) {
+		if (isStale(fixture)) return;
+
+		if (fixture.getHomeGoals() == null && fixture.getFixtureDate() != null) {
+			recentlyRemovedVersionsById.remove(fixture.getFixtureId());
+			add(copyOf(fixture));
+		} else {
+			remove(fixture.getFixtureId());
+			if (fixture.getVersion() != null) rememberRemoved(fixture.getFixtureId(), fixture.getVersion());
+		}
+	}
+
+	/**
+	 * Notes the last version of a fixture that left the schedule, as the most
+	 * recent removal, forgetting the oldest one once there are too many.
+	 */
+	private void rememberRemoved(String fixtureId, Long version) {
+		recentlyRemovedVersionsById.remove(fixtureId);
+		recentlyRemovedVersionsById.put(fixtureId, version);
+	}
+
+	private boolean isStale(Fixture fixture) {
+		ScheduledFixture scheduled = scheduledById.get(fixture.getFixtureId());
+		Long lastVersion = scheduled != null ? scheduled.fixture.getVersion() : recentlyRemovedVersionsById.get(fixture.getFixtureId());
+		if (DELETED.equals(lastVersion)) return true;
+		return lastVersion != null && fixture.getVersion() != null && fixture.getVersion() < lastVersion;
+	}
+
+	/**
+	 * A copy of the fixture as it is now, so that later changes to the
+	 * fixture passed in are not seen.
+	 */
+	Fixture copyOf(Fixture fixture) {
+		Fixture copy = domainObjectFactory.createFixture(fixture.getSeason(), fixture.getHomeTeam(), fixture.getAwayTeam());
+		copy.setFixtureId(fixture.getFixtureId());
+		copy.setDivision(fixture.getDivision());
+		copy.setFixtureDate(fixture.getFixtureDate() == null ? null : (Calendar) fixture.getFixtureDate().clone());
+		copy.setHomeGoals(fixture.getHomeGoals());
+		copy.setAwayGoals(fixture.getAwayGoals());
+		copy.setVersion(fixture.getVersion());
+		return copy;
+	}
+
+	private void add(Fixture fixture) {
+		remove(fixture.getFixtureId());
+
+		Calendar fixtureDate = (Calendar) fixture.getFixtureDate().clone();
+		ScheduledFixture scheduled = new ScheduledFixture(startOfDay(fixtureDate).getTimeInMillis(), fixtureDate, fixture.getFixtureId(), fixture);
+		schedule.add(scheduled);
+		scheduledById.put(scheduled.fixtureId, scheduled);
+	}
+
+	private void remove(String fixtureId) {
+		ScheduledFixture scheduled = scheduledById.remove(fixtureId);
+		if (scheduled != null) schedule.remove(scheduled);
+	}
+
+	private static Calendar startOfDay(Calendar calendar) {
+		Calendar startOfDay = (Calendar) calendar.clone();
+		startOfDay.set(Calendar.HOUR_OF_DAY, 0);
+		startOfDay.set(Calendar.MINUTE, 0);
+		startOfDay.set(Calendar.SECOND, 0);
+		startOfDay.set(Calendar.MILLISECOND, 0);
+		return startOfDay;
+	}
+
+	/**
+	 * A fixture under the start of its day. The date is copied when the
+	 * fixture is scheduled, so changing the fixture afterwards cannot reorder
+	 * the schedule under it.
+	 */
+	private static final class ScheduledFixture {
+		static final Comparator<ScheduledFixture> ORDER = Comparator.<ScheduledFixture> comparingLong(scheduled -> scheduled.dueMillis)
+				.thenComparing(scheduled -> scheduled.fixtureId);
+
+		final long dueMillis;
+		final Calendar fixtureDate;
+		final String fixtureId;
+		final Fixture fixture;
+
+		ScheduledFixture(long dueMillis, Calendar fixtureDate, String fixtureId, Fixture fixture) {
+			this.dueMillis = dueMillis;
+			this.fixtureDate = fixtureDate;
+			this.fixtureId = fixtureId;
+			this.fixture = fixture;
+		}
+
+		/**
+		 * Sorts before every fixture due on or after the given time.
+		 */
+		static ScheduledFixture startingAt(Calendar time) {
+			return new ScheduledFixture(time.getTimeInMillis(), time, "", null);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package mindbadger.football.startup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times each bean from just before it is instantiated to just after it is
+ * initialized. Beans created while another is being created, its
+ * dependencies, are taken out of that bean's time, so each bean is charged
+ * only for its own work. The JPA EntityManagerFactory is also timed as a
+ * whole, dependencies included, as the persistence unit bootstrap.
+ */
+class BeanCreationTimer extends InstantiationAwareBeanPostProcessorAdapter {
+	private static final String ENTITY_MANAGER_FACTORY_INFO = "org.springframework.orm.jpa.EntityManagerFactoryInfo";
+
+	private final StartupTimings timings;
+	private final ThreadLocal<Deque<BeanInCreation>> beansInCreation = ThreadLocal.withInitial(ArrayDeque::new);
+
+	BeanCreationTimer(StartupTimings timings) {
+		this.timings = timings;
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+		beansInCreation.get().push(new BeanInCreation(beanName, System.nanoTime()));
+		return null;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		Deque<BeanInCreation> stack = beansInCreation.get();
+		// Objects made by a FactoryBean come through here without being instantiated
+		if (stack.isEmpty() || !stack.peek().beanName.equals(beanName)) return bean;
+
+		BeanInCreation created = stack.pop();
+		long nanos = System.nanoTime() - created.startNanos;
+		timings.recordBean(beanName, nanos - created.dependencyNanos);
+		if (!stack.isEmpty()) stack.peek().dependencyNanos += nanos;
+		if (isPersistenceUnit(bean)) timings.recordPersistenceUnit(nanos);
+		return bean;
+	}
+
+	private static boolean isPersistenceUnit(Object bean) {
+		for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+			if (candidate.getName().equals(ENTITY_MANAGER_FACTORY_INFO)) return true;
+		}
+		return false;
+	}
+
+	private static class BeanInCreation {
+		private final String beanName;
+		private final long startNanos;
+		private long dependencyNanos;
+
+		BeanInCreation(String beanName, long startNanos) {
+			this.beanName = beanName;
+			this.startNanos = startNanos;
+		}
+	}
+}
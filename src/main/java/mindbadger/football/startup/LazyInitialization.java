@@ -0,0 +1,34 @@
+package mindbadger.football.startup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.instrument.classloading.LoadTimeWeaver;
+
+/**
+ * Marks every application bean lazy, so that a context creates only the
+ * beans that are asked for and the beans they need. Infrastructure beans,
+ * post processors, load-time weavers and beans that act once all
+ * singletons exist are still created up front.
+ */
+class LazyInitialization implements BeanFactoryPostProcessor {
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		Set<String> eagerBeanNames = new HashSet<String> ();
+		eagerBeanNames.addAll(Arrays.asList(beanFactory.getBeanNamesForType(SmartInitializingSingleton.class, true, false)));
+		eagerBeanNames.addAll(Arrays.asList(beanFactory.getBeanNamesForType(LoadTimeWeaver.class, true, false)));
+
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE || eagerBeanNames.contains(beanName)) continue;
+			beanDefinition.setLazyInit(true);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package mindbadger.football.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.instrument.classloading.LoadTimeWeaver;
+
+/**
+ * Hooks into every SpringApplication run, including the contexts started for
+ * the tests, and is registered in META-INF/spring.factories.
+ * <p>
+ * football.startup-report.enabled=true times the startup phase by phase into
+ * a StartupTimings, which is registered as a bean and written to
+ * football.startup-report.report-directory (default target/startup-report)
+ * once the context has started. football.startup-report.backend labels the
+ * report (default: the active profiles).
+ * <p>
+ * football.lazy-initialization.enabled=true makes application beans lazy
+ * (see LazyInitialization).
+ */
+public class StartupPhaseListener implements SpringApplicationRunListener {
+	private static final Logger logger = LoggerFactory.getLogger(StartupPhaseListener.class);
+
+	private static final AtomicBoolean jvmStartRecorded = new AtomicBoolean();
+
+	private long jvmNanos;
+	private long phaseStartNanos;
+	private StartupTimings timings;
+
+	public StartupPhaseListener(SpringApplication application, String[] args) {
+	}
+
+	@Override
+	public void started() {
+		jvmNanos = TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+		phaseStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void environmentPrepared(ConfigurableEnvironment environment) {
+		if (!environment.getProperty("football.startup-report.enabled", Boolean.class, Boolean.FALSE)) return;
+
+		timings = new StartupTimings(backendOf(environment), modeOf(environment),
+				new File(environment.getProperty("football.startup-report.report-directory", "target/startup-report")));
+		// Only the first context in a JVM pays for starting the JVM
+		if (jvmStartRecorded.compareAndSet(false, true)) timings.recordPhase("jvm", jvmNanos);
+		endPhase("environment");
+	}
+
+	@Override
+	public void contextPrepared(ConfigurableApplicationContext context) {
+		if (context.getEnvironment().getProperty("football.lazy-initialization.enabled", Boolean.class, Boolean.FALSE)) {
+			context.addBeanFactoryPostProcessor(new LazyInitialization());
+		}
+		if (timings == null) return;
+
+		context.getBeanFactory().addBeanPostProcessor(new BeanCreationTimer(timings));
+		context.getBeanFactory().addBeanPostProcessor(new LoadTimeWeaverTimer(timings));
+		context.getBeanFactory().registerSingleton("startupTimings", timings);
+	}
+
+	@Override
+	public void contextLoaded(ConfigurableApplicationContext context) {
+		if (timings != null) endPhase("context");
+	}
+
+	@Override
+	public void finished(ConfigurableApplicationContext context, Throwable exception) {
+		if (timings == null || exception != null) return;
+
+		endPhase("refresh");
+		try {
+			timings.writeReport();
+		} catch (IOException e) {
+			logger.warn("Could not write the startup report", e);
+		}
+	}
+
+	private void endPhase(String phase) {
+		long now = System.nanoTime();
+		timings.recordPhase(phase, now - phaseStartNanos);
+		phaseStartNanos = now;
+	}
+
+	private static String backendOf(Environment environment) {
+		String activeProfiles = String.join(",", environment.getActiveProfiles());
+		return environment.getProperty("football.startup-report.backend", activeProfiles.isEmpty() ? "default" : activeProfiles);
+	}
+
+	private static String modeOf(Environment environment) {
+		boolean lazy = environment.getProperty("football.lazy-initialization.enabled", Boolean.class, Boolean.FALSE);
+		boolean javaAgent = ManagementFactory.getRuntimeMXBean().getInputArguments().stream().anyMatch(argument -> argument.startsWith("-javaagent"));
+		String weaving = environment.getProperty("spring.jpa.properties.eclipselink.weaving", javaAgent ? "agent" : "none");
+		return (lazy ? "lazy" : "eager") + "-" + weaving;
+	}
+
+	private static class LoadTimeWeaverTimer implements BeanPostProcessor {
+		private final StartupTimings timings;
+
+		LoadTimeWeaverTimer(StartupTimings timings) {
+			this.timings = timings;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (!(bean instanceof LoadTimeWeaver) || bean instanceof TimingLoadTimeWeaver) return bean;
+			return new TimingLoadTimeWeaver((LoadTimeWeaver) bean, timings);
+		}
+	}
+}
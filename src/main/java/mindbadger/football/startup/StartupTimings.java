@@ -0,0 +1,161 @@
+package mindbadger.football.startup;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * How long one application context took to start, phase by phase: the JVM
+ * up to SpringApplication.run, preparing the environment, preparing the
+ * context, and refreshing it. Within the refresh it has the time spent
+ * creating each bean (excluding the beans it depends on), the time spent
+ * bootstrapping the JPA persistence unit and the time spent in load-time
+ * weaving. Written as JSON to reportDirectory, one file per context.
+ */
+public class StartupTimings {
+	private static final Logger logger = LoggerFactory.getLogger(StartupTimings.class);
+	private static final AtomicInteger reportNumber = new AtomicInteger();
+	private static final int SLOWEST_BEANS = 20;
+
+	private final String backend;
+	private final String mode;
+	private final File reportDirectory;
+	private final Map<String, Long> phases = new LinkedHashMap<String, Long> ();
+	private final ConcurrentMap<String, Long> beanNanos = new ConcurrentHashMap<String, Long> ();
+	private final AtomicLong persistenceUnitNanos = new AtomicLong();
+	private final AtomicLong weavingNanos = new AtomicLong();
+	private final AtomicInteger classesTransformed = new AtomicInteger();
+	private final AtomicInteger classesWoven = new AtomicInteger();
+
+	public StartupTimings(String backend, String mode, File reportDirectory) {
+		this.backend = backend;
+		this.mode = mode;
+		this.reportDirectory = reportDirectory;
+	}
+
+	public String getBackend() {
+		return backend;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	/**
+	 * The phases recorded so far, in the order they ran, in nanoseconds.
+	 */
+	public synchronized Map<String, Long> getPhases() {
+		return new LinkedHashMap<String, Long> (phases);
+	}
+
+	/**
+	 * The time spent creating a bean, not counting the beans created for it,
+	 * or null if the bean was not created.
+	 */
+	public Long getBeanNanos(String beanName) {
+		return beanNanos.get(beanName);
+	}
+
+	public long getPersistenceUnitNanos() {
+		return persistenceUnitNanos.get();
+	}
+
+	public long getWeavingNanos() {
+		return weavingNanos.get();
+	}
+
+	public int getClassesWoven() {
+		return classesWoven.get();
+	}
+
+	synchronized void recordPhase(String phase, long nanos) {
+		phases.put(phase, nanos);
+	}
+
+	void recordBean(String beanName, long selfNanos) {
+		beanNanos.merge(beanName, selfNanos, Long::sum);
+	}
+
+	void recordPersistenceUnit(long nanos) {
+		persistenceUnitNanos.addAndGet(nanos);
+	}
+
+	void recordTransform(long nanos, boolean woven) {
+		weavingNanos.addAndGet(nanos);
+		classesTransformed.incrementAndGet();
+		if (woven) classesWoven.incrementAndGet();
+	}
+
+	public JSONObject toJson() {
+		JSONObject phaseTimes = new JSONObject();
+		long totalNanos = 0;
+		for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+			phaseTimes.put(phase.getKey(), millis(phase.getValue()));
+			totalNanos += phase.getValue();
+		}
+
+		List<Map.Entry<String, Long>> beans = new ArrayList<Map.Entry<String, Long>> (beanNanos.entrySet());
+		beans.sort(Map.Entry.<String, Long> comparingByValue().reversed());
+		JSONArray slowestBeans = new JSONArray();
+		long beanCreationNanos = 0;
+		for (Map.Entry<String, Long> bean : beans) {
+			beanCreationNanos += bean.getValue();
+			if (slowestBeans.length() < SLOWEST_BEANS) {
+				slowestBeans.put(new JSONObject().put("bean", bean.getKey()).put("millis", millis(bean.getValue())));
+			}
+		}
+
+		JSONObject weaving = new JSONObject();
+		weaving.put("millis", millis(weavingNanos.get()));
+		weaving.put("classesTransformed", classesTransformed.get());
+		weaving.put("classesWoven", classesWoven.get());
+
+		JSONObject report = new JSONObject();
+		report.put("backend", backend);
+		report.put("mode", mode);
+		report.put("totalMillis", millis(totalNanos));
+		report.put("phases", phaseTimes);
+		report.put("beansCreated", beans.size());
+		report.put("beanCreationMillis", millis(beanCreationNanos));
+		report.put("persistenceUnitMillis", millis(persistenceUnitNanos.get()));
+		report.put("weaving", weaving);
+		report.put("slowestBeans", slowestBeans);
+		return report;
+	}
+
+	public void writeReport() throws IOException {
+		JSONObject report = toJson();
+		logger.info("[{} {}] started in {}ms: phases {}, {} beans in {}ms, persistence unit {}ms, weaving {}ms", backend, mode,
+				report.get("totalMillis"), report.get("phases"), report.get("beansCreated"), report.get("beanCreationMillis"),
+				report.get("persistenceUnitMillis"), report.getJSONObject("weaving").get("millis"));
+
+		if (!reportDirectory.isDirectory() && !reportDirectory.mkdirs()) {
+			throw new IOException("Could not create " + reportDirectory);
+		}
+		String processId = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+		File reportFile = new File(reportDirectory, backend + "-" + mode + "-" + processId + "-" + reportNumber.incrementAndGet() + ".json");
+		try (Writer writer = new FileWriter(reportFile)) {
+			writer.write(report.toString(2));
+		}
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+	}
+}
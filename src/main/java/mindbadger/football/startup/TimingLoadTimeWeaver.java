@@ -0,0 +1,59 @@
+package mindbadger.football.startup;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.instrument.classloading.LoadTimeWeaver;
+
+/**
+ * Wraps the context's LoadTimeWeaver so that the class file transformers
+ * registered with it, EclipseLink's weaver among them, are timed.
+ */
+class TimingLoadTimeWeaver implements LoadTimeWeaver, DisposableBean {
+	private final LoadTimeWeaver loadTimeWeaver;
+	private final StartupTimings timings;
+
+	TimingLoadTimeWeaver(LoadTimeWeaver loadTimeWeaver, StartupTimings timings) {
+		this.loadTimeWeaver = loadTimeWeaver;
+		this.timings = timings;
+	}
+
+	@Override
+	public void addTransformer(ClassFileTransformer transformer) {
+		loadTimeWeaver.addTransformer(new TimingTransformer(transformer));
+	}
+
+	@Override
+	public ClassLoader getInstrumentableClassLoader() {
+		return loadTimeWeaver.getInstrumentableClassLoader();
+	}
+
+	@Override
+	public ClassLoader getThrowawayClassLoader() {
+		return loadTimeWeaver.getThrowawayClassLoader();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (loadTimeWeaver instanceof DisposableBean) ((DisposableBean) loadTimeWeaver).destroy();
+	}
+
+	private class TimingTransformer implements ClassFileTransformer {
+		private final ClassFileTransformer transformer;
+
+		TimingTransformer(ClassFileTransformer transformer) {
+			this.transformer = transformer;
+		}
+
+		@Override
+		public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+				ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+			long start = System.nanoTime();
+			byte[] transformed = transformer.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+			timings.recordTransform(System.nanoTime() - start, transformed != null);
+			return transformed;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package mindbadger.football.importer;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+/**
+ * The division, teams and source mappings that the importer tests import
+ * into, and results files for them. Every team plays every other team home
+ * and away in a season, and each file fills one season before starting the
+ * next.
+ */
+final class ImportTestData {
+	static final int NUMBER_OF_TEAMS = 40;
+	static final int FIXTURES_PER_SEASON = NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1);
+	static final int SOURCE_DIVISION_ID = 1;
+	static final int FIRST_SOURCE_TEAM_ID = 100;
+
+	private final SeasonRepository seasonRepository;
+	private final DivisionRepository divisionRepository;
+	private final TeamRepository teamRepository;
+	private final FixtureRepository fixtureRepository;
+	private final TeamMappingRepository teamMappingRepository;
+	private final DivisionMappingRepository divisionMappingRepository;
+	private final DomainObjectFactory domainObjectFactory;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final String dialect = namespace.name("myimportdialect");
+	private final List<Team> teams = new ArrayList<Team> ();
+	private final List<TeamMapping> teamMappings = new ArrayList<TeamMapping> ();
+	private Division division;
+	private DivisionMapping divisionMapping;
+
+	ImportTestData(SeasonRepository seasonRepository, DivisionRepository divisionRepository, TeamRepository teamRepository,
+			FixtureRepository fixtureRepository, TeamMappingRepository teamMappingRepository,
+			DivisionMappingRepository divisionMappingRepository, DomainObjectFactory domainObjectFactory) {
+		this.seasonRepository = seasonRepository;
+		this.divisionRepository = divisionRepository;
+		this.teamRepository = teamRepository;
+		this.fixtureRepository = fixtureRepository;
+		this.teamMappingRepository = teamMappingRepository;
+		this.divisionMappingRepository = divisionMappingRepository;
+		this.domainObjectFactory = domainObjectFactory;
+	}
+
+	static int numberOfSeasons(int rows) {
+		return (rows + FIXTURES_PER_SEASON - 1) / FIXTURES_PER_SEASON;
+	}
+
+	void create() {
+		division = divisionRepository.save(domainObjectFactory.createDivision(namespace.name("Import Test Division")));
+		divisionMapping = divisionMappingRepository.save(
+				domainObjectFactory.createDivisionMapping(dialect, SOURCE_DIVISION_ID, Integer.valueOf(division.getDivisionId())));
+
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			Team team = teamRepository.save(domainObjectFactory.createTeam(namespace.name("Import Test Team " + i)));
+			teams.add(team);
+			teamMappings.add(teamMappingRepository.save(
+					domainObjectFactory.createTeamMapping(dialect, FIRST_SOURCE_TEAM_ID + i, Integer.valueOf(team.getTeamId()))));
+		}
+	}
+
+	/**
+	 * Deletes the data and the first numberOfSeasons seasons, with their fixtures.
+	 */
+	void delete(int numberOfSeasons) {
+		for (int i = 0; i < numberOfSeasons; i++) {
+			Season season = seasonRepository.findOne(namespace.season(i));
+			if (season == null) continue;
+
+			for (Fixture fixture : fixtureRepository.getFixturesForDivisionInSeason(domainObjectFactory.createSeasonDivision(season, division, 1))) {
+				fixtureRepository.delete(fixture);
+			}
+			seasonRepository.delete(season);
+		}
+
+		for (TeamMapping teamMapping : teamMappings) {
+			teamMappingRepository.delete(teamMapping);
+		}
+		if (divisionMapping != null) divisionMappingRepository.delete(divisionMapping);
+
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+		if (division != null) divisionRepository.delete(division);
+	}
+
+	Path writeResultsFile(Path file, int rows) throws Exception {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("season,divisionId,homeTeamId,awayTeamId,fixtureDate,homeGoals,awayGoals\n");
+			int written = 0;
+			for (int season = 0; season < numberOfSeasons(rows); season++) {
+				for (int home = 0; home < NUMBER_OF_TEAMS; home++) {
+					for (int away = 0; away < NUMBER_OF_TEAMS; away++) {
+						if (home == away || written == rows) continue;
+						writer.write(namespace.season(season) + "," + SOURCE_DIVISION_ID + "," + (FIRST_SOURCE_TEAM_ID + home) + ","
+								+ (FIRST_SOURCE_TEAM_ID + away) + "," + String.format("1900-09-%02d", 1 + (home + away) % 28) + ","
+								+ homeGoals(home, away) + "," + awayGoals(home, away) + "\n");
+						written++;
+					}
+				}
+			}
+		}
+		return file;
+	}
+
+	static int homeGoals(int home, int away) {
+		return (home * 7 + away) % 5;
+	}
+
+	static int awayGoals(int home, int away) {
+		return (home + away * 3) % 4;
+	}
+
+	Season season(int i) {
+		return seasonRepository.findOne(namespace.season(i));
+	}
+
+	int seasonNumber(int i) {
+		return namespace.season(i);
+	}
+
+	String getDialect() {
+		return dialect;
+	}
+
+	Division getDivision() {
+		return division;
+	}
+
+	List<Team> getTeams() {
+		return teams;
+	}
+}
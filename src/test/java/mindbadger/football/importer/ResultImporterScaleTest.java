@@ -0,0 +1,108 @@
+package mindbadger.football.importer;
+
+import static mindbadger.football.importer.ImportTestData.FIXTURES_PER_SEASON;
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Imports a 100,000-row results file and logs the rate. It writes and then
+ * deletes every one of those fixtures, so only the scale Maven profile runs it.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class ResultImporterScaleTest {
+	private static final Logger logger = LoggerFactory.getLogger(ResultImporterScaleTest.class);
+	private static final int ROWS = 100000;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Autowired
+	private ResultImporter resultImporter;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private TeamMappingRepository teamMappingRepository;
+
+	@Autowired
+	private DivisionMappingRepository divisionMappingRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private ImportTestData data;
+
+	@After
+	public void deleteTestData() {
+		data.delete(ImportTestData.numberOfSeasons(ROWS));
+	}
+
+	@Before
+	public void setupTestData() {
+		data = new ImportTestData(seasonRepository, divisionRepository, teamRepository, fixtureRepository,
+				teamMappingRepository, divisionMappingRepository, domainObjectFactory);
+		data.create();
+	}
+
+	@Test
+	public void importShouldCreateAFixtureForEveryRowOfALargeFile () throws Exception {
+		// Given
+		Path file = data.writeResultsFile(temporaryFolder.newFile("results.csv").toPath(), ROWS);
+
+		// When
+		ImportReport report = resultImporter.importResults(data.getDialect(), file);
+
+		// Then
+		logger.info("Imported {} rows at {} rows/s", report.getRowsRead(), report.getRowsPerSecond());
+		assertEquals (ROWS, report.getRowsRead());
+		assertEquals (ROWS, report.getFixturesWritten());
+		assertEquals (0, report.getRowsSkipped());
+
+		Season firstSeason = data.season(0);
+		assertNotNull (firstSeason);
+		assertEquals (FIXTURES_PER_SEASON, fixtureRepository.countFixturesForDivisionInSeason(
+				domainObjectFactory.createSeasonDivision(firstSeason, data.getDivision(), 1)));
+
+		Fixture fixture = fixtureRepository.getExistingFixture(firstSeason, data.getTeams().get(0), data.getTeams().get(1));
+		assertEquals (data.getDivision(), fixture.getDivision());
+		assertEquals (Integer.valueOf(ImportTestData.homeGoals(0, 1)), fixture.getHomeGoals());
+		assertEquals (Integer.valueOf(ImportTestData.awayGoals(0, 1)), fixture.getAwayGoals());
+	}
+}
@@ -0,0 +1,181 @@
+package mindbadger.football.importer;
+
+import static mindbadger.football.importer.ImportTestData.FIRST_SOURCE_TEAM_ID;
+import static mindbadger.football.importer.ImportTestData.FIXTURES_PER_SEASON;
+import static mindbadger.football.importer.ImportTestData.NUMBER_OF_TEAMS;
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.RollbackTestExecutionListener;
+import mindbadger.football.repository.RolledBack;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+
+/**
+ * Imports small files into the test data. The import of a production-sized
+ * file is timed in ResultImporterScaleTest, in the scale tier.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
+public class ResultImporterTest {
+	private static final int BATCH_SIZE = 500;
+	// A full season and part of a second, over several batches
+	private static final int ROWS = 2 * FIXTURES_PER_SEASON - 2 * BATCH_SIZE;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Autowired
+	private ResultImporter resultImporter;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private TeamMappingRepository teamMappingRepository;
+
+	@Autowired
+	private DivisionMappingRepository divisionMappingRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private ImportTestData data;
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		data.delete(ImportTestData.numberOfSeasons(ROWS));
+	}
+
+	@Before
+	public void setupTestData() {
+		data = new ImportTestData(seasonRepository, divisionRepository, teamRepository, fixtureRepository,
+				teamMappingRepository, divisionMappingRepository, domainObjectFactory);
+		data.create();
+	}
+
+	@Test
+	public void importShouldCreateAFixtureForEveryRowOfAFile () throws Exception {
+		// Given
+		Path file = data.writeResultsFile(temporaryFolder.newFile("results.csv").toPath(), ROWS);
+
+		// When
+		ImportReport report = resultImporter.importResults(data.getDialect(), file);
+
+		// Then
+		assertEquals (ROWS, report.getRowsRead());
+		assertEquals (ROWS, report.getFixturesWritten());
+		assertEquals (0, report.getRowsSkipped());
+
+		Season firstSeason = data.season(0);
+		Season secondSeason = data.season(1);
+		assertEquals (FIXTURES_PER_SEASON, fixtureRepository.countFixturesForDivisionInSeason(
+				domainObjectFactory.createSeasonDivision(firstSeason, data.getDivision(), 1)));
+		assertEquals (ROWS - FIXTURES_PER_SEASON, fixtureRepository.countFixturesForDivisionInSeason(
+				domainObjectFactory.createSeasonDivision(secondSeason, data.getDivision(), 1)));
+
+		Fixture fixture = fixtureRepository.getExistingFixture(firstSeason, data.getTeams().get(0), data.getTeams().get(1));
+		assertEquals (data.getDivision(), fixture.getDivision());
+		assertEquals (Integer.valueOf(ImportTestData.homeGoals(0, 1)), fixture.getHomeGoals());
+		assertEquals (Integer.valueOf(ImportTestData.awayGoals(0, 1)), fixture.getAwayGoals());
+	}
+
+	@Test
+	public void importShouldUpdateExistingFixturesAndSkipUnmappedRows () throws Exception {
+		// Given
+		int seasonNumber = data.seasonNumber(0);
+		resultImporter.importResults(data.getDialect(), new StringReader(seasonNumber + ",1,100,101,,,\n"));
+		String results = "season,divisionId,homeTeamId,awayTeamId,fixtureDate,homeGoals,awayGoals\n"
+				+ seasonNumber + ",1,100,101,1900-09-01,3,2\n"
+				+ seasonNumber + ",1,100,999,1900-09-01,1,1\n"
+				+ seasonNumber + ",2,101,100,1900-09-01,0,0\n";
+
+		// When
+		ImportReport report = resultImporter.importResults(data.getDialect(), new StringReader(results));
+
+		// Then
+		assertEquals (3, report.getRowsRead());
+		assertEquals (1, report.getFixturesWritten());
+		assertEquals (2, report.getRowsSkipped());
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		assertEquals (1, fixtureRepository.countFixturesForDivisionInSeason(domainObjectFactory.createSeasonDivision(season, data.getDivision(), 1)));
+		Fixture fixture = fixtureRepository.getExistingFixture(season, data.getTeams().get(0), data.getTeams().get(1));
+		assertEquals (Integer.valueOf(3), fixture.getHomeGoals());
+		assertEquals (Integer.valueOf(2), fixture.getAwayGoals());
+		assertNotNull (fixture.getFixtureDate());
+	}
+
+	@Test
+	public void importShouldRejectAMalformedRow () throws Exception {
+		try {
+			// When
+			resultImporter.importResults(data.getDialect(), new StringReader(data.seasonNumber(0) + ",1,100\n"));
+			fail ("Should have thrown an exception here");
+		} catch (IllegalArgumentException e) {
+			// Then
+			assertEquals ("Line 1 has 3 columns, expected 7", e.getMessage());
+		}
+	}
+
+	@Test
+	public void aMalformedRowShouldLeaveTheBatchesBeforeItWritten () throws Exception {
+		// Given
+		int seasonNumber = data.seasonNumber(0);
+		StringBuilder results = new StringBuilder();
+		int rows = 0;
+		for (int home = 0; home < NUMBER_OF_TEAMS && rows < BATCH_SIZE + 1; home++) {
+			for (int away = 0; away < NUMBER_OF_TEAMS && rows < BATCH_SIZE + 1; away++) {
+				if (home == away) continue;
+				results.append(seasonNumber + ",1," + (FIRST_SOURCE_TEAM_ID + home) + "," + (FIRST_SOURCE_TEAM_ID + away) + ",1900-09-01,1,0\n");
+				rows++;
+			}
+		}
+		results.append(seasonNumber + ",1,100\n");
+
+		try {
+			// When
+			resultImporter.importResults(data.getDialect(), new StringReader(results.toString()));
+			fail ("Should have thrown an exception here");
+		} catch (IllegalArgumentException e) {
+			// Then
+			assertEquals ("Line " + (BATCH_SIZE + 2) + " has 3 columns, expected 7", e.getMessage());
+		}
+		Season season = seasonRepository.findOne(seasonNumber);
+		assertEquals (BATCH_SIZE, fixtureRepository.countFixturesForDivisionInSeason(domainObjectFactory.createSeasonDivision(season, data.getDivision(), 1)));
+	}
+}
@@ -0,0 +1,304 @@
+package mindbadger.football.leaguetable;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class LeagueTableRepositoryTest {
+	private static final int NUMBER_OF_TEAMS = 4;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1855);
+	private final String divisionName = namespace.name("League Table Test Division");
+	private final List<String> teamNames = new ArrayList<String> ();
+
+	private Season season;
+	private Division division;
+	private SeasonDivision seasonDivision;
+	private final List<Team> teams = new ArrayList<Team> ();
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private LeagueTableRepository leagueTableRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (homeTeam.equals(awayTeam)) continue;
+				Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+				if (fixture != null) fixtureRepository.delete(fixture);
+			}
+		}
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		for (String teamName : teamNames) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamName));
+			if (team != null) teamRepository.delete(team);
+		}
+	}
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		season = seasonRepository.save(season);
+		seasonDivision = season.getSeasonDivisions().iterator().next();
+
+		for (int i = 1; i <= NUMBER_OF_TEAMS; i++) {
+			teamNames.add(namespace.name("League Table Test Team " + i));
+			Team team = teamRepository.save(domainObjectFactory.createTeam(teamNames.get(i - 1)));
+			teams.add(team);
+			seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+		}
+		season = seasonRepository.save(season);
+		seasonDivision = season.getSeasonDivisions().iterator().next();
+	}
+
+	@Test
+	public void leagueTableShouldListEveryTeamBeforeAnyResults () {
+		// When
+		List<Standing> table = leagueTableRepository.getLeagueTable(seasonDivision);
+
+		// Then
+		assertEquals (NUMBER_OF_TEAMS, table.size());
+		for (Standing standing : table) {
+			assertEquals (0, standing.getPlayed());
+			assertEquals (0, standing.getPoints());
+		}
+	}
+
+	@Test
+	public void createOrUpdateShouldAddAResultToTheTable () {
+		// When
+		saveResult(teams.get(1), teams.get(2), 2, 1);
+
+		// Then
+		List<Standing> table = leagueTableRepository.getLeagueTable(seasonDivision);
+		Standing winner = table.get(0);
+		assertEquals (teams.get(1), winner.getTeam());
+		assertEquals (1, winner.getPlayed());
+		assertEquals (1, winner.getWon());
+		assertEquals (2, winner.getGoalsFor());
+		assertEquals (1, winner.getGoalsAgainst());
+		assertEquals (3, winner.getPoints());
+		Standing loser = table.get(NUMBER_OF_TEAMS - 1);
+		assertEquals (teams.get(2), loser.getTeam());
+		assertEquals (1, loser.getLost());
+		assertEquals (0, loser.getPoints());
+	}
+
+	@Test
+	public void createOrUpdateShouldReplaceAChangedResult () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 2, 1);
+
+		// When
+		saveResult(teams.get(0), teams.get(1), 0, 0);
+
+		// Then
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			if (standing.getTeam().equals(teams.get(0)) || standing.getTeam().equals(teams.get(1))) {
+				assertEquals (1, standing.getPlayed());
+				assertEquals (1, standing.getDrawn());
+				assertEquals (1, standing.getPoints());
+			} else {
+				assertEquals (0, standing.getPlayed());
+			}
+		}
+	}
+
+	@Test
+	public void deleteShouldTakeTheResultOutOfTheTable () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 3, 0);
+		Fixture fixture = fixtureRepository.getExistingFixture(season, teams.get(0), teams.get(1));
+
+		// When
+		fixtureRepository.delete(fixture);
+
+		// Then
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			assertEquals (0, standing.getPlayed());
+			assertEquals (0, standing.getGoalsFor());
+		}
+	}
+
+	@Test
+	public void leagueTableShouldMatchAFullRecomputationAfterResultsChange () {
+		// Given
+		Random random = new Random(seasonNumber);
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (!homeTeam.equals(awayTeam)) saveResult(homeTeam, awayTeam, random.nextInt(5), random.nextInt(5));
+			}
+		}
+
+		// When
+		saveResult(teams.get(0), teams.get(1), 4, 4);
+		saveResult(teams.get(2), teams.get(3), 0, 3);
+		Fixture unplayed = fixtureRepository.getExistingFixture(season, teams.get(1), teams.get(0));
+		unplayed.setHomeGoals(null);
+		unplayed.setAwayGoals(null);
+		fixtureRepository.createOrUpdate(unplayed);
+		fixtureRepository.delete(fixtureRepository.getExistingFixture(season, teams.get(3), teams.get(2)));
+
+		// Then
+		LeagueTableRepository recomputed = new LeagueTableRepository();
+		recomputed.rebuild(seasonDivision, fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+		assertEquals (recomputed.getLeagueTable(seasonDivision), leagueTableRepository.getLeagueTable(seasonDivision));
+		int played = 0;
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			played += standing.getPlayed();
+		}
+		assertEquals (2 * (NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1) - 2), played);
+	}
+
+	@Test
+	public void aTableNotYetBuiltShouldBeBuiltFromTheStoredResultsWhenAResultChanges () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 2, 0);
+		saveResult(teams.get(2), teams.get(3), 1, 1);
+		leagueTableRepository.forget(seasonDivision);
+
+		// When
+		saveResult(teams.get(0), teams.get(1), 0, 1);
+
+		// Then
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			assertEquals (1, standing.getPlayed());
+		}
+		assertEquals (3, standingOf(teams.get(1)).getPoints());
+		assertEquals (0, standingOf(teams.get(0)).getPoints());
+	}
+
+	@Test
+	public void createOrUpdateAllShouldBuildATableNotYetBuiltOnce () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 2, 0);
+		leagueTableRepository.forget(seasonDivision);
+		List<Fixture> fixtures = new ArrayList<Fixture> ();
+		fixtures.add(result(teams.get(0), teams.get(1), 3, 0));
+		fixtures.add(result(teams.get(2), teams.get(3), 0, 2));
+
+		// When
+		fixtureRepository.createOrUpdateAll(fixtures);
+
+		// Then
+		LeagueTableRepository recomputed = new LeagueTableRepository();
+		recomputed.rebuild(seasonDivision, fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+		assertEquals (recomputed.getLeagueTable(seasonDivision), leagueTableRepository.getLeagueTable(seasonDivision));
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			assertEquals (1, standing.getPlayed());
+		}
+	}
+
+	@Test
+	public void createOrUpdateAllShouldCountAFixtureRepeatedInTheBatchOnce () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 2, 0);
+		leagueTableRepository.getLeagueTable(seasonDivision);
+		List<Fixture> fixtures = new ArrayList<Fixture> ();
+		fixtures.add(result(teams.get(0), teams.get(1), 1, 1));
+		fixtures.add(result(teams.get(2), teams.get(3), 3, 1));
+		fixtures.add(result(teams.get(0), teams.get(1), 0, 2));
+
+		// When
+		fixtureRepository.createOrUpdateAll(fixtures);
+
+		// Then
+		LeagueTableRepository recomputed = new LeagueTableRepository();
+		recomputed.rebuild(seasonDivision, fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+		assertEquals (recomputed.getLeagueTable(seasonDivision), leagueTableRepository.getLeagueTable(seasonDivision));
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			assertEquals (1, standing.getPlayed());
+		}
+		assertEquals (3, standingOf(teams.get(1)).getPoints());
+	}
+
+	@Test
+	public void anOlderVersionOfAFixturePassedOnLateShouldBeIgnored () {
+		// Given
+		saveResult(teams.get(0), teams.get(1), 2, 0);
+		Fixture older = fixtureRepository.getExistingFixture(season, teams.get(0), teams.get(1));
+		assumeNotNull (older.getVersion());
+		saveResult(teams.get(0), teams.get(1), 0, 1);
+		leagueTableRepository.getLeagueTable(seasonDivision);
+
+		// When
+		leagueTableRepository.takeIn(Collections.singletonList(FixtureState.written(older)));
+
+		// Then
+		assertEquals (3, standingOf(teams.get(1)).getPoints());
+		assertEquals (0, standingOf(teams.get(0)).getPoints());
+		assertEquals (1, standingOf(teams.get(0)).getPlayed());
+	}
+
+	private Standing standingOf(Team team) {
+		for (Standing standing : leagueTableRepository.getLeagueTable(seasonDivision)) {
+			if (standing.getTeam().equals(team)) return standing;
+		}
+		return null;
+	}
+
+	private Fixture result(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture.setHomeGoals(homeGoals);
+		fixture.setAwayGoals(awayGoals);
+		return fixture;
+	}
+
+	private void saveResult(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+		fixtureRepository.createOrUpdate(result(homeTeam, awayTeam, homeGoals, awayGoals));
+	}
+}
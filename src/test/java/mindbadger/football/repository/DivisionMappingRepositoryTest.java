@@ -2,6 +2,11 @@ package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
 import org.assertj.core.api.AssertDelegateTarget;
 import org.junit.After;
 import org.junit.Before;
@@ -19,14 +24,19 @@ import mindbadger.football.domain.DomainObjectFactory;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class DivisionMappingRepositoryTest {
-	private static final String DIALECT = "mydialect";
 	private static final String INVALID_DIALECT = "INVALID_ID";
+	private static final int PAGE_SIZE = 1;
 	private static final Integer SOURCE_ID1 = 10;
 	private static final Integer FRA_ID1 = 20;
 	private static final Integer SOURCE_ID2 = 11;
 	private static final Integer FRA_ID2 = 21;
 
+	private final TestNamespace namespace = new TestNamespace();
+	private final String dialect = namespace.name("mydialect");
+	private final String otherDialect = namespace.name("myotherdialect");
+
 	@Autowired
 	private DivisionMappingRepository divisionMappingRepository;
 
@@ -36,11 +46,16 @@ public class DivisionMappingRepositoryTest {
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		DivisionMapping divisionMapping = divisionMappingRepository.findOne(newDivisionMapping);
 		if (divisionMapping != null) divisionMappingRepository.delete(divisionMapping);
 		
-		newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID2, FRA_ID2);
+		newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID2, FRA_ID2);
+		divisionMapping = divisionMappingRepository.findOne(newDivisionMapping);
+		if (divisionMapping != null) divisionMappingRepository.delete(divisionMapping);
+		newDivisionMapping = domainObjectFactory.createDivisionMapping(otherDialect, SOURCE_ID1, FRA_ID1);
 		divisionMapping = divisionMappingRepository.findOne(newDivisionMapping);
 		if (divisionMapping != null) divisionMappingRepository.delete(divisionMapping);
 	}
@@ -67,14 +82,14 @@ public class DivisionMappingRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		
 		// When
 		DivisionMapping divisionMapping = divisionMappingRepository.save(newDivisionMapping);
 		
 		// Then
 		assertNotNull(divisionMapping);
-		assertEquals(DIALECT, divisionMapping.getDialect());
+		assertEquals(dialect, divisionMapping.getDialect());
 		assertEquals (SOURCE_ID1, divisionMapping.getSourceId());
 		assertEquals (FRA_ID1, divisionMapping.getFraId());
 	}
@@ -82,20 +97,21 @@ public class DivisionMappingRepositoryTest {
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1));
-		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID2, FRA_ID2));
+		long countBefore = StreamSupport.stream(divisionMappingRepository.findAll().spliterator(), false).count();
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1));
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID2, FRA_ID2));
 		
 		// When
 		Iterable<DivisionMapping> divisionMappings = divisionMappingRepository.findAll();
 		
 		// Then
-		assertTrue (divisionMappings.spliterator().estimateSize() >= 2);
+		assertEquals (countBefore + 2, StreamSupport.stream(divisionMappings.spliterator(), false).count());
 	}
 	
 	@Test
 	public void createOrUpdateShouldThrowAnException () {
 		// Given
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		
 		try {
 			// When
@@ -109,7 +125,7 @@ public class DivisionMappingRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		DivisionMapping divisionMapping = divisionMappingRepository.save(newDivisionMapping);
 		
 		try {
@@ -124,7 +140,7 @@ public class DivisionMappingRepositoryTest {
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		DivisionMapping divisionMapping = divisionMappingRepository.save(newDivisionMapping);
 		
 		// When
@@ -132,7 +148,7 @@ public class DivisionMappingRepositoryTest {
 		
 		// Then
 		assertNotNull(divisionMapping);
-		assertEquals(DIALECT, divisionMapping.getDialect());
+		assertEquals(dialect, divisionMapping.getDialect());
 		assertEquals (SOURCE_ID1, divisionMapping.getSourceId());
 		assertEquals (FRA_ID1, divisionMapping.getFraId());
 	}
@@ -140,7 +156,7 @@ public class DivisionMappingRepositoryTest {
 	@Test
 	public void deleteShouldRemoveADivisionMapping () {
 		// Given
-		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
 		DivisionMapping divisionMapping = divisionMappingRepository.save(newDivisionMapping);
 		
 		// When
@@ -150,4 +166,87 @@ public class DivisionMappingRepositoryTest {
 		divisionMapping = divisionMappingRepository.findOne(newDivisionMapping);
 		assertNull(divisionMapping);
 	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = divisionMappingRepository.count();
+		DivisionMapping saved1 = divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1));
+		DivisionMapping saved2 = divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID2, FRA_ID2));
+		
+		// When
+		long count = divisionMappingRepository.count();
+		
+		// Then
+		assertTrue (divisionMappingRepository.exists(saved1));
+		assertTrue (divisionMappingRepository.exists(saved2));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentObjectIsPassedIn () {
+		// When
+		boolean exists = divisionMappingRepository.exists(domainObjectFactory.createDivisionMapping(INVALID_DIALECT, 0, 0));
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
+		divisionMappingRepository.save(newDivisionMapping);
+		
+		// When
+		boolean exists = divisionMappingRepository.exists(newDivisionMapping);
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughADialectInSourceIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1));
+		List<DivisionMapping> page = divisionMappingRepository.findAll(domainObjectFactory.createDivisionMapping(dialect, Integer.MIN_VALUE, 0), PAGE_SIZE);
+		List<Integer> pagedSourceIds = sourceIdsInDialect(page);
+
+		// When
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID2, FRA_ID2));
+		while (!page.isEmpty() && dialect.equals(page.get(page.size() - 1).getDialect())) {
+			page = divisionMappingRepository.findAll(page.get(page.size() - 1), PAGE_SIZE);
+			pagedSourceIds.addAll(sourceIdsInDialect(page));
+		}
+
+		// Then
+		assertEquals (Arrays.asList(SOURCE_ID1, SOURCE_ID2), pagedSourceIds);
+	}
+
+	@Test
+	public void findByDialectShouldReturnOnlyTheMappingsOfThatDialect () {
+		// Given
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID2, FRA_ID2));
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(otherDialect, SOURCE_ID1, FRA_ID1));
+		divisionMappingRepository.save(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1));
+
+		// When
+		List<DivisionMapping> divisionMappings = divisionMappingRepository.findByDialect(dialect);
+
+		// Then
+		assertEquals (2, divisionMappings.size());
+		for (DivisionMapping divisionMapping : divisionMappings) {
+			assertEquals (dialect, divisionMapping.getDialect());
+		}
+		assertEquals (Arrays.asList(SOURCE_ID1, SOURCE_ID2), sourceIdsInDialect(divisionMappings));
+		assertTrue (divisionMappingRepository.findByDialect(namespace.name("nosuchdialect")).isEmpty());
+	}
+
+	private List<Integer> sourceIdsInDialect(List<DivisionMapping> divisionMappings) {
+		List<Integer> sourceIds = new ArrayList<Integer> ();
+		for (DivisionMapping divisionMapping : divisionMappings) {
+			if (dialect.equals(divisionMapping.getDialect())) sourceIds.add(divisionMapping.getSourceId());
+		}
+		return sourceIds;
+	}
 }
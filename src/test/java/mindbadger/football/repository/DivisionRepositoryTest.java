@@ -2,6 +2,8 @@ package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
 
+import java.util.stream.StreamSupport;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,10 +20,15 @@ import mindbadger.football.domain.DomainObjectFactory;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class DivisionRepositoryTest {
-	private static final String NEW_DIVISION1_NAME = "Division Test New Division 1";
-	private static final String NEW_DIVISION2_NAME = "Division Test New Division 2";
 	private static final String INVALID_ID = "INVALID_ID";
+	private static final int PAGE_SIZE = 2;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final String newDivision1Name = namespace.name("Division Test New Division 1");
+	private final String newDivision2Name = namespace.name("Division Test New Division 2");
+	private final String pagingStartDivisionName = namespace.name("Division Test Paging Start Division");
 
 	@Autowired
 	private DivisionRepository divisionRepository;
@@ -32,11 +39,17 @@ public class DivisionRepositoryTest {
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		Division division = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		Division division = domainObjectFactory.createDivision(newDivision1Name);
 		division = divisionRepository.findMatching(division);
 		if (division != null ) divisionRepository.delete(division);
 		
-		division = domainObjectFactory.createDivision(NEW_DIVISION2_NAME);
+		division = domainObjectFactory.createDivision(newDivision2Name);
+		division = divisionRepository.findMatching(division);
+		if (division != null ) divisionRepository.delete(division);
+
+		division = domainObjectFactory.createDivision(pagingStartDivisionName);
 		division = divisionRepository.findMatching(division);
 		if (division != null ) divisionRepository.delete(division);
 	}
@@ -62,7 +75,7 @@ public class DivisionRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnNullIfANonPersistedObjectIsPassedIn () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		
 		// When
 		Division division = divisionRepository.findMatching(newDivision);
@@ -74,7 +87,7 @@ public class DivisionRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		
 		// When
 		Division division = divisionRepository.save(newDivision);
@@ -82,26 +95,27 @@ public class DivisionRepositoryTest {
 		// Then
 		assertNotNull(division);
 		assertNotNull(division.getDivisionId());
-		assertEquals (NEW_DIVISION1_NAME, division.getDivisionName());
+		assertEquals (newDivision1Name, division.getDivisionName());
 	}
 	
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		divisionRepository.save(domainObjectFactory.createDivision(NEW_DIVISION1_NAME));
-		divisionRepository.save(domainObjectFactory.createDivision(NEW_DIVISION2_NAME));
+		long countBefore = StreamSupport.stream(divisionRepository.findAll().spliterator(), false).count();
+		divisionRepository.save(domainObjectFactory.createDivision(newDivision1Name));
+		divisionRepository.save(domainObjectFactory.createDivision(newDivision2Name));
 		
 		// When
 		Iterable<Division> divisions = divisionRepository.findAll();
 		
 		// Then
-		assertTrue (divisions.spliterator().estimateSize() >= 2);
+		assertEquals (countBefore + 2, StreamSupport.stream(divisions.spliterator(), false).count());
 	}
 	
 	@Test
 	public void createOrUpdateShouldPersistANewObject () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		
 		// When
 		Division division = divisionRepository.createOrUpdate(newDivision);
@@ -109,27 +123,27 @@ public class DivisionRepositoryTest {
 		// Then
 		assertNotNull(division);
 		assertNotNull(division.getDivisionId());
-		assertEquals (NEW_DIVISION1_NAME, division.getDivisionName());
+		assertEquals (newDivision1Name, division.getDivisionName());
 	}
 	
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		Division division = divisionRepository.save(newDivision);
 		
 		// When
 		division = divisionRepository.findMatching(newDivision);
 		
 		// Then
-		assertEquals (NEW_DIVISION1_NAME, division.getDivisionName());
+		assertEquals (newDivision1Name, division.getDivisionName());
 		assertNotNull(division.getDivisionId());
 	}
 	
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		Division division = divisionRepository.save(newDivision);
 		String newDivisionId = division.getDivisionId();
 		
@@ -138,14 +152,14 @@ public class DivisionRepositoryTest {
 		
 		// Then
 		assertNotNull(division);
-		assertEquals (NEW_DIVISION1_NAME, division.getDivisionName());
+		assertEquals (newDivision1Name, division.getDivisionName());
 		assertEquals (newDivisionId, division.getDivisionId());
 	}
 	
 	@Test
 	public void deleteShouldRemoveADivision () {
 		// Given
-		Division newDivision = domainObjectFactory.createDivision(NEW_DIVISION1_NAME);
+		Division newDivision = domainObjectFactory.createDivision(newDivision1Name);
 		Division division = divisionRepository.save(newDivision);
 		String newDivisionId = division.getDivisionId();
 		
@@ -156,4 +170,59 @@ public class DivisionRepositoryTest {
 		division = divisionRepository.findOne(newDivisionId);
 		assertNull(division);
 	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = divisionRepository.count();
+		Division saved1 = divisionRepository.save(domainObjectFactory.createDivision(newDivision1Name));
+		Division saved2 = divisionRepository.save(domainObjectFactory.createDivision(newDivision2Name));
+		
+		// When
+		long count = divisionRepository.count();
+		
+		// Then
+		assertTrue (divisionRepository.exists(saved1.getDivisionId()));
+		assertTrue (divisionRepository.exists(saved2.getDivisionId()));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentIdIsPassedIn () {
+		// When
+		boolean exists = divisionRepository.exists(INVALID_ID);
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(newDivision1Name));
+		
+		// When
+		boolean exists = divisionRepository.exists(division.getDivisionId());
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughDivisionsInIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		Division pagingStart = divisionRepository.save(domainObjectFactory.createDivision(pagingStartDivisionName));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(newDivision1Name));
+		KeysetPages<Division, String> pages = new KeysetPages<Division, String> (divisionRepository, Division::getDivisionId, PAGE_SIZE, pagingStart.getDivisionId());
+		pages.next();
+
+		// When
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(newDivision2Name));
+		pages.until(division2.getDivisionId());
+
+		// Then
+		assertEquals (division1.getDivisionId(), pages.getKeys().get(0));
+		assertTrue (pages.getKeys().contains(division2.getDivisionId()));
+		pages.assertInKeyOrder();
+	}
 }
@@ -0,0 +1,147 @@
+package mindbadger.football.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+
+/**
+ * Streams a synthetic fixture set of 15,600 fixtures and checks how many of
+ * the fixtures handed out are still reachable once the stream has reached the
+ * end: an implementation of streamAll that materializes the whole table, or
+ * keeps every entity it loaded, still holds all of them. Surefire runs this
+ * class in its own execution (see the capped-heap execution in pom.xml), so
+ * the garbage collections it asks for do not run alongside other tests. The
+ * set fits in that heap, so it is the count that fails, not the heap.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class FixtureRepositoryStreamingTest {
+	private static final int NUMBER_OF_SEASONS = 10;
+	private static final int NUMBER_OF_TEAMS = 40;
+	private static final int CHUNK_SIZE = 500;
+	private static final int MAX_RETAINED_FIXTURES = 2 * CHUNK_SIZE;
+	private static final int GC_ATTEMPTS = 5;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final int firstSeason = namespace.season(1870);
+	private final String teamNamePrefix = namespace.name("Streaming Test Team ");
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private Set<Season> seasons = new HashSet<Season> ();
+	private List<Team> teams = new ArrayList<Team> ();
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		List<String> fixtureIds = new ArrayList<String> ();
+		try (Stream<Fixture> stream = fixtureRepository.streamAll(CHUNK_SIZE)) {
+			stream.filter(fixture -> seasons.contains(fixture.getSeason())).forEach(fixture -> fixtureIds.add(fixture.getFixtureId()));
+		}
+		for (String fixtureId : fixtureIds) {
+			Fixture fixture = fixtureRepository.findOne(fixtureId);
+			if (fixture != null) fixtureRepository.delete(fixture);
+		}
+
+		for (int seasonNumber = firstSeason; seasonNumber < firstSeason + NUMBER_OF_SEASONS; seasonNumber++) {
+			Season season = seasonRepository.findOne(seasonNumber);
+			if (season != null) seasonRepository.delete(season);
+		}
+
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamNamePrefix + i));
+			if (team != null) teamRepository.delete(team);
+		}
+	}
+
+	@Before
+	public void setupTestData() {
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			teams.add(teamRepository.save(domainObjectFactory.createTeam(teamNamePrefix + i)));
+		}
+
+		for (int seasonNumber = firstSeason; seasonNumber < firstSeason + NUMBER_OF_SEASONS; seasonNumber++) {
+			Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+			seasons.add(season);
+
+			List<Fixture> fixtures = new ArrayList<Fixture> ();
+			for (Team homeTeam : teams) {
+				for (Team awayTeam : teams) {
+					if (!homeTeam.equals(awayTeam)) {
+						fixtures.add(domainObjectFactory.createFixture(season, homeTeam, awayTeam));
+					}
+				}
+			}
+			fixtureRepository.saveAll(fixtures);
+		}
+	}
+
+	@Test
+	public void streamAllShouldVisitEveryFixtureWithoutKeepingThemReachable () {
+		// When
+		long count = 0;
+		int retained;
+		List<WeakReference<Fixture>> visited = new ArrayList<WeakReference<Fixture>> ();
+		try (Stream<Fixture> stream = fixtureRepository.streamAll(CHUNK_SIZE)) {
+			Iterator<Fixture> fixtures = stream.iterator();
+			while (fixtures.hasNext()) {
+				Fixture fixture = fixtures.next();
+				if (seasons.contains(fixture.getSeason())) count++;
+				visited.add(new WeakReference<Fixture> (fixture));
+			}
+			retained = stillReachable(visited);
+		}
+		
+		// Then
+		assertEquals (NUMBER_OF_SEASONS * NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1), count);
+		assertTrue ("Still reachable: " + retained + " of " + visited.size(), retained <= MAX_RETAINED_FIXTURES);
+	}
+
+	/**
+	 * The number of fixtures still reachable, after asking for a garbage
+	 * collection until at most MAX_RETAINED_FIXTURES are or GC_ATTEMPTS is used up.
+	 */
+	private static int stillReachable (List<WeakReference<Fixture>> visited) {
+		int reachable = visited.size();
+		for (int attempt = 0; attempt < GC_ATTEMPTS && reachable > MAX_RETAINED_FIXTURES; attempt++) {
+			System.gc();
+			reachable = 0;
+			for (WeakReference<Fixture> fixture : visited) {
+				if (fixture.get() != null) reachable++;
+			}
+		}
+		return reachable;
+	}
+}
@@ -0,0 +1,245 @@
+package mindbadger.football.repository;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
+public class FixtureRepositorySummaryTest {
+	private static final Logger logger = LoggerFactory.getLogger(FixtureRepositorySummaryTest.class);
+	private static final int NUMBER_OF_SEASONS = 3;
+	private static final int NUMBER_OF_TEAMS = 12;
+	private static final int WARM_UP_RUNS = 3;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final int firstSeason = namespace.season(1880);
+	private final int lastSeason = firstSeason + NUMBER_OF_SEASONS - 1;
+	private final String divisionName = namespace.name("Summary Test Division");
+	private final String teamNamePrefix = namespace.name("Summary Test Team ");
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private final List<SeasonDivision> seasonDivisions = new ArrayList<SeasonDivision> ();
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		List<String> fixtureIds;
+		try (Stream<FixtureSummary> summaries = fixtureRepository.streamFixtureSummaries(firstSeason, lastSeason)) {
+			fixtureIds = summaries.map(FixtureSummary::getFixtureId).collect(Collectors.toList());
+		}
+		for (String fixtureId : fixtureIds) {
+			Fixture fixture = fixtureRepository.findOne(fixtureId);
+			if (fixture != null) fixtureRepository.delete(fixture);
+		}
+
+		for (int seasonNumber = firstSeason; seasonNumber <= lastSeason; seasonNumber++) {
+			Season season = seasonRepository.findOne(seasonNumber);
+			if (season != null) seasonRepository.delete(season);
+		}
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamNamePrefix + i));
+			if (team != null) teamRepository.delete(team);
+		}
+	}
+
+	@Before
+	public void setupTestData() {
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		List<Team> teams = new ArrayList<Team> ();
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			teams.add(teamRepository.save(domainObjectFactory.createTeam(teamNamePrefix + i)));
+		}
+
+		for (int seasonNumber = firstSeason; seasonNumber <= lastSeason; seasonNumber++) {
+			Season season = domainObjectFactory.createSeason(seasonNumber);
+			SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(season, division, 1);
+			season.getSeasonDivisions().add(seasonDivision);
+			season = seasonRepository.save(season);
+			seasonDivisions.add(season.getSeasonDivisions().iterator().next());
+
+			List<Fixture> fixtures = new ArrayList<Fixture> ();
+			int fixtureNumber = 0;
+			for (Team homeTeam : teams) {
+				for (Team awayTeam : teams) {
+					if (homeTeam.equals(awayTeam)) continue;
+
+					Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+					fixture.setDivision(division);
+					// Every other fixture is dated, and every other dated one has been played
+					if (fixtureNumber % 2 == 0) {
+						Calendar fixtureDate = Calendar.getInstance();
+						fixtureDate.clear();
+						fixtureDate.set(1880 + seasonNumber - firstSeason, Calendar.AUGUST, 1);
+						fixtureDate.add(Calendar.DAY_OF_MONTH, fixtureNumber / 2);
+						fixture.setFixtureDate(fixtureDate);
+						if (fixtureNumber % 4 == 0) {
+							fixture.setHomeGoals(fixtureNumber % 5);
+							fixture.setAwayGoals(fixtureNumber % 3);
+						}
+					}
+					fixtures.add(fixture);
+					fixtureNumber++;
+				}
+			}
+			fixtureRepository.saveAll(fixtures);
+		}
+	}
+
+	@Test
+	public void summariesShouldMatchTheStoredFixtures () {
+		// Given
+		Map<String, Fixture> fixturesById = new HashMap<String, Fixture> ();
+		for (SeasonDivision seasonDivision : seasonDivisions.subList(0, 2)) {
+			for (Fixture fixture : fixtureRepository.getFixturesForDivisionInSeason(seasonDivision)) {
+				fixturesById.put(fixture.getFixtureId(), fixture);
+			}
+		}
+
+		// When
+		List<FixtureSummary> summaries;
+		try (Stream<FixtureSummary> stream = fixtureRepository.streamFixtureSummaries(firstSeason, firstSeason + 1)) {
+			summaries = stream.collect(Collectors.toList());
+		}
+
+		// Then
+		assertEquals (2 * NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1), summaries.size());
+		assertEquals (fixturesById.size(), summaries.size());
+		for (FixtureSummary summary : summaries) {
+			Fixture fixture = fixturesById.get(summary.getFixtureId());
+			assertNotNull (fixture);
+			assertEquals (fixture.getSeason().getSeasonNumber().intValue(), summary.getSeasonNumber());
+			assertEquals (fixture.getDivision().getDivisionId(), summary.getDivisionId());
+			assertEquals (fixture.getHomeTeam().getTeamId(), summary.getHomeTeamId());
+			assertEquals (fixture.getAwayTeam().getTeamId(), summary.getAwayTeamId());
+			assertEquals (fixture.getFixtureDate() == null ? null : localDateOf(fixture.getFixtureDate()), summary.toLocalDate());
+			assertEquals (fixture.getHomeGoals() != null, summary.isPlayed());
+			if (summary.isPlayed()) {
+				assertEquals (fixture.getHomeGoals().intValue(), summary.getHomeGoals());
+				assertEquals (fixture.getAwayGoals().intValue(), summary.getAwayGoals());
+			}
+		}
+	}
+
+	@Test
+	public void unplayedAndUndatedFixturesShouldBeMarked () {
+		// When
+		List<FixtureSummary> summaries;
+		try (Stream<FixtureSummary> stream = fixtureRepository.streamFixtureSummaries(lastSeason, lastSeason)) {
+			summaries = stream.collect(Collectors.toList());
+		}
+
+		// Then
+		long undated = summaries.stream().filter(summary -> !summary.hasFixtureDate()).count();
+		long unplayed = summaries.stream().filter(summary -> !summary.isPlayed()).count();
+		assertEquals (summaries.size() / 2, undated);
+		assertEquals (summaries.size() * 3 / 4, unplayed);
+		for (FixtureSummary summary : summaries) {
+			if (!summary.hasFixtureDate()) {
+				assertEquals (FixtureSummary.NO_DATE, summary.getFixtureDate());
+				assertNull (summary.toLocalDate());
+			}
+			if (!summary.isPlayed()) assertEquals (FixtureSummary.NOT_PLAYED, summary.getHomeGoals());
+		}
+	}
+
+	@Test
+	public void summariesShouldAllocateLessThanFullEntities () {
+		assumeTrue (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		// Given
+		int rows = NUMBER_OF_SEASONS * NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1);
+		LongSupplier summaries = () -> {
+			try (Stream<FixtureSummary> stream = fixtureRepository.streamFixtureSummaries(firstSeason, lastSeason)) {
+				return stream.filter(FixtureSummary::isPlayed).mapToLong(summary -> summary.getHomeGoals() + summary.getAwayGoals()).sum();
+			}
+		};
+		LongSupplier entities = () -> {
+			long goals = 0;
+			for (SeasonDivision seasonDivision : seasonDivisions) {
+				for (Fixture fixture : fixtureRepository.getFixturesForDivisionInSeason(seasonDivision)) {
+					if (fixture.getHomeGoals() != null) goals += fixture.getHomeGoals() + fixture.getAwayGoals();
+				}
+			}
+			return goals;
+		};
+
+		// When
+		long summaryBytes = allocatedBytes(threads, summaries);
+		long entityBytes = allocatedBytes(threads, entities);
+
+		// Then
+		logger.info("Reading {} fixtures allocated {} bytes a row as summaries and {} bytes a row as entities",
+				rows, summaryBytes / rows, entityBytes / rows);
+		assertEquals (entities.getAsLong(), summaries.getAsLong());
+		assertTrue ("Summaries allocated " + summaryBytes + " bytes, entities " + entityBytes,
+				summaryBytes * 2 < entityBytes);
+	}
+
+	private static long allocatedBytes(com.sun.management.ThreadMXBean threads, LongSupplier work) {
+		// Warm up first, so class loading and lambda linkage are not counted
+		for (int i = 0; i < WARM_UP_RUNS; i++) {
+			work.getAsLong();
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		work.getAsLong();
+		return threads.getThreadAllocatedBytes(threadId) - before;
+	}
+
+	private static LocalDate localDateOf(Calendar calendar) {
+		return LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+	}
+}
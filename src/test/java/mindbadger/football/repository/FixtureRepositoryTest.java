@@ -5,16 +5,27 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -30,16 +41,22 @@ import mindbadger.football.domain.Team;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class FixtureRepositoryTest {
+	private static final Logger logger = LoggerFactory.getLogger(FixtureRepositoryTest.class);
 	private static final String INVALID_ID = "INVALID_ID";
-	private static final Integer SEASON = 1852;
-	private static final String DIVISION_NAME = "Fixture Test Division Name 1";
-	private static final String TEAM1_NAME = "Fixture Test Team Name 1";
-	private static final String TEAM2_NAME = "Fixture Test Team Name 2";
-	private static final String TEAM3_NAME = "Fixture Test Team Name 3";
-	private static final String TEAM4_NAME = "Fixture Test Team Name 4";
-	private static final String TEAM5_NAME = "Fixture Test Team Name 5";
-	private static final String TEAM6_NAME = "Fixture Test Team Name 6";
+	private static final int PAGE_SIZE = 2;
+	private static final int YEAR = 1852;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1852);
+	private final String divisionName = namespace.name("Fixture Test Division Name 1");
+	private final String team1Name = namespace.name("Fixture Test Team Name 1");
+	private final String team2Name = namespace.name("Fixture Test Team Name 2");
+	private final String team3Name = namespace.name("Fixture Test Team Name 3");
+	private final String team4Name = namespace.name("Fixture Test Team Name 4");
+	private final String team5Name = namespace.name("Fixture Test Team Name 5");
+	private final String team6Name = namespace.name("Fixture Test Team Name 6");
 
 	private Season season;
 	private Division division;
@@ -67,6 +84,8 @@ public class FixtureRepositoryTest {
 
 	@After
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
 		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
 		fixture = fixtureRepository.findMatching(fixture);
 		if (fixture != null) fixtureRepository.delete(fixture);
@@ -79,48 +98,48 @@ public class FixtureRepositoryTest {
 		fixture = fixtureRepository.findMatching(fixture);
 		if (fixture != null) fixtureRepository.delete(fixture);
 
-		Season season = seasonRepository.findOne(SEASON);
+		Season season = seasonRepository.findOne(seasonNumber);
 		if (season != null) seasonRepository.delete(season);
 		
-		Division division = domainObjectFactory.createDivision(DIVISION_NAME);
+		Division division = domainObjectFactory.createDivision(divisionName);
 		division = divisionRepository.findMatching(division);
 		if (division != null) divisionRepository.delete(division);
 
-		Team team1 = domainObjectFactory.createTeam(TEAM1_NAME);
+		Team team1 = domainObjectFactory.createTeam(team1Name);
 		team1 = teamRepository.findMatching(team1);
 		if (team1 != null) teamRepository.delete(team1);
 
-		Team team2 = domainObjectFactory.createTeam(TEAM2_NAME);
+		Team team2 = domainObjectFactory.createTeam(team2Name);
 		team2 = teamRepository.findMatching(team2);
 		if (team2 != null) teamRepository.delete(team2);
 		
-		Team team3 = domainObjectFactory.createTeam(TEAM3_NAME);
+		Team team3 = domainObjectFactory.createTeam(team3Name);
 		team3 = teamRepository.findMatching(team3);
 		if (team3 != null) teamRepository.delete(team3);
 
-		Team team4 = domainObjectFactory.createTeam(TEAM4_NAME);
+		Team team4 = domainObjectFactory.createTeam(team4Name);
 		team4 = teamRepository.findMatching(team4);
 		if (team4 != null) teamRepository.delete(team4);
 
-		Team team5 = domainObjectFactory.createTeam(TEAM5_NAME);
+		Team team5 = domainObjectFactory.createTeam(team5Name);
 		team5 = teamRepository.findMatching(team5);
 		if (team5 != null) teamRepository.delete(team5);
 
-		Team team6 = domainObjectFactory.createTeam(TEAM6_NAME);
+		Team team6 = domainObjectFactory.createTeam(team6Name);
 		team6 = teamRepository.findMatching(team6);
 		if (team6 != null) teamRepository.delete(team6);
 	}
 
 	@Before
 	public void setupTestData() {
-		season = seasonRepository.save(domainObjectFactory.createSeason(SEASON));
-		division = divisionRepository.save(domainObjectFactory.createDivision(DIVISION_NAME));
-		homeTeam1 = teamRepository.save(domainObjectFactory.createTeam(TEAM1_NAME));
-		awayTeam1 = teamRepository.save(domainObjectFactory.createTeam(TEAM2_NAME));
-		homeTeam2 = teamRepository.save(domainObjectFactory.createTeam(TEAM3_NAME));
-		awayTeam2 = teamRepository.save(domainObjectFactory.createTeam(TEAM4_NAME));
-		homeTeam3 = teamRepository.save(domainObjectFactory.createTeam(TEAM5_NAME));
-		awayTeam3 = teamRepository.save(domainObjectFactory.createTeam(TEAM6_NAME));
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		homeTeam1 = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		awayTeam1 = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+		homeTeam2 = teamRepository.save(domainObjectFactory.createTeam(team3Name));
+		awayTeam2 = teamRepository.save(domainObjectFactory.createTeam(team4Name));
+		homeTeam3 = teamRepository.save(domainObjectFactory.createTeam(team5Name));
+		awayTeam3 = teamRepository.save(domainObjectFactory.createTeam(team6Name));
 		
 		SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(season, division, 1);
 		SeasonDivisionTeam seasonDivisionTeam1 = domainObjectFactory.createSeasonDivisionTeam(seasonDivision, homeTeam1);
@@ -187,7 +206,48 @@ public class FixtureRepositoryTest {
 		Iterable<Fixture> fixtures = fixtureRepository.findAll();
 		
 		// Then
-		assertEquals (2, fixtures.spliterator().estimateSize());
+		long fixturesInThisTest = 0;
+		for (Fixture fixture : fixtures) {
+			if (season.equals(fixture.getSeason())) fixturesInThisTest++;
+		}
+		assertEquals (2, fixturesInThisTest);
+	}
+	
+	@Test
+	public void streamAllShouldReturnAllPersistedObjectsAcrossChunks () {
+		// Given
+		Fixture fixture1 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		Fixture fixture2 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+		Fixture fixture3 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam3, awayTeam3));
+		
+		// When
+		List<Fixture> fixtures = new ArrayList<Fixture> ();
+		try (Stream<Fixture> stream = fixtureRepository.streamAll(2)) {
+			stream.filter(fixture -> season.equals(fixture.getSeason())).forEach(fixtures::add);
+		}
+		
+		// Then
+		assertEquals (3, fixtures.size());
+		assertTrue (fixtures.contains(fixture1));
+		assertTrue (fixtures.contains(fixture2));
+		assertTrue (fixtures.contains(fixture3));
+	}
+	
+	@Test
+	public void streamAllShouldReleaseItsCursorWhenClosedEarly () {
+		// Given
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+		
+		// When
+		for (int i = 0; i < 100; i++) {
+			try (Stream<Fixture> stream = fixtureRepository.streamAll(1)) {
+				assertTrue (stream.findFirst().isPresent());
+			}
+		}
+		
+		// Then - a leaked cursor per iteration would have exhausted the connection pool by now
+		assertNotNull (fixtureRepository.getExistingFixture(season, homeTeam1, awayTeam1));
 	}
 	
 	@Test
@@ -237,6 +297,74 @@ public class FixtureRepositoryTest {
 		assertEquals(awayGoals, fixture.getAwayGoals());
 	}
 
+	@Test
+	public void createOrUpdateShouldRejectAnUpdateToAStaleCopy () {
+		// Given
+		Fixture newFixture = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		Fixture firstCopy = fixtureRepository.findOne(newFixture.getFixtureId());
+		Fixture secondCopy = fixtureRepository.findOne(newFixture.getFixtureId());
+		firstCopy.setHomeGoals(1);
+		firstCopy.setAwayGoals(0);
+		fixtureRepository.createOrUpdate(firstCopy);
+		secondCopy.setHomeGoals(0);
+		secondCopy.setAwayGoals(1);
+
+		try {
+			// When
+			fixtureRepository.createOrUpdate(secondCopy);
+			fail ("Should have thrown an exception here");
+		} catch (OptimisticLockingFailureException e) {
+			// Then
+			Fixture fixture = fixtureRepository.findOne(newFixture.getFixtureId());
+			assertEquals (Integer.valueOf(1), fixture.getHomeGoals());
+			assertEquals (Integer.valueOf(0), fixture.getAwayGoals());
+		}
+	}
+
+	@Test
+	public void saveShouldRejectAStaleCopy () {
+		// Given
+		Fixture newFixture = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		Fixture firstCopy = fixtureRepository.findOne(newFixture.getFixtureId());
+		Fixture secondCopy = fixtureRepository.findOne(newFixture.getFixtureId());
+		firstCopy.setHomeGoals(1);
+		firstCopy.setAwayGoals(0);
+		fixtureRepository.save(firstCopy);
+		secondCopy.setHomeGoals(0);
+		secondCopy.setAwayGoals(1);
+
+		try {
+			// When
+			fixtureRepository.save(secondCopy);
+			fail ("Should have thrown an exception here");
+		} catch (OptimisticLockingFailureException e) {
+			// Then
+			Fixture fixture = fixtureRepository.findOne(newFixture.getFixtureId());
+			assertEquals (Integer.valueOf(1), fixture.getHomeGoals());
+			assertEquals (Integer.valueOf(0), fixture.getAwayGoals());
+		}
+	}
+
+	@Test
+	public void createOrUpdateOfANewFixtureShouldOverwriteTheStoredOneWithoutAVersionCheck () {
+		// Given
+		Fixture storedFixture = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		storedFixture.setHomeGoals(1);
+		storedFixture.setAwayGoals(0);
+		storedFixture = fixtureRepository.save(storedFixture);
+		Fixture newFixture = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		newFixture.setHomeGoals(0);
+		newFixture.setAwayGoals(1);
+
+		// When
+		fixtureRepository.createOrUpdate(newFixture);
+
+		// Then
+		Fixture fixture = fixtureRepository.findOne(storedFixture.getFixtureId());
+		assertEquals (Integer.valueOf(0), fixture.getHomeGoals());
+		assertEquals (Integer.valueOf(1), fixture.getAwayGoals());
+	}
+
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
@@ -329,6 +457,45 @@ public class FixtureRepositoryTest {
 		assertFalse (fixturesForTeam1.contains(fixture3));
 	}
 
+	@Test
+	public void shouldGetFixturesByTeamForDivisionInSeasonMatchingThePerTeamMethod() {
+		// Given
+		Fixture fixture1 = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		fixture1.setDivision(division);
+		fixtureRepository.save(fixture1);
+
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+
+		Fixture fixture3 = domainObjectFactory.createFixture(season, homeTeam3, awayTeam3);
+		fixture3.setDivision(division);
+		fixtureRepository.save(fixture3);
+
+		Fixture fixture4 = domainObjectFactory.createFixture(season, awayTeam1, homeTeam3);
+		fixture4.setDivision(division);
+		fixture4 = fixtureRepository.save(fixture4);
+
+		SeasonDivision seasonDivision = season.getSeasonDivisions().iterator().next();
+		List<Team> teams = Arrays.asList(homeTeam1, awayTeam1, homeTeam2, awayTeam2, homeTeam3, awayTeam3);
+
+		// When
+		Map<Team, List<Fixture>> fixturesByTeam = fixtureRepository.getFixturesByTeamForDivisionInSeason(seasonDivision);
+
+		// Then
+		Map<Team, List<Fixture>> expectedFixturesByTeam = new HashMap<Team, List<Fixture>> ();
+		for (Team team : teams) {
+			expectedFixturesByTeam.put(team, fixtureRepository.getFixturesForTeamInDivisionInSeason(seasonDivision, team));
+		}
+		fixtureRepository.delete(fixture4);
+
+		for (Team team : teams) {
+			List<Fixture> fixtures = fixturesByTeam.containsKey(team) ? fixturesByTeam.get(team) : new ArrayList<Fixture> ();
+			assertEquals (fixtureIds(expectedFixturesByTeam.get(team)), fixtureIds(fixtures));
+		}
+		assertEquals (2, fixturesByTeam.get(awayTeam1).size());
+		assertEquals (1, fixturesByTeam.get(homeTeam1).size());
+		assertFalse (fixturesByTeam.containsKey(homeTeam2));
+	}
+
 	@Test
 	public void shouldGetFixturesForDivisionInSeason() {
 		// Given
@@ -432,4 +599,318 @@ public class FixtureRepositoryTest {
 		assertFalse (unplayedFixturesBeforeToday.contains(fixture2));
 		assertFalse (unplayedFixturesBeforeToday.contains(fixture3));
 	}
+
+	@Test
+	public void saveAllShouldPersistAllNewObjects () {
+		// Given
+		List<Fixture> newFixtures = Arrays.asList(
+				domainObjectFactory.createFixture(season, homeTeam1, awayTeam1),
+				domainObjectFactory.createFixture(season, homeTeam2, awayTeam2),
+				domainObjectFactory.createFixture(season, homeTeam3, awayTeam3));
+		
+		// When
+		Iterable<Fixture> fixtures = fixtureRepository.saveAll(newFixtures);
+		
+		// Then
+		assertEquals (3, fixtures.spliterator().estimateSize());
+		for (Fixture fixture : fixtures) {
+			assertNotNull(fixture.getFixtureId());
+			assertEquals(fixture, fixtureRepository.findOne(fixture.getFixtureId()));
+		}
+		assertNotNull(fixtureRepository.getExistingFixture(season, homeTeam1, awayTeam1));
+		assertNotNull(fixtureRepository.getExistingFixture(season, homeTeam2, awayTeam2));
+		assertNotNull(fixtureRepository.getExistingFixture(season, homeTeam3, awayTeam3));
+	}
+
+	@Test
+	public void createOrUpdateAllShouldPersistNewObjectsAndUpdateExistingOnes () {
+		// Given
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		
+		Fixture updatedFixture = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		updatedFixture.setHomeGoals(2);
+		updatedFixture.setAwayGoals(1);
+		Fixture newFixture = domainObjectFactory.createFixture(season, homeTeam2, awayTeam2);
+		
+		// When
+		fixtureRepository.createOrUpdateAll(Arrays.asList(updatedFixture, newFixture));
+		
+		// Then
+		Fixture fixture1 = fixtureRepository.getExistingFixture(season, homeTeam1, awayTeam1);
+		assertEquals (Integer.valueOf(2), fixture1.getHomeGoals());
+		assertEquals (Integer.valueOf(1), fixture1.getAwayGoals());
+		assertNotNull(fixtureRepository.getExistingFixture(season, homeTeam2, awayTeam2));
+	}
+
+	@Test
+	public void saveAllShouldPersistTheSameFixturesAsSingleSaves () {
+		// Given
+		List<Team> teams = Arrays.asList(homeTeam1, awayTeam1, homeTeam2, awayTeam2, homeTeam3, awayTeam3);
+		
+		// When
+		long start = System.nanoTime();
+		List<Fixture> singlySaved = new ArrayList<Fixture> ();
+		for (Fixture fixture : createFixturesForEveryPairing(teams)) {
+			singlySaved.add(fixtureRepository.save(fixture));
+		}
+		long singleSaveNanos = System.nanoTime() - start;
+		deleteAll(singlySaved);
+
+		start = System.nanoTime();
+		Iterable<Fixture> batchSaved = fixtureRepository.saveAll(createFixturesForEveryPairing(teams));
+		long batchSaveNanos = System.nanoTime() - start;
+		
+		// Then
+		int rows = singlySaved.size();
+		logger.info("Fixture save: {} rows/s, saveAll: {} rows/s", rowsPerSecond(rows, singleSaveNanos), rowsPerSecond(rows, batchSaveNanos));
+		
+		List<Fixture> batchSavedList = new ArrayList<Fixture> ();
+		batchSaved.forEach(batchSavedList::add);
+		if (!RollbackTestExecutionListener.isRollingBack()) deleteAll(batchSavedList);
+		assertEquals (rows, batchSavedList.size());
+	}
+
+	@Test
+	public void getExistingFixturesShouldReturnPersistedFixturesAndOmitMissingOnes () {
+		// Given
+		Fixture fixture1 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		Fixture fixture2 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+		FixtureKey hit1 = new FixtureKey(season, homeTeam1, awayTeam1);
+		FixtureKey hit2 = new FixtureKey(season, homeTeam2, awayTeam2);
+		FixtureKey miss = new FixtureKey(season, homeTeam3, awayTeam3);
+
+		// When
+		Map<FixtureKey, Fixture> existingFixtures = fixtureRepository.getExistingFixtures(Arrays.asList(hit1, miss, hit2));
+
+		// Then
+		assertEquals (2, existingFixtures.size());
+		assertEquals (fixture1.getFixtureId(), existingFixtures.get(hit1).getFixtureId());
+		assertEquals (fixture2.getFixtureId(), existingFixtures.get(hit2).getFixtureId());
+		assertFalse (existingFixtures.containsKey(miss));
+	}
+
+	@Test
+	public void getExistingFixturesShouldFindTheSameFixturesAsSingleLookups () {
+		// Given
+		List<Team> teams = Arrays.asList(homeTeam1, awayTeam1, homeTeam2, awayTeam2, homeTeam3, awayTeam3);
+		List<Fixture> saved = new ArrayList<Fixture> ();
+		fixtureRepository.saveAll(createFixturesForEveryPairing(teams)).forEach(saved::add);
+		List<FixtureKey> keys = new ArrayList<FixtureKey> ();
+		for (Fixture fixture : saved) {
+			keys.add(FixtureKey.of(fixture));
+		}
+
+		// When
+		long start = System.nanoTime();
+		List<Fixture> singlyFound = new ArrayList<Fixture> ();
+		for (FixtureKey key : keys) {
+			singlyFound.add(fixtureRepository.getExistingFixture(key.getSeason(), key.getHomeTeam(), key.getAwayTeam()));
+		}
+		long singleLookupNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		Map<FixtureKey, Fixture> batchFound = fixtureRepository.getExistingFixtures(keys);
+		long batchLookupNanos = System.nanoTime() - start;
+
+		// Then
+		int rows = keys.size();
+		logger.info("Fixture getExistingFixture: {} rows/s, getExistingFixtures: {} rows/s",
+				rowsPerSecond(rows, singleLookupNanos), rowsPerSecond(rows, batchLookupNanos));
+		if (!RollbackTestExecutionListener.isRollingBack()) deleteAll(saved);
+		assertEquals (rows, batchFound.size());
+		for (Fixture fixture : singlyFound) {
+			assertEquals (fixture.getFixtureId(), batchFound.get(FixtureKey.of(fixture)).getFixtureId());
+		}
+	}
+
+	private List<Fixture> createFixturesForEveryPairing (List<Team> teams) {
+		List<Fixture> fixtures = new ArrayList<Fixture> ();
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (!homeTeam.equals(awayTeam)) {
+					fixtures.add(domainObjectFactory.createFixture(season, homeTeam, awayTeam));
+				}
+			}
+		}
+		return fixtures;
+	}
+
+	private void deleteAll (List<Fixture> fixtures) {
+		for (Fixture fixture : fixtures) {
+			fixtureRepository.delete(fixture);
+		}
+	}
+
+	private static Set<String> fixtureIds (List<Fixture> fixtures) {
+		Set<String> fixtureIds = new HashSet<String> ();
+		for (Fixture fixture : fixtures) {
+			fixtureIds.add(fixture.getFixtureId());
+		}
+		return fixtureIds;
+	}
+
+	private static long rowsPerSecond (int rows, long nanos) {
+		return nanos == 0 ? rows : rows * 1000000000L / nanos;
+	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = fixtureRepository.count();
+		Fixture saved1 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		Fixture saved2 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+		
+		// When
+		long count = fixtureRepository.count();
+		
+		// Then
+		assertTrue (fixtureRepository.exists(saved1.getFixtureId()));
+		assertTrue (fixtureRepository.exists(saved2.getFixtureId()));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentIdIsPassedIn () {
+		// When
+		boolean exists = fixtureRepository.exists(INVALID_ID);
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		Fixture fixture = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		
+		// When
+		boolean exists = fixtureRepository.exists(fixture.getFixtureId());
+		
+		// Then
+		assertTrue (exists);
+	}
+	
+	@Test
+	public void shouldCountFixturesForDivisionInSeason () {
+		// Given
+		Fixture fixture1 = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		fixture1.setDivision(division);
+		fixtureRepository.save(fixture1);
+		
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+
+		Fixture fixture3 = domainObjectFactory.createFixture(season, homeTeam3, awayTeam3);
+		fixture3.setDivision(division);
+		fixtureRepository.save(fixture3);
+
+		SeasonDivision seasonDivision = season.getSeasonDivisions().iterator().next();
+		
+		// When
+		long count = fixtureRepository.countFixturesForDivisionInSeason(seasonDivision);
+		
+		// Then
+		assertEquals (2, count);
+		assertEquals (fixtureRepository.getFixturesForDivisionInSeason(seasonDivision).size(), count);
+	}
+
+	@Test
+	public void shouldGetFixturesBetweenDatesInDateOrder () {
+		// Given
+		Fixture fixture1 = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		fixture1.setFixtureDate(date(YEAR, Calendar.AUGUST, 20));
+		fixture1 = fixtureRepository.save(fixture1);
+		
+		Fixture fixture2 = domainObjectFactory.createFixture(season, homeTeam2, awayTeam2);
+		fixture2.setFixtureDate(date(YEAR, Calendar.AUGUST, 10));
+		fixture2 = fixtureRepository.save(fixture2);
+
+		Fixture fixture3 = domainObjectFactory.createFixture(season, homeTeam3, awayTeam3);
+		fixture3.setFixtureDate(date(YEAR, Calendar.SEPTEMBER, 1));
+		fixture3 = fixtureRepository.save(fixture3);
+		
+		// When
+		List<Fixture> fixtures = fixtureRepository.getFixturesBetween(date(YEAR, Calendar.AUGUST, 1), date(YEAR, Calendar.SEPTEMBER, 1), null, 10);
+		
+		// Then
+		assertEquals (Arrays.asList(fixture2, fixture1), fixtures);
+	}
+
+	@Test
+	public void shouldPageThroughFixturesBetweenDates () {
+		// Given
+		Fixture fixture1 = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		fixture1.setFixtureDate(date(YEAR, Calendar.AUGUST, 10));
+		fixtureRepository.save(fixture1);
+		
+		Fixture fixture2 = domainObjectFactory.createFixture(season, homeTeam2, awayTeam2);
+		fixture2.setFixtureDate(date(YEAR, Calendar.AUGUST, 10));
+		fixtureRepository.save(fixture2);
+
+		Fixture fixture3 = domainObjectFactory.createFixture(season, homeTeam3, awayTeam3);
+		fixture3.setFixtureDate(date(YEAR, Calendar.AUGUST, 20));
+		fixtureRepository.save(fixture3);
+
+		Calendar from = date(YEAR, Calendar.AUGUST, 1);
+		Calendar to = date(YEAR, Calendar.SEPTEMBER, 1);
+		
+		// When
+		List<Fixture> page1 = fixtureRepository.getFixturesBetween(from, to, null, 2);
+		List<Fixture> page2 = fixtureRepository.getFixturesBetween(from, to, page1.get(1), 2);
+		List<Fixture> page3 = fixtureRepository.getFixturesBetween(from, to, page2.get(0), 2);
+		
+		// Then
+		assertEquals (2, page1.size());
+		assertTrue (page1.containsAll(Arrays.asList(fixture1, fixture2)));
+		assertEquals (Arrays.asList(fixture3), page2);
+		assertTrue (page3.isEmpty());
+	}
+
+	@Test
+	public void shouldGetUnplayedFixturesBetweenDates () {
+		// Given
+		Fixture fixture1 = domainObjectFactory.createFixture(season, homeTeam1, awayTeam1);
+		fixture1.setFixtureDate(date(YEAR, Calendar.AUGUST, 10));
+		fixture1 = fixtureRepository.save(fixture1);
+		
+		Fixture fixture2 = domainObjectFactory.createFixture(season, homeTeam2, awayTeam2);
+		fixture2.setFixtureDate(date(YEAR, Calendar.AUGUST, 11));
+		fixture2.setHomeGoals(1);
+		fixture2.setAwayGoals(1);
+		fixture2 = fixtureRepository.save(fixture2);
+
+		Fixture fixture3 = domainObjectFactory.createFixture(season, homeTeam3, awayTeam3);
+		fixture3.setFixtureDate(date(YEAR, Calendar.AUGUST, 12));
+		fixture3 = fixtureRepository.save(fixture3);
+		
+		// When
+		List<Fixture> fixtures = fixtureRepository.getUnplayedFixturesBetween(date(YEAR, Calendar.AUGUST, 1), date(YEAR, Calendar.SEPTEMBER, 1), null, 10);
+		
+		// Then
+		assertEquals (Arrays.asList(fixture1, fixture3), fixtures);
+	}
+
+	private static Calendar date (int year, int month, int day) {
+		Calendar date = Calendar.getInstance();
+		date.clear();
+		date.set(year, month, day);
+		return date;
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughFixturesInIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		Fixture pagingStart = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam3, awayTeam3));
+		Fixture fixture1 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam1, awayTeam1));
+		KeysetPages<Fixture, String> pages = new KeysetPages<Fixture, String> (fixtureRepository, Fixture::getFixtureId, PAGE_SIZE, pagingStart.getFixtureId());
+		pages.next();
+
+		// When
+		Fixture fixture2 = fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam2, awayTeam2));
+		pages.until(fixture2.getFixtureId());
+
+		// Then
+		assertEquals (fixture1.getFixtureId(), pages.getKeys().get(0));
+		assertTrue (pages.getKeys().contains(fixture2.getFixtureId()));
+		pages.assertInKeyOrder();
+	}
 }
@@ -0,0 +1,69 @@
+package mindbadger.football.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pages through a repository with findAll(afterKey, limit) the way a caller
+ * would, starting from a key the test recorded itself, and collects the keys
+ * paged. The order is checked with the repository's own paging rather than by
+ * parsing the keys, so it holds whatever the backend's keys look like.
+ */
+final class KeysetPages<E, K> {
+	private final CrudRepository<E, K> repository;
+	private final Function<E, K> keyOf;
+	private final int pageSize;
+	private final K start;
+	private final List<K> keys = new ArrayList<K> ();
+
+	KeysetPages(CrudRepository<E, K> repository, Function<E, K> keyOf, int pageSize, K start) {
+		this.repository = repository;
+		this.keyOf = keyOf;
+		this.pageSize = pageSize;
+		this.start = start;
+	}
+
+	/**
+	 * Fetches the page after the last key paged. False if it was empty.
+	 */
+	boolean next() {
+		List<E> page = repository.findAll(lastKey(), pageSize);
+		for (E entity : page) {
+			keys.add(keyOf.apply(entity));
+		}
+		return !page.isEmpty();
+	}
+
+	/**
+	 * Fetches pages until the given key has been paged or a page comes back empty.
+	 */
+	void until(K key) {
+		while (!keys.contains(key) && next()) {
+		}
+	}
+
+	List<K> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Asserts that each key paged is the one the repository puts straight
+	 * after the key before it, so none was skipped, repeated or out of order.
+	 */
+	void assertInKeyOrder() {
+		K previous = start;
+		for (K key : keys) {
+			List<E> next = repository.findAll(previous, 1);
+			assertEquals (1, next.size());
+			assertEquals (key, keyOf.apply(next.get(0)));
+			previous = key;
+		}
+	}
+
+	private K lastKey() {
+		return keys.isEmpty() ? start : keys.get(keys.size() - 1);
+	}
+}
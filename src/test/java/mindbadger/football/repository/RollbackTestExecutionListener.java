@@ -0,0 +1,82 @@
+package mindbadger.football.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import org.springframework.test.context.transaction.TestContextTransactionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Runs each test of a class annotated @RolledBack in a transaction that is
+ * rolled back when the test finishes, @Before and @After methods included, so
+ * the test's data goes without a lookup and delete per row. This needs
+ * football.test.rollback.enabled=true and a PlatformTransactionManager from
+ * the backend; JPA and the in-memory store have one. Without one, as with
+ * Couchbase, tests run as before and clear up their own data, so cleanup
+ * methods check isRollingBack() before doing so.
+ * <p>
+ * Registered for every test class in META-INF/spring.factories.
+ */
+public class RollbackTestExecutionListener extends AbstractTestExecutionListener {
+	private static final Logger logger = LoggerFactory.getLogger(RollbackTestExecutionListener.class);
+	private static final String TRANSACTION_MANAGER = RollbackTestExecutionListener.class.getName() + ".transactionManager";
+	private static final String TRANSACTION_STATUS = RollbackTestExecutionListener.class.getName() + ".transactionStatus";
+	private static final ThreadLocal<Boolean> rollingBack = new ThreadLocal<Boolean> ();
+
+	/**
+	 * Whether the current test's writes will be rolled back, in which case
+	 * there is nothing for the test to clear up.
+	 */
+	public static boolean isRollingBack() {
+		return Boolean.TRUE.equals(rollingBack.get());
+	}
+
+	@Override
+	public int getOrder() {
+		// Where Spring's own TransactionalTestExecutionListener sits
+		return 4000;
+	}
+
+	@Override
+	public void beforeTestMethod(TestContext testContext) throws Exception {
+		if (!isRollbackRequested(testContext)) return;
+
+		PlatformTransactionManager transactionManager = TestContextTransactionUtils.retrieveTransactionManager(testContext, null);
+		if (transactionManager == null) {
+			logger.debug("No transaction manager, so {} clears up its own data", testContext.getTestMethod().getName());
+			return;
+		}
+
+		TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		testContext.setAttribute(TRANSACTION_MANAGER, transactionManager);
+		testContext.setAttribute(TRANSACTION_STATUS, status);
+		rollingBack.set(Boolean.TRUE);
+	}
+
+	@Override
+	public void afterTestMethod(TestContext testContext) throws Exception {
+		TransactionStatus status = (TransactionStatus) testContext.removeAttribute(TRANSACTION_STATUS);
+		PlatformTransactionManager transactionManager = (PlatformTransactionManager) testContext.removeAttribute(TRANSACTION_MANAGER);
+		if (status == null) return;
+
+		try {
+			transactionManager.rollback(status);
+		} finally {
+			rollingBack.remove();
+		}
+	}
+
+	private boolean isRollbackRequested(TestContext testContext) {
+		Boolean enabled = testContext.getApplicationContext().getEnvironment()
+				.getProperty("football.test.rollback.enabled", Boolean.class, Boolean.FALSE);
+		if (!enabled) return false;
+
+		RolledBack rolledBack = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestMethod(), RolledBack.class);
+		if (rolledBack == null) rolledBack = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestClass(), RolledBack.class);
+		return rolledBack != null && rolledBack.value();
+	}
+}
@@ -0,0 +1,22 @@
+package mindbadger.football.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class whose tests can each run in a transaction that is rolled
+ * back at the end (see RollbackTestExecutionListener). A test method
+ * annotated @RolledBack(false) runs outside one, for tests that need their
+ * writes to reach the store, such as those counting statements.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RolledBack {
+	boolean value() default true;
+}
@@ -1,9 +1,12 @@
 package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.StreamSupport;
 
 import org.junit.After;
 import org.junit.Before;
@@ -21,18 +24,32 @@ import mindbadger.football.domain.Season;
 import mindbadger.football.domain.SeasonDivision;
 import mindbadger.football.domain.SeasonDivisionTeam;
 import mindbadger.football.domain.Team;
+import mindbadger.football.repository.jdbc.StatementCounter;
 
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class SeasonRepositoryTest {
-	private static final Integer NEW_SEASON_NUMBER = 1850;
-	private static final Integer SECOND_SEASON_NUMBER = 1851;
 	private static final Integer INVALID_ID = -1;
-	private static final String TEAM_NAME_1 = "Season Test New Team 1";
-	private static final String TEAM_NAME_2 = "Season Test New Team 2";
-	private static final String DIV_NAME_1 = "Season Test New Division 1";
-	private static final String DIV_NAME_2 = "Season Test New Division 2";
+	private static final int PAGE_SIZE = 1;
+	private static final int TEAMS_ALREADY_IN_DIVISIONS = 10;
+	// Adding one team should cost about one insert plus a few lookups, however big the season is
+	private static final int MAX_STATEMENTS_TO_ADD_ONE_TEAM = 6;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer newSeasonNumber = namespace.season(1850);
+	private final Integer secondSeasonNumber = namespace.season(1851);
+	private final String teamName1 = namespace.name("Season Test New Team 1");
+	private final String teamName2 = namespace.name("Season Test New Team 2");
+	private final String divName1 = namespace.name("Season Test New Division 1");
+	private final String divName2 = namespace.name("Season Test New Division 2");
+	private final List<String> existingTeamNames = new ArrayList<String> ();
+	{
+		for (int i = 1; i <= TEAMS_ALREADY_IN_DIVISIONS; i++) {
+			existingTeamNames.add(namespace.name("Season Test Existing Team " + i));
+		}
+	}
 
 	@Autowired
 	private SeasonRepository seasonRepository;
@@ -46,30 +63,40 @@ public class SeasonRepositoryTest {
 	@Autowired
 	private DomainObjectFactory domainObjectFactory;
 
+	@Autowired(required = false)
+	private StatementCounter statementCounter;
+
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		Season season = seasonRepository.findOne(NEW_SEASON_NUMBER);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		Season season = seasonRepository.findOne(newSeasonNumber);
 		if (season != null) seasonRepository.delete(season);
 
-		season = seasonRepository.findOne(SECOND_SEASON_NUMBER);
+		season = seasonRepository.findOne(secondSeasonNumber);
 		if (season != null) seasonRepository.delete(season);
 
-		Division division = domainObjectFactory.createDivision(DIV_NAME_1);
+		Division division = domainObjectFactory.createDivision(divName1);
 		division = divisionRepository.findMatching(division);
 		if (division != null ) divisionRepository.delete(division);
 		
-		division = domainObjectFactory.createDivision(DIV_NAME_2);
+		division = domainObjectFactory.createDivision(divName2);
 		division = divisionRepository.findMatching(division);
 		if (division != null ) divisionRepository.delete(division);
 
-		Team team = domainObjectFactory.createTeam(TEAM_NAME_1);
+		Team team = domainObjectFactory.createTeam(teamName1);
 		team = teamRepository.findMatching(team);
 		if (team != null) teamRepository.delete(team);
 
-		team = domainObjectFactory.createTeam(TEAM_NAME_2);
+		team = domainObjectFactory.createTeam(teamName2);
 		team = teamRepository.findMatching(team);
 		if (team != null) teamRepository.delete(team);
+
+		for (String existingTeamName : existingTeamNames) {
+			team = teamRepository.findMatching(domainObjectFactory.createTeam(existingTeamName));
+			if (team != null) teamRepository.delete(team);
+		}
 	}
 
 	@Test
@@ -93,7 +120,7 @@ public class SeasonRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnNullIfANonPersistedObjectIsPassedIn () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		
 		// When
 		Season season = seasonRepository.findMatching(newSeason);
@@ -105,62 +132,63 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		
 		// When
 		Season season = seasonRepository.save(newSeason);
 		
 		// Then
 		assertNotNull(season);
-		assertEquals (NEW_SEASON_NUMBER, season.getSeasonNumber());
+		assertEquals (newSeasonNumber, season.getSeasonNumber());
 		assertEquals (0, season.getSeasonDivisions().size());		
 	}
 
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		seasonRepository.save(domainObjectFactory.createSeason(NEW_SEASON_NUMBER));
-		seasonRepository.save(domainObjectFactory.createSeason(SECOND_SEASON_NUMBER));
+		long countBefore = StreamSupport.stream(seasonRepository.findAll().spliterator(), false).count();
+		seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		seasonRepository.save(domainObjectFactory.createSeason(secondSeasonNumber));
 
 		// When
 		Iterable<Season> seasons = seasonRepository.findAll();
 		
 		// Then
-		assertTrue (seasons.spliterator().estimateSize() >= 2);		
+		assertEquals (countBefore + 2, StreamSupport.stream(seasons.spliterator(), false).count());		
 	}
 
 	@Test
 	public void createOrUpdateShouldPersistANewObject () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		
 		// When
 		Season season = seasonRepository.createOrUpdate(newSeason);
 		
 		// Then
 		assertNotNull(season);
-		assertEquals (NEW_SEASON_NUMBER, season.getSeasonNumber());
+		assertEquals (newSeasonNumber, season.getSeasonNumber());
 		assertEquals (0, season.getSeasonDivisions().size());		
 	}
 
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 
 		// When
 		season = seasonRepository.findMatching(newSeason);
 		
 		// Then
-		assertEquals (NEW_SEASON_NUMBER, season.getSeasonNumber());		
+		assertEquals (newSeasonNumber, season.getSeasonNumber());		
 		assertEquals (0, season.getSeasonDivisions().size());
 	}
 
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 		Integer newSeasonId = season.getSeasonNumber();
 
@@ -168,18 +196,18 @@ public class SeasonRepositoryTest {
 		season = seasonRepository.findOne(newSeasonId);
 		
 		// Then
-		assertEquals (NEW_SEASON_NUMBER, season.getSeasonNumber());
+		assertEquals (newSeasonNumber, season.getSeasonNumber());
 		assertEquals (0, season.getSeasonDivisions().size());		
 	}
 
 	@Test
 	public void saveShouldAddDivisionToASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 		Integer newSeasonId = season.getSeasonNumber();
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		
 		// When
@@ -195,14 +223,14 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldAddMultipleDivisionsToASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 		Integer newSeasonId = season.getSeasonNumber();
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		
-		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_2));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
 		SeasonDivision seasonDivision2 = domainObjectFactory.createSeasonDivision(season, division2, 2);
 		
 		// When
@@ -219,18 +247,18 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldAddTeamToDivisionInASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 		Integer newSeasonId = season.getSeasonNumber();
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		season.getSeasonDivisions().add(seasonDivision1);
 		season = seasonRepository.save(season);
 		
 		seasonDivision1 = season.getSeasonDivisions().iterator().next();
 
-		Team team1 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_1));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
 		SeasonDivisionTeam seasonDivisionTeam1 = domainObjectFactory.createSeasonDivisionTeam(seasonDivision1, team1);
 		
 		// When
@@ -247,11 +275,11 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldAddAnotherTeamToADifferentDivisionInASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
-		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_2));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
 		
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		SeasonDivision seasonDivision2 = domainObjectFactory.createSeasonDivision(season, division2, 2);
@@ -260,8 +288,8 @@ public class SeasonRepositoryTest {
 		season.getSeasonDivisions().add(seasonDivision2);
 		season = seasonRepository.save(season);
 		
-		Team team1 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_1));
-		Team team2 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_2));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		Team team2 = teamRepository.save(domainObjectFactory.createTeam(teamName2));
 
 		List<SeasonDivision> seasonDivisionList = new ArrayList<SeasonDivision> (season.getSeasonDivisions());
 		seasonDivision1 = seasonDivisionList.get(0);
@@ -287,15 +315,15 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldhouldRemoveATeamFromADivisionInASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		season.getSeasonDivisions().add(seasonDivision1);
 		season = seasonRepository.save(season);
 		
-		Team team1 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_1));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
 
 		seasonDivision1 = season.getSeasonDivisions().iterator().next();
 		
@@ -318,11 +346,11 @@ public class SeasonRepositoryTest {
 	@Test
 	public void saveShouldMoveATeamToADifferentDivisionInASeason () {
 		// Given
-		Season newSeason = domainObjectFactory.createSeason(NEW_SEASON_NUMBER);
+		Season newSeason = domainObjectFactory.createSeason(newSeasonNumber);
 		Season season = seasonRepository.save(newSeason);
 
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
-		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_2));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
 		
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		SeasonDivision seasonDivision2 = domainObjectFactory.createSeasonDivision(season, division2, 2);
@@ -331,8 +359,8 @@ public class SeasonRepositoryTest {
 		season.getSeasonDivisions().add(seasonDivision2);
 		season = seasonRepository.save(season);
 		
-		Team team1 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_1));
-		Team team2 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_2));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		Team team2 = teamRepository.save(domainObjectFactory.createTeam(teamName2));
 
 		List<SeasonDivision> seasonDivisionList = new ArrayList<SeasonDivision> (season.getSeasonDivisions());
 		seasonDivision1 = seasonDivisionList.get(0);
@@ -364,14 +392,49 @@ public class SeasonRepositoryTest {
 		assertEquals (0, seasonDivision2.getSeasonDivisionTeams().size());
 	}
 	
+	@Test
+	@RolledBack(false)
+	public void saveShouldNotIssueMoreStatementsToAddATeamAsTheSeasonGrows () {
+		assumeTrue (statementCounter != null && statementCounter.isCounting());
+
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division1, 1));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division2, 2));
+		season = seasonRepository.save(season);
+
+		List<SeasonDivision> seasonDivisionList = new ArrayList<SeasonDivision> (season.getSeasonDivisions());
+		for (int i = 0; i < existingTeamNames.size(); i++) {
+			Team team = teamRepository.save(domainObjectFactory.createTeam(existingTeamNames.get(i)));
+			SeasonDivision seasonDivision = seasonDivisionList.get(i % seasonDivisionList.size());
+			seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+		}
+		season = seasonRepository.save(season);
+
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		SeasonDivision seasonDivision1 = season.getSeasonDivisions().iterator().next();
+		seasonDivision1.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision1, team1));
+		statementCounter.reset();
+
+		// When
+		seasonRepository.save(season);
+
+		// Then
+		long statements = statementCounter.getStatementCount();
+		assertTrue ("Adding one team to a season with " + TEAMS_ALREADY_IN_DIVISIONS + " teams issued " + statements + " statements",
+				statements <= MAX_STATEMENTS_TO_ADD_ONE_TEAM);
+	}
+
 	@Test
 	public void shouldNavigateThroughSeasonsAndDivisions () {
 		// Given
-		Season season = seasonRepository.save(domainObjectFactory.createSeason(NEW_SEASON_NUMBER));
-		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_1));
-		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(DIV_NAME_2));
-		Team team1 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_1));
-		Team team2 = teamRepository.save(domainObjectFactory.createTeam(TEAM_NAME_2));
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		Team team2 = teamRepository.save(domainObjectFactory.createTeam(teamName2));
 		
 		SeasonDivision seasonDivision1 = domainObjectFactory.createSeasonDivision(season, division1, 1);
 		SeasonDivision seasonDivision2 = domainObjectFactory.createSeasonDivision(season, division2, 2);
@@ -396,8 +459,8 @@ public class SeasonRepositoryTest {
 		seasonDivision2 = seasonRepository.getSeasonDivision(season, division2);
 		
 		// Then
-		assertEquals (DIV_NAME_1, seasonDivision1.getDivision().getDivisionName());
-		assertEquals (DIV_NAME_2, seasonDivision2.getDivision().getDivisionName());
+		assertEquals (divName1, seasonDivision1.getDivision().getDivisionName());
+		assertEquals (divName2, seasonDivision2.getDivision().getDivisionName());
 		assertEquals (1, seasonDivision1.getSeasonDivisionTeams().size());
 		assertEquals (1, seasonDivision2.getSeasonDivisionTeams().size());
 		
@@ -408,7 +471,171 @@ public class SeasonRepositoryTest {
 		// Then
 		team1 = seasonDivisionTeam1.getTeam();
 		team2 = seasonDivisionTeam2.getTeam();
-		assertEquals (TEAM_NAME_1, team1.getTeamName());
-		assertEquals (TEAM_NAME_2, team2.getTeamName());
+		assertEquals (teamName1, team1.getTeamName());
+		assertEquals (teamName2, team2.getTeamName());
+	}
+
+	@Test
+	public void shouldIterateDivisionsInPositionOrderAsTheyAreAddedAndMoved () {
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division2, 2));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division1, 1));
+		season = seasonRepository.save(season);
+
+		// Then
+		assertEquals (Arrays.asList(divName1, divName2), divisionNames(seasonRepository.findOne(newSeasonNumber)));
+
+		// When
+		seasonDivisionOf(season, division1).setDivisionPosition(3);
+		season = seasonRepository.save(season);
+
+		// Then
+		assertEquals (Arrays.asList(divName2, divName1), divisionNames(seasonRepository.findOne(newSeasonNumber)));
+	}
+
+	@Test
+	public void shouldLookUpDivisionsAndTeamsAsTheyAreAddedRemovedAndMoved () {
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		Division division2 = divisionRepository.save(domainObjectFactory.createDivision(divName2));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division1, 1));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division2, 2));
+		season = seasonRepository.save(season);
+		SeasonDivision seasonDivision1 = seasonDivisionOf(season, division1);
+		SeasonDivision seasonDivision2 = seasonDivisionOf(season, division2);
+
+		// When
+		seasonDivision1.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision1, team1));
+		season = seasonRepository.save(season);
+
+		// Then
+		assertEquals (teamName1, seasonRepository.getSeasonDivisionTeam(seasonRepository.getSeasonDivision(season, division1), team1).getTeam().getTeamName());
+		assertNull (seasonRepository.getSeasonDivisionTeam(seasonRepository.getSeasonDivision(season, division2), team1));
+
+		// When
+		SeasonDivisionTeam seasonDivisionTeam1 = seasonRepository.getSeasonDivisionTeam(seasonDivision1, team1);
+		seasonDivision1.getSeasonDivisionTeams().remove(seasonDivisionTeam1);
+		seasonDivision2.getSeasonDivisionTeams().add(seasonDivisionTeam1);
+		season = seasonRepository.save(season);
+
+		// Then
+		assertNull (seasonRepository.getSeasonDivisionTeam(seasonRepository.getSeasonDivision(season, division1), team1));
+		assertEquals (teamName1, seasonRepository.getSeasonDivisionTeam(seasonRepository.getSeasonDivision(season, division2), team1).getTeam().getTeamName());
+
+		// When
+		season.getSeasonDivisions().remove(seasonDivision1);
+		season = seasonRepository.save(season);
+
+		// Then
+		assertNull (seasonRepository.getSeasonDivision(season, division1));
+		assertEquals (divName2, seasonRepository.getSeasonDivision(season, division2).getDivision().getDivisionName());
+	}
+
+	@Test
+	public void shouldLookUpATeamSavedAfterItWasAddedToADivision () {
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Division division1 = divisionRepository.save(domainObjectFactory.createDivision(divName1));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division1, 1));
+		season = seasonRepository.save(season);
+		SeasonDivision seasonDivision1 = seasonDivisionOf(season, division1);
+		Team team1 = domainObjectFactory.createTeam(teamName1);
+		seasonDivision1.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision1, team1));
+
+		// When
+		team1 = teamRepository.save(team1);
+
+		// Then
+		assertEquals (teamName1, seasonRepository.getSeasonDivisionTeam(seasonDivision1, team1).getTeam().getTeamName());
+
+		// When
+		season = seasonRepository.save(season);
+
+		// Then
+		assertEquals (teamName1, seasonRepository.getSeasonDivisionTeam(seasonRepository.getSeasonDivision(season, division1), team1).getTeam().getTeamName());
+	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = seasonRepository.count();
+		Season saved1 = seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		Season saved2 = seasonRepository.save(domainObjectFactory.createSeason(secondSeasonNumber));
+		
+		// When
+		long count = seasonRepository.count();
+		
+		// Then
+		assertTrue (seasonRepository.exists(saved1.getSeasonNumber()));
+		assertTrue (seasonRepository.exists(saved2.getSeasonNumber()));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentIdIsPassedIn () {
+		// When
+		boolean exists = seasonRepository.exists(INVALID_ID);
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		
+		// When
+		boolean exists = seasonRepository.exists(newSeasonNumber);
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughSeasonsInOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		seasonRepository.save(domainObjectFactory.createSeason(newSeasonNumber));
+		List<Season> page = seasonRepository.findAll(namespace.season(0), PAGE_SIZE);
+		List<Integer> pagedSeasonNumbers = seasonNumbers(page);
+
+		// When
+		seasonRepository.save(domainObjectFactory.createSeason(secondSeasonNumber));
+		while (!page.isEmpty() && page.get(page.size() - 1).getSeasonNumber() < namespace.season(99)) {
+			page = seasonRepository.findAll(page.get(page.size() - 1).getSeasonNumber(), PAGE_SIZE);
+			pagedSeasonNumbers.addAll(seasonNumbers(page));
+		}
+
+		// Then
+		pagedSeasonNumbers.removeIf(seasonNumber -> seasonNumber > namespace.season(99));
+		assertEquals (Arrays.asList(newSeasonNumber, secondSeasonNumber), pagedSeasonNumbers);
+	}
+
+	private SeasonDivision seasonDivisionOf(Season season, Division division) {
+		for (SeasonDivision seasonDivision : season.getSeasonDivisions()) {
+			if (division.equals(seasonDivision.getDivision())) return seasonDivision;
+		}
+		return null;
+	}
+
+	private List<String> divisionNames(Season season) {
+		List<String> divisionNames = new ArrayList<String> ();
+		for (SeasonDivision seasonDivision : season.getSeasonDivisions()) {
+			divisionNames.add(seasonDivision.getDivision().getDivisionName());
+		}
+		return divisionNames;
+	}
+
+	private List<Integer> seasonNumbers(List<Season> seasons) {
+		List<Integer> seasonNumbers = new ArrayList<Integer> ();
+		for (Season season : seasons) {
+			seasonNumbers.add(season.getSeasonNumber());
+		}
+		return seasonNumbers;
 	}
 }
@@ -2,6 +2,11 @@ package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,14 +23,19 @@ import mindbadger.football.domain.DomainObjectFactory;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class TeamMappingRepositoryTest {
-	private static final String DIALECT = "mydialect";
 	private static final String INVALID_DIALECT = "INVALID_ID";
+	private static final int PAGE_SIZE = 1;
 	private static final Integer SOURCE_ID1 = 10;
 	private static final Integer FRA_ID1 = 20;
 	private static final Integer SOURCE_ID2 = 11;
 	private static final Integer FRA_ID2 = 21;
 
+	private final TestNamespace namespace = new TestNamespace();
+	private final String dialect = namespace.name("mydialect");
+	private final String otherDialect = namespace.name("myotherdialect");
+
 	@Autowired
 	private TeamMappingRepository teamMappingRepository;
 
@@ -35,11 +45,16 @@ public class TeamMappingRepositoryTest {
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		TeamMapping teamMapping = teamMappingRepository.findOne(newTeamMapping);
 		if (teamMapping != null) teamMappingRepository.delete(teamMapping);
 		
-		newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID2, FRA_ID2);
+		newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID2, FRA_ID2);
+		teamMapping = teamMappingRepository.findOne(newTeamMapping);
+		if (teamMapping != null) teamMappingRepository.delete(teamMapping);
+		newTeamMapping = domainObjectFactory.createTeamMapping(otherDialect, SOURCE_ID1, FRA_ID1);
 		teamMapping = teamMappingRepository.findOne(newTeamMapping);
 		if (teamMapping != null) teamMappingRepository.delete(teamMapping);
 	}
@@ -66,14 +81,14 @@ public class TeamMappingRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		
 		// When
 		TeamMapping teamMapping = teamMappingRepository.save(newTeamMapping);
 		
 		// Then
 		assertNotNull(teamMapping);
-		assertEquals(DIALECT, teamMapping.getDialect());
+		assertEquals(dialect, teamMapping.getDialect());
 		assertEquals (SOURCE_ID1, teamMapping.getSourceId());
 		assertEquals (FRA_ID1, teamMapping.getFraId());
 	}
@@ -81,20 +96,21 @@ public class TeamMappingRepositoryTest {
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		teamMappingRepository.save(domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1));
-		teamMappingRepository.save(domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID2, FRA_ID2));
+		long countBefore = StreamSupport.stream(teamMappingRepository.findAll().spliterator(), false).count();
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID2, FRA_ID2));
 		
 		// When
 		Iterable<TeamMapping> teamMappings = teamMappingRepository.findAll();
 		
 		// Then
-		assertTrue (teamMappings.spliterator().estimateSize() >= 2);
+		assertEquals (countBefore + 2, StreamSupport.stream(teamMappings.spliterator(), false).count());
 	}
 	
 	@Test
 	public void createOrUpdateShouldThrowAnException () {
 		// Given
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		
 		try {
 			// When
@@ -108,7 +124,7 @@ public class TeamMappingRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		TeamMapping teamMapping = teamMappingRepository.save(newTeamMapping);
 		
 		try {
@@ -123,7 +139,7 @@ public class TeamMappingRepositoryTest {
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		TeamMapping teamMapping = teamMappingRepository.save(newTeamMapping);
 		
 		// When
@@ -131,7 +147,7 @@ public class TeamMappingRepositoryTest {
 		
 		// Then
 		assertNotNull(teamMapping);
-		assertEquals(DIALECT, teamMapping.getDialect());
+		assertEquals(dialect, teamMapping.getDialect());
 		assertEquals (SOURCE_ID1, teamMapping.getSourceId());
 		assertEquals (FRA_ID1, teamMapping.getFraId());
 	}
@@ -139,7 +155,7 @@ public class TeamMappingRepositoryTest {
 	@Test
 	public void deleteShouldRemoveATeamMapping () {
 		// Given
-		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(DIALECT, SOURCE_ID1, FRA_ID1);
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
 		TeamMapping teamMapping = teamMappingRepository.save(newTeamMapping);
 		
 		// When
@@ -149,4 +165,87 @@ public class TeamMappingRepositoryTest {
 		teamMapping = teamMappingRepository.findOne(newTeamMapping);
 		assertNull(teamMapping);
 	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = teamMappingRepository.count();
+		TeamMapping saved1 = teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		TeamMapping saved2 = teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID2, FRA_ID2));
+		
+		// When
+		long count = teamMappingRepository.count();
+		
+		// Then
+		assertTrue (teamMappingRepository.exists(saved1));
+		assertTrue (teamMappingRepository.exists(saved2));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentObjectIsPassedIn () {
+		// When
+		boolean exists = teamMappingRepository.exists(domainObjectFactory.createTeamMapping(INVALID_DIALECT, 0, 0));
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
+		teamMappingRepository.save(newTeamMapping);
+		
+		// When
+		boolean exists = teamMappingRepository.exists(newTeamMapping);
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughADialectInSourceIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		List<TeamMapping> page = teamMappingRepository.findAll(domainObjectFactory.createTeamMapping(dialect, Integer.MIN_VALUE, 0), PAGE_SIZE);
+		List<Integer> pagedSourceIds = sourceIdsInDialect(page);
+
+		// When
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID2, FRA_ID2));
+		while (!page.isEmpty() && dialect.equals(page.get(page.size() - 1).getDialect())) {
+			page = teamMappingRepository.findAll(page.get(page.size() - 1), PAGE_SIZE);
+			pagedSourceIds.addAll(sourceIdsInDialect(page));
+		}
+
+		// Then
+		assertEquals (Arrays.asList(SOURCE_ID1, SOURCE_ID2), pagedSourceIds);
+	}
+
+	@Test
+	public void findByDialectShouldReturnOnlyTheMappingsOfThatDialect () {
+		// Given
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID2, FRA_ID2));
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(otherDialect, SOURCE_ID1, FRA_ID1));
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+
+		// When
+		List<TeamMapping> teamMappings = teamMappingRepository.findByDialect(dialect);
+
+		// Then
+		assertEquals (2, teamMappings.size());
+		for (TeamMapping teamMapping : teamMappings) {
+			assertEquals (dialect, teamMapping.getDialect());
+		}
+		assertEquals (Arrays.asList(SOURCE_ID1, SOURCE_ID2), sourceIdsInDialect(teamMappings));
+		assertTrue (teamMappingRepository.findByDialect(namespace.name("nosuchdialect")).isEmpty());
+	}
+
+	private List<Integer> sourceIdsInDialect(List<TeamMapping> teamMappings) {
+		List<Integer> sourceIds = new ArrayList<Integer> ();
+		for (TeamMapping teamMapping : teamMappings) {
+			if (dialect.equals(teamMapping.getDialect())) sourceIds.add(teamMapping.getSourceId());
+		}
+		return sourceIds;
+	}
 }
@@ -2,6 +2,8 @@ package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
 
+import java.util.stream.StreamSupport;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,10 +20,15 @@ import mindbadger.football.domain.Team;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class TeamRepositoryTest {
-	private static final String NEW_TEAM1_NAME = "Team Test New Team 1";
-	private static final String NEW_TEAM2_NAME = "Team Test New Team 2";
 	private static final String INVALID_ID = "INVALID_ID";
+	private static final int PAGE_SIZE = 2;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final String newTeam1Name = namespace.name("Team Test New Team 1");
+	private final String newTeam2Name = namespace.name("Team Test New Team 2");
+	private final String pagingStartTeamName = namespace.name("Team Test Paging Start Team");
 
 	@Autowired
 	private TeamRepository teamRepository;
@@ -32,11 +39,17 @@ public class TeamRepositoryTest {
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		Team team = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		Team team = domainObjectFactory.createTeam(newTeam1Name);
 		team = teamRepository.findMatching(team);
 		if (team != null) teamRepository.delete(team);
 
-		team = domainObjectFactory.createTeam(NEW_TEAM2_NAME);
+		team = domainObjectFactory.createTeam(newTeam2Name);
+		team = teamRepository.findMatching(team);
+		if (team != null) teamRepository.delete(team);
+
+		team = domainObjectFactory.createTeam(pagingStartTeamName);
 		team = teamRepository.findMatching(team);
 		if (team != null) teamRepository.delete(team);
 	}
@@ -62,7 +75,7 @@ public class TeamRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnNullIfANonPersistedObjectIsPassedIn () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		
 		// When
 		Team team = teamRepository.findMatching(newTeam);
@@ -74,7 +87,7 @@ public class TeamRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		
 		// When
 		Team team = teamRepository.save(newTeam);
@@ -82,26 +95,27 @@ public class TeamRepositoryTest {
 		// Then
 		assertNotNull(team);
 		assertNotNull(team.getTeamId());
-		assertEquals (NEW_TEAM1_NAME, team.getTeamName());
+		assertEquals (newTeam1Name, team.getTeamName());
 	}
 	
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		teamRepository.save(domainObjectFactory.createTeam(NEW_TEAM1_NAME));
-		teamRepository.save(domainObjectFactory.createTeam(NEW_TEAM2_NAME));
+		long countBefore = StreamSupport.stream(teamRepository.findAll().spliterator(), false).count();
+		teamRepository.save(domainObjectFactory.createTeam(newTeam1Name));
+		teamRepository.save(domainObjectFactory.createTeam(newTeam2Name));
 		
 		// When
 		Iterable<Team> teams = teamRepository.findAll();
 		
 		// Then
-		assertTrue (teams.spliterator().estimateSize() >= 2);
+		assertEquals (countBefore + 2, StreamSupport.stream(teams.spliterator(), false).count());
 	}
 	
 	@Test
 	public void createOrUpdateShouldPersistANewObject () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		
 		// When
 		Team team = teamRepository.createOrUpdate(newTeam);
@@ -109,27 +123,27 @@ public class TeamRepositoryTest {
 		// Then
 		assertNotNull(team);
 		assertNotNull(team.getTeamId());
-		assertEquals (NEW_TEAM1_NAME, team.getTeamName());
+		assertEquals (newTeam1Name, team.getTeamName());
 	}
 	
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		Team team = teamRepository.save(newTeam);
 		
 		// When
 		team = teamRepository.findMatching(newTeam);
 		
 		// Then
-		assertEquals (NEW_TEAM1_NAME, team.getTeamName());
+		assertEquals (newTeam1Name, team.getTeamName());
 		assertNotNull(team.getTeamId());
 	}
 	
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		Team team = teamRepository.save(newTeam);
 		String newTeamId = team.getTeamId();
 		
@@ -138,14 +152,14 @@ public class TeamRepositoryTest {
 		
 		// Then
 		assertNotNull(team);
-		assertEquals (NEW_TEAM1_NAME, team.getTeamName());
+		assertEquals (newTeam1Name, team.getTeamName());
 		assertEquals (newTeamId, team.getTeamId());
 	}
 	
 	@Test
 	public void deleteShouldRemoveATeam () {
 		// Given
-		Team newTeam = domainObjectFactory.createTeam(NEW_TEAM1_NAME);
+		Team newTeam = domainObjectFactory.createTeam(newTeam1Name);
 		Team team = teamRepository.save(newTeam);
 		String newTeamId = team.getTeamId();
 		
@@ -156,4 +170,59 @@ public class TeamRepositoryTest {
 		team = teamRepository.findOne(newTeamId);
 		assertNull(team);
 	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = teamRepository.count();
+		Team saved1 = teamRepository.save(domainObjectFactory.createTeam(newTeam1Name));
+		Team saved2 = teamRepository.save(domainObjectFactory.createTeam(newTeam2Name));
+		
+		// When
+		long count = teamRepository.count();
+		
+		// Then
+		assertTrue (teamRepository.exists(saved1.getTeamId()));
+		assertTrue (teamRepository.exists(saved2.getTeamId()));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentIdIsPassedIn () {
+		// When
+		boolean exists = teamRepository.exists(INVALID_ID);
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(newTeam1Name));
+		
+		// When
+		boolean exists = teamRepository.exists(team.getTeamId());
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughTeamsInIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		Team pagingStart = teamRepository.save(domainObjectFactory.createTeam(pagingStartTeamName));
+		Team team1 = teamRepository.save(domainObjectFactory.createTeam(newTeam1Name));
+		KeysetPages<Team, String> pages = new KeysetPages<Team, String> (teamRepository, Team::getTeamId, PAGE_SIZE, pagingStart.getTeamId());
+		pages.next();
+
+		// When
+		Team team2 = teamRepository.save(domainObjectFactory.createTeam(newTeam2Name));
+		pages.until(team2.getTeamId());
+
+		// Then
+		assertEquals (team1.getTeamId(), pages.getKeys().get(0));
+		assertTrue (pages.getKeys().contains(team2.getTeamId()));
+		pages.assertInKeyOrder();
+	}
 }
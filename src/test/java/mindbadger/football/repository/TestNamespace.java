@@ -0,0 +1,36 @@
+package mindbadger.football.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives each test its own keys so that test classes can run in parallel
+ * against a shared store. Names and dialects get a prefix unique to the test,
+ * and season numbers are moved into a block reserved for the test. Cleanup
+ * that looks data up by these keys therefore only touches the test's own rows.
+ * <p>
+ * JUnit creates a test instance per test method, so a namespace held in an
+ * instance field lasts for exactly one test.
+ */
+public class TestNamespace {
+	private static final int SEASONS_PER_FORK = 10000000;
+	private static final int SEASONS_PER_TEST = 100;
+	private static final AtomicInteger sequence = new AtomicInteger();
+
+	private final int forkNumber = Integer.getInteger("test.forkNumber", 1);
+	private final int testNumber = sequence.incrementAndGet();
+
+	/**
+	 * Prefixes a team name, division name or dialect with this test's namespace.
+	 */
+	public String name(String name) {
+		return "ns" + forkNumber + "." + testNumber + " " + name;
+	}
+
+	/**
+	 * Maps a season number into this test's block. Season numbers that differ
+	 * in their last two digits stay distinct.
+	 */
+	public Integer season(int seasonNumber) {
+		return forkNumber * SEASONS_PER_FORK + testNumber * SEASONS_PER_TEST + seasonNumber % SEASONS_PER_TEST;
+	}
+}
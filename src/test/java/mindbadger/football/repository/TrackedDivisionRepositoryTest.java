@@ -2,6 +2,11 @@ package mindbadger.football.repository;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,12 +23,16 @@ import mindbadger.football.domain.DomainObjectFactory;
 @SpringBootTest
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {TestApplication.class})
+@RolledBack
 public class TrackedDivisionRepositoryTest {
-	private static final String DIALECT = "mydialect";
 	private static final String INVALID_DIALECT = "INVALID_ID";
+	private static final int PAGE_SIZE = 1;
 	private static final Integer SOURCE_ID1 = 10;
 	private static final Integer SOURCE_ID2 = 11;
 
+	private final TestNamespace namespace = new TestNamespace();
+	private final String dialect = namespace.name("mydialect");
+
 	@Autowired
 	private TrackedDivisionRepository trackedDivisionRepository;
 
@@ -33,11 +42,13 @@ public class TrackedDivisionRepositoryTest {
 	@After
 	@Before
 	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		if (RollbackTestExecutionListener.isRollingBack()) return;
+
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		TrackedDivision trackedDivision = trackedDivisionRepository.findOne(newTrackedDivision);
 		if (trackedDivision != null) trackedDivisionRepository.delete(trackedDivision);
 		
-		newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID2);
+		newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID2);
 		trackedDivision = trackedDivisionRepository.findOne(newTrackedDivision);
 		if (trackedDivision != null) trackedDivisionRepository.delete(trackedDivision);
 	}
@@ -64,34 +75,35 @@ public class TrackedDivisionRepositoryTest {
 	@Test
 	public void saveShouldPersistANewObject () {
 		// Given
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		
 		// When
 		TrackedDivision trackedDivision = trackedDivisionRepository.save(newTrackedDivision);
 		
 		// Then
 		assertNotNull(trackedDivision);
-		assertEquals(DIALECT, trackedDivision.getDialect());
+		assertEquals(dialect, trackedDivision.getDialect());
 		assertEquals (SOURCE_ID1, trackedDivision.getSourceId());
 	}
 	
 	@Test
 	public void findAllShouldReturnAllPersistedObjects () {
 		// Given
-		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1));
-		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID2));
+		long countBefore = StreamSupport.stream(trackedDivisionRepository.findAll().spliterator(), false).count();
+		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1));
+		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID2));
 		
 		// When
 		Iterable<TrackedDivision> trackedDivisions = trackedDivisionRepository.findAll();
 		
 		// Then
-		assertTrue (trackedDivisions.spliterator().estimateSize() >= 2);
+		assertEquals (countBefore + 2, StreamSupport.stream(trackedDivisions.spliterator(), false).count());
 	}
 	
 	@Test
 	public void createOrUpdateShouldThrowAnException () {
 		// Given
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		
 		try {
 			// When
@@ -105,7 +117,7 @@ public class TrackedDivisionRepositoryTest {
 	@Test
 	public void findMatchingShouldReturnAMatchingPersistedObject () {
 		// Given
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		TrackedDivision trackedDivision = trackedDivisionRepository.save(newTrackedDivision);
 		
 		try {
@@ -120,7 +132,7 @@ public class TrackedDivisionRepositoryTest {
 	@Test
 	public void findOneShouldReturnAMatchingPersistedObject () {
 		// Given
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		TrackedDivision trackedDivision = trackedDivisionRepository.save(newTrackedDivision);
 		
 		// When
@@ -128,14 +140,14 @@ public class TrackedDivisionRepositoryTest {
 		
 		// Then
 		assertNotNull(trackedDivision);
-		assertEquals(DIALECT, trackedDivision.getDialect());
+		assertEquals(dialect, trackedDivision.getDialect());
 		assertEquals (SOURCE_ID1, trackedDivision.getSourceId());
 	}
 	
 	@Test
 	public void deleteShouldRemoveATrackedDivision () {
 		// Given
-		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(DIALECT, SOURCE_ID1);
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
 		TrackedDivision trackedDivision = trackedDivisionRepository.save(newTrackedDivision);
 		
 		// When
@@ -145,4 +157,68 @@ public class TrackedDivisionRepositoryTest {
 		trackedDivision = trackedDivisionRepository.findOne(newTrackedDivision);
 		assertNull(trackedDivision);
 	}
+
+	@Test
+	public void countShouldIncludeAllPersistedObjects () {
+		// Given
+		long countBefore = trackedDivisionRepository.count();
+		TrackedDivision saved1 = trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1));
+		TrackedDivision saved2 = trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID2));
+		
+		// When
+		long count = trackedDivisionRepository.count();
+		
+		// Then
+		assertTrue (trackedDivisionRepository.exists(saved1));
+		assertTrue (trackedDivisionRepository.exists(saved2));
+		assertEquals (countBefore + 2, count);
+	}
+	
+	@Test
+	public void existsShouldReturnFalseIfANonExistentObjectIsPassedIn () {
+		// When
+		boolean exists = trackedDivisionRepository.exists(domainObjectFactory.createTrackedDivision(INVALID_DIALECT, 0));
+		
+		// Then
+		assertFalse (exists);
+	}
+	
+	@Test
+	public void existsShouldReturnTrueForAPersistedObject () {
+		// Given
+		TrackedDivision newTrackedDivision = domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1);
+		trackedDivisionRepository.save(newTrackedDivision);
+		
+		// When
+		boolean exists = trackedDivisionRepository.exists(newTrackedDivision);
+		
+		// Then
+		assertTrue (exists);
+	}
+
+	@Test
+	public void findAllAfterKeyShouldPageThroughADialectInSourceIdOrderIncludingOnesSavedBetweenPages () {
+		// Given
+		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID1));
+		List<TrackedDivision> page = trackedDivisionRepository.findAll(domainObjectFactory.createTrackedDivision(dialect, Integer.MIN_VALUE), PAGE_SIZE);
+		List<Integer> pagedSourceIds = sourceIdsInDialect(page);
+
+		// When
+		trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, SOURCE_ID2));
+		while (!page.isEmpty() && dialect.equals(page.get(page.size() - 1).getDialect())) {
+			page = trackedDivisionRepository.findAll(page.get(page.size() - 1), PAGE_SIZE);
+			pagedSourceIds.addAll(sourceIdsInDialect(page));
+		}
+
+		// Then
+		assertEquals (Arrays.asList(SOURCE_ID1, SOURCE_ID2), pagedSourceIds);
+	}
+
+	private List<Integer> sourceIdsInDialect(List<TrackedDivision> trackedDivisions) {
+		List<Integer> sourceIds = new ArrayList<Integer> ();
+		for (TrackedDivision trackedDivision : trackedDivisions) {
+			if (dialect.equals(trackedDivision.getDialect())) sourceIds.add(trackedDivision.getSourceId());
+		}
+		return sourceIds;
+	}
 }
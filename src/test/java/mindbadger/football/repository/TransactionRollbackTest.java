@@ -0,0 +1,271 @@
+package mindbadger.football.repository;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.leaguetable.LeagueTableRepository;
+import mindbadger.football.schedule.DueFixtureScheduler;
+
+/**
+ * Checks that the backend's transaction manager, where it has one, undoes
+ * every kind of write, since RollbackTestExecutionListener relies on it to
+ * clear up after the repository tests.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class TransactionRollbackTest {
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1855);
+	private final String divisionName = namespace.name("Rollback Test Division Name 1");
+	private final String team1Name = namespace.name("Rollback Test Team Name 1");
+	private final String team2Name = namespace.name("Rollback Test Team Name 2");
+
+	@Autowired(required = false)
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private LeagueTableRepository leagueTableRepository;
+
+	@Autowired
+	private DueFixtureScheduler dueFixtureScheduler;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@After
+	@Before
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		Team homeTeam = teamRepository.findMatching(domainObjectFactory.createTeam(team1Name));
+		Team awayTeam = teamRepository.findMatching(domainObjectFactory.createTeam(team2Name));
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null && homeTeam != null && awayTeam != null) {
+			Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+			if (fixture != null) fixtureRepository.delete(fixture);
+		}
+
+		if (season != null) seasonRepository.delete(season);
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		if (homeTeam != null) teamRepository.delete(homeTeam);
+		if (awayTeam != null) teamRepository.delete(awayTeam);
+	}
+
+	@Test
+	public void rollbackShouldRemoveEverythingSavedInTheTransaction () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		Team homeTeam = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		Team awayTeam = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture = fixtureRepository.save(fixture);
+		assertNotNull (fixtureRepository.findOne(fixture.getFixtureId()));
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		assertNull (fixtureRepository.findOne(fixture.getFixtureId()));
+		assertNull (seasonRepository.findOne(seasonNumber));
+		assertNull (divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName)));
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(team1Name)));
+		assertFalse (teamRepository.exists(awayTeam.getTeamId()));
+	}
+
+	@Test
+	public void rollbackShouldRestoreDeletedAndUpdatedEntities () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		Team homeTeam = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		Team awayTeam = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture.setHomeGoals(1);
+		fixture.setAwayGoals(0);
+		fixture = fixtureRepository.save(fixture);
+
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Fixture update = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		update.setDivision(division);
+		update.setHomeGoals(2);
+		update.setAwayGoals(2);
+		fixtureRepository.createOrUpdate(update);
+		teamRepository.delete(awayTeam);
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		Fixture restored = fixtureRepository.findOne(fixture.getFixtureId());
+		assertEquals (new Integer(1), restored.getHomeGoals());
+		assertEquals (new Integer(0), restored.getAwayGoals());
+		assertEquals (awayTeam.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(team2Name)).getTeamId());
+	}
+
+	@Test
+	public void rollbackShouldRestoreASeasonChangedInTheTransaction () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		seasonRepository.save(season);
+
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Season changed = seasonRepository.findOne(seasonNumber);
+		changed.getSeasonDivisions().clear();
+		seasonRepository.save(changed);
+		assertTrue (seasonRepository.findOne(seasonNumber).getSeasonDivisions().isEmpty());
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		Season restored = seasonRepository.findOne(seasonNumber);
+		assertEquals (1, restored.getSeasonDivisions().size());
+		assertEquals (divisionName, restored.getSeasonDivisions().iterator().next().getDivision().getDivisionName());
+	}
+
+	@Test
+	public void anotherThreadShouldNeitherJoinNorBeRolledBackWithAnOpenTransaction () throws Exception {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		ExecutorService otherThread = Executors.newSingleThreadExecutor();
+		Future<Boolean> joined;
+		Team team;
+		try {
+			joined = otherThread.submit(() -> {
+				try {
+					TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+					boolean joinedTheOpenTransaction = !status.isNewTransaction();
+					transactionManager.rollback(status);
+					return joinedTheOpenTransaction;
+				} catch (IllegalTransactionStateException e) {
+					return false;
+				}
+			});
+			team = otherThread.submit(() -> teamRepository.save(domainObjectFactory.createTeam(team1Name))).get();
+		} finally {
+			otherThread.shutdown();
+		}
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		assertFalse (joined.get());
+		assertEquals (team.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(team1Name)).getTeamId());
+	}
+
+	@Test
+	public void rollbackShouldTakeRolledBackResultsOutOfTheLeagueTableAndDueFixtures () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		Team homeTeam = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		Team awayTeam = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+		SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(season, division, 1);
+		Calendar yesterday = Calendar.getInstance();
+		yesterday.add(Calendar.DAY_OF_MONTH, -1);
+		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture.setFixtureDate(yesterday);
+		fixture = fixtureRepository.save(fixture);
+		assertTrue (leagueTableRepository.getLeagueTable(seasonDivision).isEmpty());
+		assertTrue (dueFixtureIds().contains(fixture.getFixtureId()));
+
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Fixture result = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		result.setDivision(division);
+		result.setFixtureDate(yesterday);
+		result.setHomeGoals(2);
+		result.setAwayGoals(1);
+		fixtureRepository.createOrUpdate(result);
+		assertEquals (2, leagueTableRepository.getLeagueTable(seasonDivision).size());
+		assertFalse (dueFixtureIds().contains(fixture.getFixtureId()));
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		assertTrue (leagueTableRepository.getLeagueTable(seasonDivision).isEmpty());
+		assertTrue (dueFixtureIds().contains(fixture.getFixtureId()));
+	}
+
+	@Test
+	public void commitShouldKeepEverythingSavedInTheTransaction () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Team team = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+
+		// When
+		transactionManager.commit(transaction);
+
+		// Then
+		assertEquals (team.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(team1Name)).getTeamId());
+	}
+
+	private List<String> dueFixtureIds() {
+		List<String> fixtureIds = new ArrayList<String> ();
+		for (Fixture fixture : dueFixtureScheduler.getDueFixtures()) {
+			fixtureIds.add(fixture.getFixtureId());
+		}
+		return fixtureIds;
+	}
+}
@@ -0,0 +1,195 @@
+package mindbadger.football.repository.async;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class AsyncFixtureRepositoryTest {
+	private static final int NUMBER_OF_TEAMS = 4;
+	private static final int CONCURRENT_CALLS = 200;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1856);
+	private final String divisionName = namespace.name("Async Test Division");
+	private final List<String> teamNames = new ArrayList<String> ();
+
+	private Season season;
+	private Division division;
+	private SeasonDivision seasonDivision;
+	private final List<Team> teams = new ArrayList<Team> ();
+	private final List<Fixture> fixtures = new ArrayList<Fixture> ();
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private AsyncFixtureRepository asyncFixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	{
+		for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+			teamNames.add(namespace.name("Async Test Team " + i));
+		}
+	}
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		for (Fixture fixture : fixtures) {
+			Fixture existing = fixtureRepository.findOne(fixture.getFixtureId());
+			if (existing != null) fixtureRepository.delete(existing);
+		}
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		for (String teamName : teamNames) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamName));
+			if (team != null) teamRepository.delete(team);
+		}
+	}
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, division, 1));
+		season = seasonRepository.save(season);
+		seasonDivision = season.getSeasonDivisions().iterator().next();
+
+		for (String teamName : teamNames) {
+			teams.add(teamRepository.save(domainObjectFactory.createTeam(teamName)));
+		}
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (homeTeam == awayTeam) continue;
+				Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+				fixture.setDivision(division);
+				fixtures.add(fixtureRepository.save(fixture));
+			}
+		}
+	}
+
+	@Test
+	public void concurrentAsyncCallsShouldReturnTheSameResultsAsSynchronousCalls() {
+		// Given
+		List<CompletableFuture<Fixture>> fixtureLookups = new ArrayList<CompletableFuture<Fixture>> ();
+		List<CompletableFuture<List<Fixture>>> divisionQueries = new ArrayList<CompletableFuture<List<Fixture>>> ();
+		List<CompletableFuture<List<Fixture>>> teamQueries = new ArrayList<CompletableFuture<List<Fixture>>> ();
+
+		// When
+		for (int i = 0; i < CONCURRENT_CALLS; i++) {
+			Fixture fixture = fixtures.get(i % fixtures.size());
+			fixtureLookups.add(i % 2 == 0
+					? asyncFixtureRepository.findOneAsync(fixture.getFixtureId())
+					: asyncFixtureRepository.getExistingFixtureAsync(season, fixture.getHomeTeam(), fixture.getAwayTeam()));
+			divisionQueries.add(asyncFixtureRepository.getFixturesForDivisionInSeasonAsync(seasonDivision));
+			teamQueries.add(asyncFixtureRepository.getFixturesForTeamInDivisionInSeasonAsync(seasonDivision, teams.get(i % NUMBER_OF_TEAMS)));
+		}
+
+		// Then
+		for (int i = 0; i < CONCURRENT_CALLS; i++) {
+			assertEquals (fixtures.get(i % fixtures.size()).getFixtureId(), fixtureLookups.get(i).join().getFixtureId());
+			assertEquals (fixtureIds(fixtureRepository.getFixturesForDivisionInSeason(seasonDivision)), fixtureIds(divisionQueries.get(i).join()));
+			assertEquals (fixtureIds(fixtureRepository.getFixturesForTeamInDivisionInSeason(seasonDivision, teams.get(i % NUMBER_OF_TEAMS))),
+					fixtureIds(teamQueries.get(i).join()));
+		}
+	}
+
+	@Test
+	public void asyncCallsShouldFailFastWhenThePoolAndQueueAreFull() {
+		// Given
+		CountDownLatch release = new CountDownLatch(1);
+		FixtureRepository blockingFixtureRepository = (FixtureRepository) Proxy.newProxyInstance(
+				FixtureRepository.class.getClassLoader(), new Class<?>[] {FixtureRepository.class}, (proxy, method, args) -> {
+					release.await();
+					return method.invoke(fixtureRepository, args);
+				});
+		AsyncFixtureRepository saturatedRepository = new AsyncFixtureRepository(blockingFixtureRepository, 2, 2);
+		String fixtureId = fixtures.get(0).getFixtureId();
+
+		try {
+			// When
+			List<CompletableFuture<Fixture>> calls = new ArrayList<CompletableFuture<Fixture>> ();
+			for (int i = 0; i < 6; i++) {
+				calls.add(saturatedRepository.findOneAsync(fixtureId));
+			}
+
+			// Then
+			for (CompletableFuture<Fixture> rejected : calls.subList(4, 6)) {
+				assertTrue (rejected.isCompletedExceptionally());
+				try {
+					rejected.join();
+					fail("Expected a RejectedExecutionException");
+				} catch (CompletionException e) {
+					assertTrue (e.getCause() instanceof RejectedExecutionException);
+				}
+			}
+			for (CompletableFuture<Fixture> accepted : calls.subList(0, 4)) {
+				assertFalse (accepted.isDone());
+			}
+
+			release.countDown();
+			for (CompletableFuture<Fixture> accepted : calls.subList(0, 4)) {
+				assertEquals (fixtureId, accepted.join().getFixtureId());
+			}
+		} finally {
+			release.countDown();
+			saturatedRepository.destroy();
+		}
+	}
+
+	private Set<String> fixtureIds(List<Fixture> fixtures) {
+		Set<String> fixtureIds = new HashSet<String> ();
+		for (Fixture fixture : fixtures) {
+			fixtureIds.add(fixture.getFixtureId());
+		}
+		return fixtureIds;
+	}
+}
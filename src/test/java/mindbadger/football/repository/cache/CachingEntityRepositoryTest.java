@@ -0,0 +1,264 @@
+package mindbadger.football.repository.cache;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest(properties = "football.entity-cache.enabled=true")
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class CachingEntityRepositoryTest {
+	private static final int READER_THREADS = 4;
+	private static final int RENAMES = 200;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final String teamName1 = namespace.name("Cache Test Team 1");
+	private final String teamName2 = namespace.name("Cache Test Team 2");
+	private final String divisionName1 = namespace.name("Cache Test Division 1");
+	private final String divisionName2 = namespace.name("Cache Test Division 2");
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@Autowired(required = false)
+	private PlatformTransactionManager transactionManager;
+
+	@After
+	@Before
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		for (String teamName : new String[] {teamName1, teamName2}) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamName));
+			if (team != null) teamRepository.delete(team);
+		}
+
+		for (String divisionName : new String[] {divisionName1, divisionName2}) {
+			Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+			if (division != null) divisionRepository.delete(division);
+		}
+	}
+
+	@Test
+	public void teamAndDivisionRepositoriesShouldBeDecorated () {
+		assertTrue (teamRepository instanceof CachingTeamRepository);
+		assertTrue (divisionRepository instanceof CachingDivisionRepository);
+	}
+
+	@Test
+	public void findMatchingShouldBeServedFromTheCacheOnRepeatLookups () {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		EntityCache<Team> cache = ((CachingTeamRepository) teamRepository).getCache();
+		teamRepository.findMatching(domainObjectFactory.createTeam(teamName1));
+		long hitsBefore = cache.getHitCount();
+		
+		// When
+		Team matching = teamRepository.findMatching(domainObjectFactory.createTeam(teamName1));
+		Team found = teamRepository.findOne(team.getTeamId());
+		
+		// Then
+		assertEquals (hitsBefore + 2, cache.getHitCount());
+		assertEquals (team.getTeamId(), matching.getTeamId());
+		assertEquals (teamName1, found.getTeamName());
+	}
+
+	@Test
+	public void changingATeamServedFromTheCacheShouldNotChangeTheCachedTeam () {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		teamRepository.findOne(team.getTeamId());
+		Team served = teamRepository.findMatching(domainObjectFactory.createTeam(teamName1));
+
+		// When
+		served.setTeamName(teamName2);
+
+		// Then
+		assertEquals (teamName1, teamRepository.findOne(team.getTeamId()).getTeamName());
+		assertEquals (team.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)).getTeamId());
+		assertNotSame (teamRepository.findOne(team.getTeamId()), teamRepository.findOne(team.getTeamId()));
+	}
+
+	@Test
+	public void renamingATeamShouldMoveItToItsNewNameInTheCache () {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		assertNotNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)));
+		
+		// When
+		team.setTeamName(teamName2);
+		teamRepository.save(team);
+		
+		// Then
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)));
+		assertEquals (team.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(teamName2)).getTeamId());
+		assertEquals (teamName2, teamRepository.findOne(team.getTeamId()).getTeamName());
+	}
+
+	@Test
+	public void aTeamCachedWhileARenameIsUncommittedShouldBeDroppedWhenItCommits () {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		EntityCache<Team> cache = ((CachingTeamRepository) teamRepository).getCache();
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Team renamed = domainObjectFactory.createTeam(teamName2);
+		renamed.setTeamId(team.getTeamId());
+		teamRepository.save(renamed);
+		assertEquals (teamName2, teamRepository.findOne(team.getTeamId()).getTeamName());
+
+		// When
+		cache.put(cache.getGeneration(), team);
+		transactionManager.commit(transaction);
+
+		// Then
+		assertEquals (teamName2, teamRepository.findOne(team.getTeamId()).getTeamName());
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)));
+	}
+
+	@Test
+	public void aRenameRolledBackShouldNotStayCached () throws Exception {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Team renamed = domainObjectFactory.createTeam(teamName2);
+		renamed.setTeamId(team.getTeamId());
+		teamRepository.save(renamed);
+		ExecutorService otherThread = Executors.newSingleThreadExecutor();
+		try {
+			otherThread.submit(() -> teamRepository.findOne(team.getTeamId())).get();
+			otherThread.submit(() -> teamRepository.findMatching(domainObjectFactory.createTeam(teamName2))).get();
+		} finally {
+			otherThread.shutdown();
+		}
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		Team stored = teamRepository.findOne(team.getTeamId());
+		if (stored != null) assertEquals (teamName1, stored.getTeamName());
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName2)));
+	}
+
+	@Test
+	public void renamingADivisionShouldMoveItToItsNewNameInTheCache () {
+		// Given
+		Division division = divisionRepository.save(domainObjectFactory.createDivision(divisionName1));
+		assertNotNull (divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName1)));
+		
+		// When
+		division.setDivisionName(divisionName2);
+		divisionRepository.save(division);
+		
+		// Then
+		assertNull (divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName1)));
+		assertEquals (division.getDivisionId(), divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName2)).getDivisionId());
+		assertEquals (divisionName2, divisionRepository.findOne(division.getDivisionId()).getDivisionName());
+	}
+
+	@Test
+	public void deleteShouldRemoveACachedTeam () {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		assertNotNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)));
+		assertNotNull (teamRepository.findOne(team.getTeamId()));
+		
+		// When
+		teamRepository.delete(team);
+		
+		// Then
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(teamName1)));
+		assertNull (teamRepository.findOne(team.getTeamId()));
+		assertFalse (teamRepository.exists(team.getTeamId()));
+	}
+
+	@Test
+	public void recreatingADeletedDivisionWithTheSameNameShouldFindTheNewDivision () {
+		// Given
+		Division deleted = divisionRepository.save(domainObjectFactory.createDivision(divisionName1));
+		assertNotNull (divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName1)));
+		divisionRepository.delete(deleted);
+		
+		// When
+		Division recreated = divisionRepository.save(domainObjectFactory.createDivision(divisionName1));
+		
+		// Then
+		assertNotEquals (deleted.getDivisionId(), recreated.getDivisionId());
+		assertEquals (recreated.getDivisionId(), divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName1)).getDivisionId());
+		assertNull (divisionRepository.findOne(deleted.getDivisionId()));
+	}
+
+	@Test
+	public void concurrentReadsShouldNotLeaveAStaleTeamCachedAfterRenames () throws Exception {
+		// Given
+		Team team = teamRepository.save(domainObjectFactory.createTeam(teamName1));
+		AtomicBoolean renaming = new AtomicBoolean(true);
+		ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS);
+		List<Future<?>> results = new ArrayList<Future<?>> ();
+		for (int i = 0; i < READER_THREADS; i++) {
+			results.add(readers.submit(() -> {
+				while (renaming.get()) {
+					teamRepository.findMatching(domainObjectFactory.createTeam(teamName1));
+					teamRepository.findMatching(domainObjectFactory.createTeam(teamName2));
+					teamRepository.findOne(team.getTeamId());
+				}
+			}));
+		}
+
+		// When
+		try {
+			for (int i = 0; i < RENAMES; i++) {
+				Team renamed = teamRepository.findOne(team.getTeamId());
+				renamed.setTeamName(i % 2 == 0 ? teamName2 : teamName1);
+				teamRepository.save(renamed);
+			}
+		} finally {
+			renaming.set(false);
+			for (Future<?> result : results) {
+				result.get();
+			}
+			readers.shutdown();
+		}
+
+		// Then
+		String finalName = RENAMES % 2 == 0 ? teamName1 : teamName2;
+		String formerName = RENAMES % 2 == 0 ? teamName2 : teamName1;
+		assertEquals (finalName, teamRepository.findOne(team.getTeamId()).getTeamName());
+		assertEquals (team.getTeamId(), teamRepository.findMatching(domainObjectFactory.createTeam(finalName)).getTeamId());
+		assertNull (teamRepository.findMatching(domainObjectFactory.createTeam(formerName)));
+	}
+}
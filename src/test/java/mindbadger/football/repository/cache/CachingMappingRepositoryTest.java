@@ -0,0 +1,187 @@
+package mindbadger.football.repository.cache;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest(properties = "football.mapping-cache.enabled=true")
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class CachingMappingRepositoryTest {
+	private static final Integer SOURCE_ID1 = 10;
+	private static final Integer FRA_ID1 = 20;
+	private static final Integer FRA_ID2 = 21;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final String dialect = namespace.name("mycachedialect");
+
+	@Autowired
+	private TeamMappingRepository teamMappingRepository;
+
+	@Autowired
+	private DivisionMappingRepository divisionMappingRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@Autowired(required = false)
+	private PlatformTransactionManager transactionManager;
+
+	@After
+	@Before
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		TeamMapping teamMapping = teamMappingRepository.findOne(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		if (teamMapping != null) teamMappingRepository.delete(teamMapping);
+
+		DivisionMapping divisionMapping = divisionMappingRepository.findOne(domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1));
+		if (divisionMapping != null) divisionMappingRepository.delete(divisionMapping);
+	}
+
+	@Test
+	public void mappingRepositoriesShouldBeDecorated () {
+		assertTrue (teamMappingRepository instanceof CachingTeamMappingRepository);
+		assertTrue (divisionMappingRepository instanceof CachingDivisionMappingRepository);
+	}
+
+	@Test
+	public void findOneShouldBeServedFromTheCacheOnRepeatLookups () {
+		// Given
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
+		teamMappingRepository.save(newTeamMapping);
+		LookupCache<MappingKey, TeamMapping> cache = ((CachingTeamMappingRepository) teamMappingRepository).getCache();
+		teamMappingRepository.findOne(newTeamMapping);
+		long hitsBefore = cache.getHitCount();
+		
+		// When
+		TeamMapping teamMapping = teamMappingRepository.findOne(newTeamMapping);
+		
+		// Then
+		assertEquals (hitsBefore + 1, cache.getHitCount());
+		assertEquals (FRA_ID1, teamMapping.getFraId());
+	}
+
+	@Test
+	public void deleteShouldRemoveACachedTeamMapping () {
+		// Given
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
+		TeamMapping teamMapping = teamMappingRepository.save(newTeamMapping);
+		assertNotNull (teamMappingRepository.findOne(newTeamMapping));
+		
+		// When
+		teamMappingRepository.delete(teamMapping);
+		
+		// Then
+		teamMapping = teamMappingRepository.findOne(newTeamMapping);
+		assertNull(teamMapping);
+	}
+
+	@Test
+	public void deleteShouldRemoveACachedDivisionMapping () {
+		// Given
+		DivisionMapping newDivisionMapping = domainObjectFactory.createDivisionMapping(dialect, SOURCE_ID1, FRA_ID1);
+		DivisionMapping divisionMapping = divisionMappingRepository.save(newDivisionMapping);
+		assertNotNull (divisionMappingRepository.findOne(newDivisionMapping));
+		
+		// When
+		divisionMappingRepository.delete(divisionMapping);
+		
+		// Then
+		divisionMapping = divisionMappingRepository.findOne(newDivisionMapping);
+		assertNull(divisionMapping);
+	}
+
+	@Test
+	public void saveShouldReplaceACachedTeamMapping () {
+		// Given
+		TeamMapping teamMapping = teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		assertEquals (FRA_ID1, teamMappingRepository.findOne(teamMapping).getFraId());
+		teamMappingRepository.delete(teamMapping);
+		
+		// When
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID2));
+		
+		// Then
+		teamMapping = teamMappingRepository.findOne(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID2));
+		assertEquals (FRA_ID2, teamMapping.getFraId());
+	}
+
+	@Test
+	public void changingACachedTeamMappingWithoutSavingItShouldNotChangeTheCache () {
+		// Given
+		TeamMapping newTeamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1);
+		teamMappingRepository.save(newTeamMapping);
+		teamMappingRepository.findOne(newTeamMapping);
+		
+		// When
+		teamMappingRepository.findOne(newTeamMapping).setFraId(FRA_ID2);
+		
+		// Then
+		assertEquals (FRA_ID1, teamMappingRepository.findOne(newTeamMapping).getFraId());
+	}
+
+	@Test
+	public void aTeamMappingCachedWhileASaveIsUncommittedShouldBeDroppedWhenItCommits () throws Exception {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		TeamMapping teamMapping = teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		teamMappingRepository.delete(teamMapping);
+		teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID2));
+		assertEquals (FRA_ID2, teamMappingRepository.findOne(teamMapping).getFraId());
+		cacheOnAnotherThread(teamMapping);
+
+		// When
+		transactionManager.commit(transaction);
+
+		// Then
+		assertEquals (FRA_ID2, teamMappingRepository.findOne(teamMapping).getFraId());
+	}
+
+	@Test
+	public void aTeamMappingSavedInATransactionThatRolledBackShouldNotStayCached () throws Exception {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		TeamMapping teamMapping = teamMappingRepository.save(domainObjectFactory.createTeamMapping(dialect, SOURCE_ID1, FRA_ID1));
+		cacheOnAnotherThread(teamMapping);
+
+		// When
+		transactionManager.rollback(transaction);
+
+		// Then
+		assertNull (teamMappingRepository.findOne(teamMapping));
+	}
+
+	private void cacheOnAnotherThread(TeamMapping teamMapping) throws Exception {
+		ExecutorService otherThread = Executors.newSingleThreadExecutor();
+		try {
+			otherThread.submit(() -> teamMappingRepository.findOne(teamMapping)).get();
+		} finally {
+			otherThread.shutdown();
+		}
+	}
+}
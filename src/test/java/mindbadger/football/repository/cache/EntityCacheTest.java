@@ -0,0 +1,54 @@
+package mindbadger.football.repository.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class EntityCacheTest {
+	private final EntityCache<String[]> cache = new EntityCache<String[]>(10, 1, TimeUnit.HOURS, entity -> entity[0], entity -> entity[1]);
+
+	@Test
+	public void putShouldIndexAnEntityByIdAndByName () {
+		// Given
+		String[] entity = {"1", "Arsenal"};
+		
+		// When
+		cache.put(cache.getGeneration(), entity);
+		
+		// Then
+		assertSame (entity, cache.getById("1"));
+		assertSame (entity, cache.getByName("Arsenal"));
+	}
+
+	@Test
+	public void getByNameShouldMissOnceTheEntityHasBeenRenamed () {
+		// Given
+		String[] entity = {"1", "Woolwich Arsenal"};
+		cache.put(cache.getGeneration(), entity);
+		cache.invalidate(entity);
+		
+		// When
+		cache.put(cache.getGeneration(), new String[] {"1", "Arsenal"});
+		
+		// Then
+		assertNull (cache.getByName("Woolwich Arsenal"));
+		assertEquals ("Arsenal", cache.getByName("Arsenal")[1]);
+	}
+
+	@Test
+	public void putShouldNotCacheAnEntityLoadedBeforeAnInvalidation () {
+		// Given
+		String[] stale = {"1", "Arsenal"};
+		long generation = cache.getGeneration();
+		cache.invalidate(stale);
+		
+		// When
+		cache.put(generation, stale);
+		
+		// Then
+		assertNull (cache.getById("1"));
+		assertNull (cache.getByName("Arsenal"));
+	}
+}
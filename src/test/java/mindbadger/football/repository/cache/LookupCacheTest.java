@@ -0,0 +1,90 @@
+package mindbadger.football.repository.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class LookupCacheTest {
+	private static final long TIME_TO_LIVE = 100;
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final LookupCache<String, String> cache = new LookupCache<String, String>(2, TIME_TO_LIVE, now::get);
+
+	@Test
+	public void getShouldCountHitsAndMisses () {
+		// Given
+		cache.put("a", "A");
+		
+		// When
+		String hit = cache.get("a");
+		String miss = cache.get("b");
+		
+		// Then
+		assertEquals ("A", hit);
+		assertNull (miss);
+		assertEquals (1, cache.getHitCount());
+		assertEquals (1, cache.getMissCount());
+	}
+
+	@Test
+	public void putShouldEvictTheLeastRecentlyUsedEntryWhenFull () {
+		// Given
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.get("a");
+		
+		// When
+		cache.put("c", "C");
+		
+		// Then
+		assertEquals (1, cache.getEvictionCount());
+		assertEquals ("A", cache.get("a"));
+		assertNull (cache.get("b"));
+		assertEquals ("C", cache.get("c"));
+	}
+
+	@Test
+	public void getShouldExpireEntriesAfterTheirTimeToLive () {
+		// Given
+		cache.put("a", "A");
+		now.addAndGet(TIME_TO_LIVE);
+		
+		// When
+		String value = cache.get("a");
+		
+		// Then
+		assertNull (value);
+		assertEquals (1, cache.getEvictionCount());
+		assertEquals (0, cache.size());
+	}
+
+	@Test
+	public void invalidateShouldRemoveAnEntry () {
+		// Given
+		cache.put("a", "A");
+		
+		// When
+		cache.invalidate("a");
+		
+		// Then
+		assertNull (cache.get("a"));
+	}
+
+	@Test
+	public void putShouldNotCacheAValueLoadedBeforeAnInvalidation () {
+		// Given
+		long generation = cache.getGeneration();
+		cache.invalidate("a");
+		
+		// When
+		cache.put(generation, "a", "stale A");
+		
+		// Then
+		assertNull (cache.get("a"));
+		cache.put(cache.getGeneration(), "a", "A");
+		assertEquals ("A", cache.get("a"));
+	}
+}
@@ -0,0 +1,114 @@
+package mindbadger.football.repository.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+public class StatementCountingDataSourceTest {
+
+	@Test
+	public void closeShouldCloseTheWrappedPool () throws Exception {
+		// Given
+		PooledDataSource pool = new PooledDataSource();
+		DataSource dataSource = StatementCountingDataSource.wrap(pool, new StatementCounter());
+
+		// When
+		((AutoCloseable) dataSource).close();
+
+		// Then
+		assertTrue (pool.closed);
+	}
+
+	@Test
+	public void closingTheContextShouldCloseTheWrappedPool () {
+		// Given
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context, "football.statement-count.enabled=true");
+		context.register(PooledDataSourceConfiguration.class, StatementCountingConfiguration.class);
+		context.refresh();
+		PooledDataSource pool = context.getBean(PooledDataSourceConfiguration.class).pool;
+		assertTrue (context.getBean(DataSource.class) instanceof AutoCloseable);
+
+		// When
+		context.close();
+
+		// Then
+		assertTrue (pool.closed);
+	}
+
+	@Configuration
+	static class PooledDataSourceConfiguration {
+		final PooledDataSource pool = new PooledDataSource();
+
+		@Bean
+		public DataSource dataSource() {
+			return pool;
+		}
+	}
+
+	/**
+	 * A DataSource with a close method but no Closeable interface, as some pools are.
+	 */
+	public static class PooledDataSource implements DataSource {
+		boolean closed;
+
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			throw new SQLException("No connections in this test");
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			throw new SQLException("No connections in this test");
+		}
+
+		@Override
+		public PrintWriter getLogWriter() {
+			return null;
+		}
+
+		@Override
+		public void setLogWriter(PrintWriter out) {
+		}
+
+		@Override
+		public void setLoginTimeout(int seconds) {
+		}
+
+		@Override
+		public int getLoginTimeout() {
+			return 0;
+		}
+
+		@Override
+		public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> iface) throws SQLException {
+			throw new SQLException("Not a wrapper");
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> iface) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package mindbadger.football.repository.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	@Test
+	public void percentilesShouldBeZeroWhenNothingIsRecorded () {
+		assertEquals (0, histogram.getCount());
+		assertEquals (0, histogram.getPercentile(0.99));
+	}
+
+	@Test
+	public void percentilesShouldBeWithinTheBucketPrecision () {
+		// Given
+		for (long micros = 1; micros <= 1000; micros++) {
+			histogram.record(micros * 1000);
+		}
+
+		// When
+		long p50 = histogram.getPercentile(0.50);
+		long p95 = histogram.getPercentile(0.95);
+		long p99 = histogram.getPercentile(0.99);
+
+		// Then
+		assertEquals (1000, histogram.getCount());
+		assertEquals (500000, p50, 500000 / 16);
+		assertEquals (950000, p95, 950000 / 16);
+		assertEquals (990000, p99, 990000 / 16);
+		assertEquals (1000000, histogram.getMax());
+	}
+
+	@Test
+	public void percentilesShouldNeverExceedTheMaximum () {
+		// Given
+		histogram.record(1000001);
+
+		// Then
+		assertEquals (1000001, histogram.getPercentile(0.5));
+		assertEquals (1000001, histogram.getPercentile(1.0));
+	}
+
+	@Test
+	public void everyValueShouldFallWithinItsBucketBounds () {
+		for (long value : new long[] {0, 1, 15, 16, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE}) {
+			int bucket = LatencyHistogram.bucketOf(value);
+			assertTrue (value <= LatencyHistogram.upperBoundOf(bucket));
+			assertTrue (bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+		}
+	}
+}
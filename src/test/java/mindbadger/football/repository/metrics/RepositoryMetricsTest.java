@@ -0,0 +1,126 @@
+package mindbadger.football.repository.metrics;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class RepositoryMetricsTest {
+	private static final Integer SOURCE_ID = 1;
+	private static final Integer FRA_ID = 2;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1854);
+	private final String dialect = namespace.name("mymetricsdialect");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Autowired
+	private RepositoryMetrics repositoryMetrics;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private TeamMappingRepository teamMappingRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@After
+	@Before
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+	}
+
+	@Test
+	public void callsShouldBeCountedAndTimedPerRepositoryMethod () {
+		// Given
+		long callsBefore = callCount("SeasonRepository.save");
+
+		// When
+		seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+
+		// Then
+		MethodMetrics metrics = repositoryMetrics.get("SeasonRepository.save");
+		assertEquals (callsBefore + 1, metrics.getCallCount());
+		assertTrue (metrics.getLatencies().getMax() > 0);
+	}
+
+	@Test
+	public void failedCallsShouldBeCountedAsErrors () {
+		// Given
+		long errorsBefore = repositoryMetrics.get("TeamMappingRepository.findMatching") == null
+				? 0 : repositoryMetrics.get("TeamMappingRepository.findMatching").getErrorCount();
+		TeamMapping teamMapping = domainObjectFactory.createTeamMapping(dialect, SOURCE_ID, FRA_ID);
+
+		// When
+		try {
+			teamMappingRepository.findMatching(teamMapping);
+			fail ("Should have thrown an exception here");
+		} catch (RuntimeException e) {
+			// expected, the mapping repositories do not implement findMatching
+		}
+
+		// Then
+		assertEquals (errorsBefore + 1, repositoryMetrics.get("TeamMappingRepository.findMatching").getErrorCount());
+	}
+
+	@Test
+	public void theReportShouldListEveryCalledMethod () throws Exception {
+		// Given
+		RepositoryMetrics metrics = new RepositoryMetrics("test", temporaryFolder.getRoot());
+		metrics.record("SeasonRepository.findOne", 2000000, false);
+		metrics.record("SeasonRepository.findOne", 4000000, true);
+
+		// When
+		metrics.writeReport();
+
+		// Then
+		File[] reports = temporaryFolder.getRoot().listFiles();
+		assertEquals (1, reports.length);
+		assertTrue (reports[0].getName().startsWith("test-"));
+		JSONObject report = new JSONObject(new String(Files.readAllBytes(reports[0].toPath()), StandardCharsets.UTF_8));
+		assertEquals ("test", report.getString("backend"));
+		JSONArray methods = report.getJSONArray("methods");
+		assertEquals (1, methods.length());
+		JSONObject method = methods.getJSONObject(0);
+		assertEquals ("SeasonRepository.findOne", method.getString("method"));
+		assertEquals (2, method.getLong("calls"));
+		assertEquals (1, method.getLong("errors"));
+		assertEquals (4.0, method.getDouble("maxMillis"), 0.0);
+		assertEquals (4.0, method.getDouble("p99Millis"), 0.0);
+	}
+
+	private long callCount(String method) {
+		MethodMetrics metrics = repositoryMetrics.get(method);
+		return metrics == null ? 0 : metrics.getCallCount();
+	}
+}
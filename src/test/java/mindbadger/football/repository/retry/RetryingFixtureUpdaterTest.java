@@ -0,0 +1,148 @@
+package mindbadger.football.repository.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class RetryingFixtureUpdaterTest {
+	private static final Logger logger = LoggerFactory.getLogger(RetryingFixtureUpdaterTest.class);
+	private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+	private static final int UPDATES_PER_THREAD = 20;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1853);
+	private final String team1Name = namespace.name("Retry Test Team Name 1");
+	private final String team2Name = namespace.name("Retry Test Team Name 2");
+
+	private Season season;
+	private Team homeTeam;
+	private Team awayTeam;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@Autowired
+	private RetryingFixtureUpdater retryingFixtureUpdater;
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		Fixture fixture = fixtureRepository.findMatching(domainObjectFactory.createFixture(season, homeTeam, awayTeam));
+		if (fixture != null) fixtureRepository.delete(fixture);
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+
+		Team team1 = teamRepository.findMatching(domainObjectFactory.createTeam(team1Name));
+		if (team1 != null) teamRepository.delete(team1);
+
+		Team team2 = teamRepository.findMatching(domainObjectFactory.createTeam(team2Name));
+		if (team2 != null) teamRepository.delete(team2);
+	}
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		homeTeam = teamRepository.save(domainObjectFactory.createTeam(team1Name));
+		awayTeam = teamRepository.save(domainObjectFactory.createTeam(team2Name));
+	}
+
+	@Test
+	public void updateShouldReturnNullIfThereIsNoSuchFixture () {
+		// When
+		Fixture fixture = retryingFixtureUpdater.update(season, homeTeam, awayTeam, f -> f.setHomeGoals(1));
+
+		// Then
+		assertNull (fixture);
+	}
+
+	@Test
+	public void concurrentUpdatesToTheSameFixtureShouldNotBeLost () throws Exception {
+		// Given
+		fixtureRepository.save(domainObjectFactory.createFixture(season, homeTeam, awayTeam));
+
+		for (int threads : THREAD_COUNTS) {
+			retryingFixtureUpdater.update(season, homeTeam, awayTeam, fixture -> {
+				fixture.setHomeGoals(0);
+				fixture.setAwayGoals(0);
+			});
+
+			// When
+			long elapsedNanos = incrementHomeGoalsConcurrently(threads);
+
+			// Then
+			Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+			assertEquals (Integer.valueOf(threads * UPDATES_PER_THREAD), fixture.getHomeGoals());
+			logger.info("{} threads: {} updates/s", threads, (long) (threads * UPDATES_PER_THREAD * 1e9 / elapsedNanos));
+		}
+	}
+
+	private long incrementHomeGoalsConcurrently(int threads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			List<Future<Void>> results = new ArrayList<Future<Void>> ();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(new Callable<Void> () {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+							retryingFixtureUpdater.update(season, homeTeam, awayTeam,
+									fixture -> fixture.setHomeGoals(fixture.getHomeGoals() + 1));
+						}
+						return null;
+					}
+				}));
+			}
+
+			long startNanos = System.nanoTime();
+			start.countDown();
+			for (Future<Void> result : results) {
+				result.get();
+			}
+			return System.nanoTime() - startNanos;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
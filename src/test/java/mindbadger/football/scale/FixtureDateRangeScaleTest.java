@@ -0,0 +1,144 @@
+package mindbadger.football.scale;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+/**
+ * Checks that getFixturesBetween seeks to its date range rather than reading
+ * the fixtures outside it, by timing the same query before and after about
+ * 10,000 fixtures are added outside the range. It is a wall-clock check that
+ * writes all of those fixtures, so only the scale Maven profile runs it.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class FixtureDateRangeScaleTest {
+	private static final Logger logger = LoggerFactory.getLogger(FixtureDateRangeScaleTest.class);
+	private static final int YEAR = 1852;
+	private static final int TEAMS_OUTSIDE_THE_RANGE = 100;
+	private static final long MAX_EXTRA_RANGE_QUERY_NANOS = 200000L;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(YEAR);
+
+	private Season season;
+	private final List<Team> teams = new ArrayList<Team> ();
+	private final List<Fixture> fixtures = new ArrayList<Fixture> ();
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+	}
+
+	@After
+	public void deleteTestData() {
+		for (Fixture fixture : fixtures) {
+			fixtureRepository.delete(fixture);
+		}
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+	}
+
+	@Test
+	public void getFixturesBetweenShouldNotSlowDownAsFixturesOutsideTheRangeGrow () {
+		// Given
+		Calendar from = date(YEAR, Calendar.AUGUST, 1);
+		Calendar to = date(YEAR, Calendar.SEPTEMBER, 1);
+
+		Fixture fixture1 = domainObjectFactory.createFixture(season, team("Range Team Home"), team("Range Team Away"));
+		fixture1.setFixtureDate(date(YEAR, Calendar.AUGUST, 10));
+		fixtures.add(fixtureRepository.save(fixture1));
+		long fewFixturesNanos = medianQueryNanos(from, to);
+
+		List<Team> outsideRangeTeams = new ArrayList<Team> ();
+		for (int i = 1; i <= TEAMS_OUTSIDE_THE_RANGE; i++) {
+			outsideRangeTeams.add(team("Outside Range Team " + i));
+		}
+		List<Fixture> outsideRange = new ArrayList<Fixture> ();
+		for (Team homeTeam : outsideRangeTeams) {
+			for (Team awayTeam : outsideRangeTeams) {
+				if (homeTeam.equals(awayTeam)) continue;
+
+				Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+				fixture.setFixtureDate(date(YEAR, Calendar.DECEMBER, 1));
+				outsideRange.add(fixture);
+			}
+		}
+		fixtureRepository.saveAll(outsideRange).forEach(fixtures::add);
+
+		// When
+		long manyFixturesNanos = medianQueryNanos(from, to);
+
+		// Then
+		logger.info("getFixturesBetween: {}us with 1 fixture, {}us with {} fixtures", fewFixturesNanos / 1000, manyFixturesNanos / 1000, outsideRange.size() + 1);
+		// Reading the ~10,000 fixtures outside the range, rather than seeking to it, takes well over the slack allowed here
+		assertTrue (manyFixturesNanos <= fewFixturesNanos * 3 + MAX_EXTRA_RANGE_QUERY_NANOS);
+	}
+
+	private Team team (String name) {
+		Team team = teamRepository.save(domainObjectFactory.createTeam(namespace.name("Fixture Date Range " + name)));
+		teams.add(team);
+		return team;
+	}
+
+	private long medianQueryNanos (Calendar from, Calendar to) {
+		for (int i = 0; i < 100; i++) {
+			fixtureRepository.getFixturesBetween(from, to, null, 10);
+		}
+		long[] timings = new long[51];
+		for (int i = 0; i < timings.length; i++) {
+			long start = System.nanoTime();
+			fixtureRepository.getFixturesBetween(from, to, null, 10);
+			timings[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(timings);
+		return timings[timings.length / 2];
+	}
+
+	private static Calendar date (int year, int month, int day) {
+		Calendar date = Calendar.getInstance();
+		date.clear();
+		date.set(year, month, day);
+		return date;
+	}
+}
@@ -0,0 +1,220 @@
+package mindbadger.football.scale;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.domain.TrackedDivision;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TrackedDivisionRepository;
+
+/**
+ * Builds a production-sized dataset through DomainObjectFactory and the
+ * repositories: a number of consecutive seasons, each with the same divisions
+ * and every team playing every other team in its division home and away. The
+ * same seed and reference date always give the same data. Teams are dealt
+ * into divisions afresh each season, so team histories span divisions.
+ * <p>
+ * The last season straddles the reference date: fixtures before it have
+ * results, apart from one postponed fixture per division, and fixtures after
+ * it are unplayed. The first fixture of each division in the last season has
+ * no date yet. Every team and division also gets a mapping in the dataset's
+ * dialect, and every division is tracked.
+ */
+public class ScaleDataset {
+	private static final int DAYS_PER_SEASON = 280;
+	private static final int SEASON_STARTS_DAYS_BEFORE_REFERENCE_DATE = DAYS_PER_SEASON / 2;
+
+	private final SeasonRepository seasonRepository;
+	private final DivisionRepository divisionRepository;
+	private final TeamRepository teamRepository;
+	private final FixtureRepository fixtureRepository;
+	private final TeamMappingRepository teamMappingRepository;
+	private final DivisionMappingRepository divisionMappingRepository;
+	private final TrackedDivisionRepository trackedDivisionRepository;
+	private final DomainObjectFactory domainObjectFactory;
+
+	private final List<Season> seasons = new ArrayList<Season> ();
+	private final List<Division> divisions = new ArrayList<Division> ();
+	private final List<Team> teams = new ArrayList<Team> ();
+	private final List<TeamMapping> teamMappings = new ArrayList<TeamMapping> ();
+	private final List<DivisionMapping> divisionMappings = new ArrayList<DivisionMapping> ();
+	private final List<TrackedDivision> trackedDivisions = new ArrayList<TrackedDivision> ();
+	private long fixtureCount;
+
+	public ScaleDataset(SeasonRepository seasonRepository, DivisionRepository divisionRepository, TeamRepository teamRepository,
+			FixtureRepository fixtureRepository, TeamMappingRepository teamMappingRepository,
+			DivisionMappingRepository divisionMappingRepository, TrackedDivisionRepository trackedDivisionRepository,
+			DomainObjectFactory domainObjectFactory) {
+		this.seasonRepository = seasonRepository;
+		this.divisionRepository = divisionRepository;
+		this.teamRepository = teamRepository;
+		this.fixtureRepository = fixtureRepository;
+		this.teamMappingRepository = teamMappingRepository;
+		this.divisionMappingRepository = divisionMappingRepository;
+		this.trackedDivisionRepository = trackedDivisionRepository;
+		this.domainObjectFactory = domainObjectFactory;
+	}
+
+	/**
+	 * Persists the dataset. Names and the dialect start with namePrefix and
+	 * season numbers run up from firstSeasonNumber, so that the data can be
+	 * told apart from anything else in the store.
+	 */
+	public void generate(ScaleDatasetSize size, String namePrefix, int firstSeasonNumber, Calendar referenceDate) {
+		Random random = new Random(size.getSeed());
+		String dialect = namePrefix + "dialect";
+
+		for (int i = 0; i < size.getDivisions(); i++) {
+			Division division = divisionRepository.save(domainObjectFactory.createDivision(namePrefix + "Division " + i));
+			divisions.add(division);
+			divisionMappings.add(divisionMappingRepository.save(
+					domainObjectFactory.createDivisionMapping(dialect, i, Integer.valueOf(division.getDivisionId()))));
+			trackedDivisions.add(trackedDivisionRepository.save(domainObjectFactory.createTrackedDivision(dialect, i)));
+		}
+
+		for (int i = 0; i < size.getDivisions() * size.getTeamsPerDivision(); i++) {
+			Team team = teamRepository.save(domainObjectFactory.createTeam(namePrefix + "Team " + i));
+			teams.add(team);
+			teamMappings.add(teamMappingRepository.save(
+					domainObjectFactory.createTeamMapping(dialect, i, Integer.valueOf(team.getTeamId()))));
+		}
+
+		for (int s = 0; s < size.getSeasons(); s++) {
+			Calendar seasonStart = (Calendar) referenceDate.clone();
+			seasonStart.add(Calendar.DAY_OF_MONTH, -SEASON_STARTS_DAYS_BEFORE_REFERENCE_DATE);
+			seasonStart.add(Calendar.YEAR, s - (size.getSeasons() - 1));
+			boolean lastSeason = s == size.getSeasons() - 1;
+			seasons.add(generateSeason(firstSeasonNumber + s, seasonStart, lastSeason, referenceDate, size, random));
+		}
+	}
+
+	private Season generateSeason(int seasonNumber, Calendar seasonStart, boolean lastSeason, Calendar referenceDate,
+			ScaleDatasetSize size, Random random) {
+		Season season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		for (int d = 0; d < divisions.size(); d++) {
+			season.getSeasonDivisions().add(domainObjectFactory.createSeasonDivision(season, divisions.get(d), d + 1));
+		}
+		season = seasonRepository.save(season);
+
+		List<Team> dealtTeams = new ArrayList<Team> (teams);
+		Collections.shuffle(dealtTeams, random);
+		for (SeasonDivision seasonDivision : season.getSeasonDivisions()) {
+			int position = seasonDivision.getDivisionPosition() - 1;
+			List<Team> divisionTeams = dealtTeams.subList(position * size.getTeamsPerDivision(), (position + 1) * size.getTeamsPerDivision());
+			for (Team team : divisionTeams) {
+				seasonDivision.getSeasonDivisionTeams().add(domainObjectFactory.createSeasonDivisionTeam(seasonDivision, team));
+			}
+			fixtureRepository.saveAll(createFixtures(season, seasonDivision.getDivision(), divisionTeams, seasonStart,
+					lastSeason, referenceDate, random));
+		}
+		return seasonRepository.save(season);
+	}
+
+	private List<Fixture> createFixtures(Season season, Division division, List<Team> divisionTeams, Calendar seasonStart,
+			boolean lastSeason, Calendar referenceDate, Random random) {
+		List<Fixture> fixtures = new ArrayList<Fixture> ();
+		for (Team homeTeam : divisionTeams) {
+			for (Team awayTeam : divisionTeams) {
+				if (homeTeam != awayTeam) fixtures.add(domainObjectFactory.createFixture(season, homeTeam, awayTeam));
+			}
+		}
+		Collections.shuffle(fixtures, random);
+
+		boolean postponed = false;
+		for (int i = 0; i < fixtures.size(); i++) {
+			Fixture fixture = fixtures.get(i);
+			fixture.setDivision(division);
+			int homeGoals = random.nextInt(5);
+			int awayGoals = random.nextInt(4);
+			if (lastSeason && i == 0) continue;
+
+			Calendar fixtureDate = (Calendar) seasonStart.clone();
+			fixtureDate.add(Calendar.DAY_OF_MONTH, (int) ((long) i * DAYS_PER_SEASON / fixtures.size()));
+			fixture.setFixtureDate(fixtureDate);
+			if (!fixtureDate.before(referenceDate)) continue;
+			if (lastSeason && !postponed) {
+				postponed = true;
+				continue;
+			}
+			fixture.setHomeGoals(homeGoals);
+			fixture.setAwayGoals(awayGoals);
+		}
+		fixtureCount += fixtures.size();
+		return fixtures;
+	}
+
+	/**
+	 * Deletes everything generate persisted, so the store is as it was.
+	 */
+	public void delete() {
+		for (Season season : seasons) {
+			for (Division division : divisions) {
+				SeasonDivision seasonDivision = domainObjectFactory.createSeasonDivision(season, division, 1);
+				for (Fixture fixture : fixtureRepository.getFixturesForDivisionInSeason(seasonDivision)) {
+					fixtureRepository.delete(fixture);
+				}
+			}
+			Season stored = seasonRepository.findOne(season.getSeasonNumber());
+			if (stored != null) seasonRepository.delete(stored);
+		}
+		for (TeamMapping teamMapping : teamMappings) {
+			teamMappingRepository.delete(teamMapping);
+		}
+		for (DivisionMapping divisionMapping : divisionMappings) {
+			divisionMappingRepository.delete(divisionMapping);
+		}
+		for (TrackedDivision trackedDivision : trackedDivisions) {
+			trackedDivisionRepository.delete(trackedDivision);
+		}
+		for (Team team : teams) {
+			teamRepository.delete(team);
+		}
+		for (Division division : divisions) {
+			divisionRepository.delete(division);
+		}
+	}
+
+	public List<Season> getSeasons() {
+		return seasons;
+	}
+
+	public List<Division> getDivisions() {
+		return divisions;
+	}
+
+	public List<Team> getTeams() {
+		return teams;
+	}
+
+	public List<TeamMapping> getTeamMappings() {
+		return teamMappings;
+	}
+
+	public List<DivisionMapping> getDivisionMappings() {
+		return divisionMappings;
+	}
+
+	public List<TrackedDivision> getTrackedDivisions() {
+		return trackedDivisions;
+	}
+
+	public long getFixtureCount() {
+		return fixtureCount;
+	}
+}
@@ -0,0 +1,46 @@
+package mindbadger.football.scale;
+
+/**
+ * How big a ScaleDataset is. The defaults are production size, 100 seasons of
+ * four 24-team divisions; each can be overridden with a system property, e.g.
+ * -Dscale.seasons=10 for a quicker run.
+ */
+public class ScaleDatasetSize {
+	private final int seasons;
+	private final int divisions;
+	private final int teamsPerDivision;
+	private final long seed;
+
+	public ScaleDatasetSize(int seasons, int divisions, int teamsPerDivision, long seed) {
+		this.seasons = seasons;
+		this.divisions = divisions;
+		this.teamsPerDivision = teamsPerDivision;
+		this.seed = seed;
+	}
+
+	public static ScaleDatasetSize fromSystemProperties() {
+		return new ScaleDatasetSize(Integer.getInteger("scale.seasons", 100), Integer.getInteger("scale.divisions", 4),
+				Integer.getInteger("scale.teams-per-division", 24), Long.getLong("scale.seed", 1888L));
+	}
+
+	public int getSeasons() {
+		return seasons;
+	}
+
+	public int getDivisions() {
+		return divisions;
+	}
+
+	public int getTeamsPerDivision() {
+		return teamsPerDivision;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return seasons + " seasons x " + divisions + " divisions x " + teamsPerDivision + " teams (seed " + seed + ")";
+	}
+}
@@ -0,0 +1,332 @@
+package mindbadger.football.scale;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DivisionMapping;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.SeasonDivision;
+import mindbadger.football.domain.SeasonDivisionTeam;
+import mindbadger.football.domain.Team;
+import mindbadger.football.domain.TeamMapping;
+import mindbadger.football.domain.TrackedDivision;
+import mindbadger.football.leaguetable.LeagueTableRepository;
+import mindbadger.football.repository.DivisionMappingRepository;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureKey;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.FixtureSummary;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamMappingRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+import mindbadger.football.repository.TrackedDivisionRepository;
+import mindbadger.football.repository.metrics.LatencyHistogram;
+
+/**
+ * The scale tier: loads a production-sized ScaleDataset once, runs every query
+ * method against it and fails if any method's 95th percentile latency is over
+ * its budget. Budgets are in milliseconds and can be overridden per method,
+ * e.g. -Dscale.budget.FixtureRepository.findAll=20000. The dataset is built
+ * around a fixed reference date, -Dscale.reference-date (default 2017-01-01),
+ * so every run loads the same data whatever day it runs on. Only the scale
+ * Maven profile runs this class.
+ */
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class ScaleTest {
+	private static final Logger logger = LoggerFactory.getLogger(ScaleTest.class);
+
+	private static final int REPETITIONS = Integer.getInteger("scale.repetitions", 20);
+	private static final int FULL_SCAN_REPETITIONS = Integer.getInteger("scale.full-scan-repetitions", 3);
+	private static final int WARM_UP_REPETITIONS = 2;
+	private static final int PAGE_SIZE = 100;
+
+	private static final long LOOKUP_BUDGET_MILLIS = 50;
+	private static final long DIVISION_SEASON_BUDGET_MILLIS = 250;
+	private static final long DATE_RANGE_BUDGET_MILLIS = 1000;
+	private static final long FULL_SCAN_BUDGET_MILLIS = 30000;
+
+	private static final Calendar REFERENCE_DATE = GregorianCalendar.from(
+			LocalDate.parse(System.getProperty("scale.reference-date", "2017-01-01")).atStartOfDay(ZoneId.systemDefault()));
+
+	private static final TestNamespace namespace = new TestNamespace();
+	private static final ScaleDatasetSize size = ScaleDatasetSize.fromSystemProperties();
+	private static ScaleDataset dataset;
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private TeamMappingRepository teamMappingRepository;
+
+	@Autowired
+	private DivisionMappingRepository divisionMappingRepository;
+
+	@Autowired
+	private TrackedDivisionRepository trackedDivisionRepository;
+
+	@Autowired
+	private LeagueTableRepository leagueTableRepository;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	private final List<String> overBudget = new ArrayList<String> ();
+
+	@Before
+	public void loadTheDatasetOnce() {
+		if (dataset != null) return;
+
+		long start = System.nanoTime();
+		dataset = new ScaleDataset(seasonRepository, divisionRepository, teamRepository, fixtureRepository,
+				teamMappingRepository, divisionMappingRepository, trackedDivisionRepository, domainObjectFactory);
+		dataset.generate(size, namespace.name(""), Integer.getInteger("scale.first-season", 1000), REFERENCE_DATE);
+		logger.info("Loaded " + size + ", " + dataset.getFixtureCount() + " fixtures, in "
+				+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+	}
+
+	@AfterClass
+	public static void deleteTheDataset() {
+		if (dataset != null) dataset.delete();
+		dataset = null;
+	}
+
+	@Test
+	public void datasetShouldHaveTheConfiguredShape() {
+		// Given
+		int teamsPerDivision = size.getTeamsPerDivision();
+		Season lastSeason = lastSeason();
+
+		// When
+		SeasonDivision seasonDivision = seasonRepository.getSeasonDivision(lastSeason, firstDivision());
+
+		// Then
+		assertEquals (size.getSeasons() * size.getDivisions() * teamsPerDivision * (teamsPerDivision - 1), dataset.getFixtureCount());
+		assertEquals (teamsPerDivision, seasonDivision.getSeasonDivisionTeams().size());
+		assertEquals (teamsPerDivision * (teamsPerDivision - 1), fixtureRepository.countFixturesForDivisionInSeason(seasonDivision));
+		assertEquals (teamsPerDivision, leagueTableRepository.getLeagueTable(seasonDivision).size());
+	}
+
+	@Test
+	public void seasonQueriesShouldBeWithinBudget() {
+		// Given
+		Season season = middleSeason();
+		SeasonDivision seasonDivision = seasonRepository.getSeasonDivision(season, firstDivision());
+		Team team = seasonDivision.getSeasonDivisionTeams().iterator().next().getTeam();
+
+		// When
+		measure("SeasonRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> seasonRepository.findOne(season.getSeasonNumber()));
+		measure("SeasonRepository.findMatching", LOOKUP_BUDGET_MILLIS, () -> seasonRepository.findMatching(season));
+		measure("SeasonRepository.exists", LOOKUP_BUDGET_MILLIS, () -> seasonRepository.exists(season.getSeasonNumber()));
+		measure("SeasonRepository.count", DIVISION_SEASON_BUDGET_MILLIS, () -> seasonRepository.count());
+		measureFullScan("SeasonRepository.findAll", () -> seasonRepository.findAll());
+		measure("SeasonRepository.getSeasonDivision", LOOKUP_BUDGET_MILLIS, () -> seasonRepository.getSeasonDivision(season, firstDivision()));
+		measure("SeasonRepository.getSeasonDivisionTeam", LOOKUP_BUDGET_MILLIS, () -> seasonRepository.getSeasonDivisionTeam(seasonDivision, team));
+
+		// Then
+		assertWithinBudget();
+	}
+
+	@Test
+	public void teamAndDivisionQueriesShouldBeWithinBudget() {
+		// Given
+		Team team = dataset.getTeams().get(dataset.getTeams().size() / 2);
+		Division division = firstDivision();
+
+		// When
+		measure("TeamRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> teamRepository.findOne(team.getTeamId()));
+		measure("TeamRepository.findMatching", LOOKUP_BUDGET_MILLIS, () -> teamRepository.findMatching(team));
+		measure("TeamRepository.exists", LOOKUP_BUDGET_MILLIS, () -> teamRepository.exists(team.getTeamId()));
+		measure("TeamRepository.count", DIVISION_SEASON_BUDGET_MILLIS, () -> teamRepository.count());
+		measure("TeamRepository.findAllAfterKey", LOOKUP_BUDGET_MILLIS, () -> teamRepository.findAll(team.getTeamId(), PAGE_SIZE));
+		measureFullScan("TeamRepository.findAll", () -> teamRepository.findAll());
+		measure("DivisionRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> divisionRepository.findOne(division.getDivisionId()));
+		measure("DivisionRepository.findMatching", LOOKUP_BUDGET_MILLIS, () -> divisionRepository.findMatching(division));
+		measure("DivisionRepository.exists", LOOKUP_BUDGET_MILLIS, () -> divisionRepository.exists(division.getDivisionId()));
+		measure("DivisionRepository.count", DIVISION_SEASON_BUDGET_MILLIS, () -> divisionRepository.count());
+		measureFullScan("DivisionRepository.findAll", () -> divisionRepository.findAll());
+
+		// Then
+		assertWithinBudget();
+	}
+
+	@Test
+	public void mappingQueriesShouldBeWithinBudget() {
+		// Given
+		TeamMapping teamMapping = dataset.getTeamMappings().get(dataset.getTeamMappings().size() / 2);
+		DivisionMapping divisionMapping = dataset.getDivisionMappings().get(0);
+		TrackedDivision trackedDivision = dataset.getTrackedDivisions().get(0);
+
+		// When
+		measure("TeamMappingRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> teamMappingRepository.findOne(teamMapping));
+		measureFullScan("TeamMappingRepository.findAll", () -> teamMappingRepository.findAll());
+		measure("DivisionMappingRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> divisionMappingRepository.findOne(divisionMapping));
+		measureFullScan("DivisionMappingRepository.findAll", () -> divisionMappingRepository.findAll());
+		measure("TrackedDivisionRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> trackedDivisionRepository.findOne(trackedDivision));
+		measureFullScan("TrackedDivisionRepository.findAll", () -> trackedDivisionRepository.findAll());
+
+		// Then
+		assertWithinBudget();
+	}
+
+	@Test
+	public void fixtureQueriesShouldBeWithinBudget() {
+		// Given
+		Season season = middleSeason();
+		SeasonDivision seasonDivision = seasonRepository.getSeasonDivision(season, firstDivision());
+		Iterator<SeasonDivisionTeam> seasonDivisionTeams = seasonDivision.getSeasonDivisionTeams().iterator();
+		Team homeTeam = seasonDivisionTeams.next().getTeam();
+		Team awayTeam = seasonDivisionTeams.next().getTeam();
+		Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+		List<FixtureKey> keys = new ArrayList<FixtureKey> ();
+		for (Fixture divisionFixture : fixtureRepository.getFixturesForDivisionInSeason(seasonDivision)) {
+			keys.add(FixtureKey.of(divisionFixture));
+		}
+		Calendar from = (Calendar) fixture.getFixtureDate().clone();
+		Calendar to = (Calendar) from.clone();
+		to.add(Calendar.DAY_OF_MONTH, 7);
+		Calendar referenceDate = (Calendar) REFERENCE_DATE.clone();
+		Calendar weekAfter = (Calendar) referenceDate.clone();
+		weekAfter.add(Calendar.DAY_OF_MONTH, 7);
+
+		// When
+		measure("FixtureRepository.findOne", LOOKUP_BUDGET_MILLIS, () -> fixtureRepository.findOne(fixture.getFixtureId()));
+		measure("FixtureRepository.findMatching", LOOKUP_BUDGET_MILLIS, () -> fixtureRepository.findMatching(fixture));
+		measure("FixtureRepository.exists", LOOKUP_BUDGET_MILLIS, () -> fixtureRepository.exists(fixture.getFixtureId()));
+		measure("FixtureRepository.getExistingFixture", LOOKUP_BUDGET_MILLIS, () -> fixtureRepository.getExistingFixture(season, homeTeam, awayTeam));
+		measure("FixtureRepository.getExistingFixtures", DIVISION_SEASON_BUDGET_MILLIS, () -> fixtureRepository.getExistingFixtures(keys));
+		measure("FixtureRepository.getFixturesForTeamInDivisionInSeason", DIVISION_SEASON_BUDGET_MILLIS,
+				() -> fixtureRepository.getFixturesForTeamInDivisionInSeason(seasonDivision, homeTeam));
+		measure("FixtureRepository.getFixturesForDivisionInSeason", DIVISION_SEASON_BUDGET_MILLIS,
+				() -> fixtureRepository.getFixturesForDivisionInSeason(seasonDivision));
+		measure("FixtureRepository.getFixturesByTeamForDivisionInSeason", DIVISION_SEASON_BUDGET_MILLIS,
+				() -> fixtureRepository.getFixturesByTeamForDivisionInSeason(seasonDivision));
+		measure("FixtureRepository.countFixturesForDivisionInSeason", DIVISION_SEASON_BUDGET_MILLIS,
+				() -> fixtureRepository.countFixturesForDivisionInSeason(seasonDivision));
+		measure("FixtureRepository.getFixturesWithNoFixtureDate", DATE_RANGE_BUDGET_MILLIS, () -> fixtureRepository.getFixturesWithNoFixtureDate());
+		measure("FixtureRepository.getUnplayedFixturesBeforeToday", DATE_RANGE_BUDGET_MILLIS, () -> fixtureRepository.getUnplayedFixturesBeforeToday());
+		measure("FixtureRepository.getFixturesBetween", DATE_RANGE_BUDGET_MILLIS, () -> fixtureRepository.getFixturesBetween(from, to, null, PAGE_SIZE));
+		measure("FixtureRepository.getUnplayedFixturesBetween", DATE_RANGE_BUDGET_MILLIS,
+				() -> fixtureRepository.getUnplayedFixturesBetween(referenceDate, weekAfter, null, PAGE_SIZE));
+		measure("FixtureRepository.getUnplayedFixturesOnDate", DATE_RANGE_BUDGET_MILLIS, () -> fixtureRepository.getUnplayedFixturesOnDate(weekAfter));
+		measure("FixtureRepository.count", DATE_RANGE_BUDGET_MILLIS, () -> fixtureRepository.count());
+		measure("FixtureRepository.findAllAfterKey", LOOKUP_BUDGET_MILLIS, () -> fixtureRepository.findAll(fixture.getFixtureId(), PAGE_SIZE));
+		measureFullScan("FixtureRepository.findAll", () -> fixtureRepository.findAll());
+		measureFullScan("FixtureRepository.streamAll", () -> {
+			try (Stream<Fixture> fixtures = fixtureRepository.streamAll(PAGE_SIZE)) {
+				return fixtures.count();
+			}
+		});
+		int lastSeasonNumber = lastSeason().getSeasonNumber();
+		measure("FixtureRepository.streamFixtureSummaries", DIVISION_SEASON_BUDGET_MILLIS, () -> {
+			try (Stream<FixtureSummary> summaries = fixtureRepository.streamFixtureSummaries(lastSeasonNumber - 2, lastSeasonNumber)) {
+				return summaries.count();
+			}
+		});
+
+		// Then
+		assertWithinBudget();
+	}
+
+	@Test
+	public void leagueTableQueriesShouldBeWithinBudget() {
+		// Given
+		SeasonDivision seasonDivision = seasonRepository.getSeasonDivision(lastSeason(), firstDivision());
+
+		// When
+		measure("LeagueTableRepository.getLeagueTable", LOOKUP_BUDGET_MILLIS, () -> leagueTableRepository.getLeagueTable(seasonDivision));
+
+		// Then
+		assertWithinBudget();
+	}
+
+	private void measureFullScan(String method, Supplier<?> query) {
+		measure(method, FULL_SCAN_BUDGET_MILLIS, FULL_SCAN_REPETITIONS, query);
+	}
+
+	private void measure(String method, long defaultBudgetMillis, Supplier<?> query) {
+		measure(method, defaultBudgetMillis, REPETITIONS, query);
+	}
+
+	/**
+	 * Times repetitions of query after a short warm-up, and notes the method if
+	 * its 95th percentile is over budget. Results from findAll are iterated, so
+	 * that lazily loading backends are timed doing the whole scan.
+	 */
+	private void measure(String method, long defaultBudgetMillis, int repetitions, Supplier<?> query) {
+		long budgetMillis = Long.getLong("scale.budget." + method, defaultBudgetMillis);
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < WARM_UP_REPETITIONS + repetitions; i++) {
+			long start = System.nanoTime();
+			consume(query.get());
+			if (i >= WARM_UP_REPETITIONS) histogram.record(System.nanoTime() - start);
+		}
+
+		double p95Millis = histogram.getPercentile(0.95) / 1000000.0;
+		logger.info(String.format("%s: p95 %.3fms, max %.3fms, budget %dms", method, p95Millis,
+				histogram.getMax() / 1000000.0, budgetMillis));
+		if (p95Millis > budgetMillis) {
+			overBudget.add(String.format("%s p95 %.3fms > %dms", method, p95Millis, budgetMillis));
+		}
+	}
+
+	private void consume(Object result) {
+		if (result instanceof Iterable) {
+			for (Object element : (Iterable<?>) result) {
+				assertNotNull (element);
+			}
+		}
+	}
+
+	private void assertWithinBudget() {
+		assertTrue ("Over budget: " + overBudget, overBudget.isEmpty());
+	}
+
+	private Season lastSeason() {
+		return dataset.getSeasons().get(dataset.getSeasons().size() - 1);
+	}
+
+	private Season middleSeason() {
+		return dataset.getSeasons().get(dataset.getSeasons().size() / 2);
+	}
+
+	private Division firstDivision() {
+		return dataset.getDivisions().get(0);
+	}
+}
@@ -0,0 +1,297 @@
+package mindbadger.football.schedule;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import mindbadger.TestApplication;
+import mindbadger.football.domain.Division;
+import mindbadger.football.domain.DomainObjectFactory;
+import mindbadger.football.domain.Fixture;
+import mindbadger.football.domain.Season;
+import mindbadger.football.domain.Team;
+import mindbadger.football.repository.DivisionRepository;
+import mindbadger.football.repository.FixtureRepository;
+import mindbadger.football.repository.SeasonRepository;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.TestNamespace;
+
+@SpringBootTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestApplication.class})
+public class DueFixtureSchedulerTest {
+	private static final int NUMBER_OF_TEAMS = 4;
+
+	private final TestNamespace namespace = new TestNamespace();
+	private final Integer seasonNumber = namespace.season(1857);
+	private final String divisionName = namespace.name("Due Fixture Test Division");
+	private final List<String> teamNames = new ArrayList<String> ();
+
+	private Season season;
+	private Division division;
+	private final List<Team> teams = new ArrayList<Team> ();
+
+	@Autowired
+	private SeasonRepository seasonRepository;
+
+	@Autowired
+	private DivisionRepository divisionRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private FixtureRepository fixtureRepository;
+
+	@Autowired
+	private DueFixtureScheduler dueFixtureScheduler;
+
+	@Autowired
+	private DomainObjectFactory domainObjectFactory;
+
+	@Autowired(required = false)
+	private PlatformTransactionManager transactionManager;
+
+	@After
+	public void ensureAnyRemainingTestDataIsClearedBeforeTestsRun() {
+		for (Team homeTeam : teams) {
+			for (Team awayTeam : teams) {
+				if (homeTeam.equals(awayTeam)) continue;
+				Fixture fixture = fixtureRepository.getExistingFixture(season, homeTeam, awayTeam);
+				if (fixture != null) fixtureRepository.delete(fixture);
+			}
+		}
+
+		Season season = seasonRepository.findOne(seasonNumber);
+		if (season != null) seasonRepository.delete(season);
+
+		Division division = divisionRepository.findMatching(domainObjectFactory.createDivision(divisionName));
+		if (division != null) divisionRepository.delete(division);
+
+		for (String teamName : teamNames) {
+			Team team = teamRepository.findMatching(domainObjectFactory.createTeam(teamName));
+			if (team != null) teamRepository.delete(team);
+		}
+	}
+
+	@Before
+	public void setupTestData() {
+		season = seasonRepository.save(domainObjectFactory.createSeason(seasonNumber));
+		division = divisionRepository.save(domainObjectFactory.createDivision(divisionName));
+		for (int i = 1; i <= NUMBER_OF_TEAMS; i++) {
+			teamNames.add(namespace.name("Due Fixture Test Team " + i));
+			teams.add(teamRepository.save(domainObjectFactory.createTeam(teamNames.get(i - 1))));
+		}
+	}
+
+	@Test
+	public void dueFixturesShouldBeTheUnplayedFixturesBeforeAndOnToday () {
+		// Given
+		Fixture yesterday = saveFixture(teams.get(0), teams.get(1), daysFromToday(-1));
+		Fixture today = saveFixture(teams.get(1), teams.get(0), daysFromToday(0));
+		saveFixture(teams.get(2), teams.get(3), daysFromToday(1));
+		saveFixture(teams.get(3), teams.get(2), null);
+		Fixture played = saveFixture(teams.get(0), teams.get(2), daysFromToday(-1));
+		played.setHomeGoals(1);
+		played.setAwayGoals(0);
+		fixtureRepository.createOrUpdate(played);
+
+		// When
+		dueFixtureScheduler.reload();
+		List<String> due = ourFixtureIds(dueFixtureScheduler.getDueFixtures());
+
+		// Then
+		assertEquals (Arrays.asList(yesterday.getFixtureId(), today.getFixtureId()), due);
+		List<Fixture> queried = new ArrayList<Fixture> (fixtureRepository.getUnplayedFixturesBeforeToday());
+		queried.addAll(fixtureRepository.getUnplayedFixturesOnDate(Calendar.getInstance()));
+		assertEquals (due, ourFixtureIds(queried));
+	}
+
+	@Test
+	public void createOrUpdateShouldRescheduleAFixtureGivenANewDate () {
+		// Given
+		Fixture first = saveFixture(teams.get(0), teams.get(1), daysFromToday(0));
+		Fixture second = saveFixture(teams.get(1), teams.get(0), daysFromToday(-1));
+		assertEquals (Arrays.asList(second.getFixtureId(), first.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+
+		// When
+		first.setFixtureDate(daysFromToday(7));
+		first = fixtureRepository.createOrUpdate(first);
+
+		// Then
+		assertEquals (Arrays.asList(second.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+		assertEquals (Arrays.asList(second.getFixtureId(), first.getFixtureId()),
+				ourFixtureIds(dueFixtureScheduler.getDueFixtures(daysFromToday(7))));
+
+		// When
+		first.setFixtureDate(daysFromToday(-2));
+		fixtureRepository.createOrUpdate(first);
+
+		// Then
+		assertEquals (Arrays.asList(first.getFixtureId(), second.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+	}
+
+	@Test
+	public void createOrUpdateShouldDropAFixtureOnceItHasAResult () {
+		// Given
+		Fixture fixture = saveFixture(teams.get(2), teams.get(3), daysFromToday(-3));
+		assertEquals (Arrays.asList(fixture.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+
+		// When
+		fixture.setHomeGoals(2);
+		fixture.setAwayGoals(2);
+		fixture = fixtureRepository.createOrUpdate(fixture);
+
+		// Then
+		assertTrue (ourFixtureIds(dueFixtureScheduler.getDueFixtures()).isEmpty());
+
+		// When
+		fixture.setHomeGoals(null);
+		fixture.setAwayGoals(null);
+		fixture = fixtureRepository.createOrUpdate(fixture);
+
+		// Then
+		assertEquals (Arrays.asList(fixture.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+
+		// When
+		fixtureRepository.delete(fixture);
+
+		// Then
+		assertTrue (ourFixtureIds(dueFixtureScheduler.getDueFixtures()).isEmpty());
+	}
+
+	@Test
+	public void changingAFixtureHandedOutShouldNotChangeTheSchedule () {
+		// Given
+		Fixture fixture = saveFixture(teams.get(0), teams.get(3), daysFromToday(-1));
+		Fixture handedOut = dueFixtureScheduler.getDueFixtures().stream()
+				.filter(due -> fixture.getFixtureId().equals(due.getFixtureId())).findFirst().get();
+
+		// When
+		handedOut.setFixtureDate(daysFromToday(7));
+		fixture.setHomeGoals(3);
+
+		// Then
+		assertEquals (Arrays.asList(fixture.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+		assertEquals (daysFromToday(-1), ourFixtures(dueFixtureScheduler.getDueFixtures()).get(0).getFixtureDate());
+	}
+
+	@Test
+	public void anOlderVersionOfAFixturePassedOnLateShouldBeIgnored () {
+		// Given
+		Fixture fixture = saveFixture(teams.get(3), teams.get(0), daysFromToday(-1));
+		assumeNotNull (fixture.getVersion());
+		Fixture unplayed = fixtureRepository.findOne(fixture.getFixtureId());
+		fixture.setHomeGoals(0);
+		fixture.setAwayGoals(1);
+		fixtureRepository.createOrUpdate(fixture);
+
+		// When
+		dueFixtureScheduler.update(unplayed);
+
+		// Then
+		assertTrue (ourFixtureIds(dueFixtureScheduler.getDueFixtures()).isEmpty());
+	}
+
+	@Test
+	public void onlyTheMostRecentlyRemovedFixturesShouldBeRemembered () {
+		// Given
+		DueFixtureScheduler scheduler = new DueFixtureScheduler(fixtureRepository, domainObjectFactory, 1000, 2);
+		scheduler.reload();
+		int rememberedBefore = scheduler.getRememberedVersionCount();
+		List<Fixture> unplayed = new ArrayList<Fixture> ();
+		for (int i = 1; i < NUMBER_OF_TEAMS; i++) {
+			Fixture fixture = saveFixture(teams.get(0), teams.get(i), daysFromToday(-1));
+			assumeNotNull (fixture.getVersion());
+			scheduler.update(fixture);
+			unplayed.add(fixtureRepository.findOne(fixture.getFixtureId()));
+		}
+
+		// When
+		for (Fixture fixture : unplayed) {
+			Fixture played = fixtureRepository.findOne(fixture.getFixtureId());
+			played.setHomeGoals(1);
+			played.setAwayGoals(1);
+			scheduler.update(fixtureRepository.createOrUpdate(played));
+		}
+
+		// Then
+		assertEquals (rememberedBefore + 2, scheduler.getRememberedVersionCount());
+		scheduler.update(unplayed.get(unplayed.size() - 1));
+		assertTrue (ourFixtureIds(scheduler.getDueFixtures()).isEmpty());
+	}
+
+	@Test
+	public void aFixtureWrittenWhileTheScheduleWasUnloadedShouldBeScheduledWhenItsTransactionCommits () throws Exception {
+		assumeTrue (transactionManager != null);
+
+		// Given
+		dueFixtureScheduler.unload();
+		TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		Fixture fixture = saveFixture(teams.get(2), teams.get(1), daysFromToday(-1));
+		ExecutorService otherThread = Executors.newSingleThreadExecutor();
+		try {
+			otherThread.submit(() -> dueFixtureScheduler.reload()).get();
+		} finally {
+			otherThread.shutdown();
+		}
+
+		// When
+		transactionManager.commit(transaction);
+
+		// Then
+		assertEquals (Arrays.asList(fixture.getFixtureId()), ourFixtureIds(dueFixtureScheduler.getDueFixtures()));
+	}
+
+	private Fixture saveFixture(Team homeTeam, Team awayTeam, Calendar fixtureDate) {
+		Fixture fixture = domainObjectFactory.createFixture(season, homeTeam, awayTeam);
+		fixture.setDivision(division);
+		fixture.setFixtureDate(fixtureDate);
+		return fixtureRepository.createOrUpdate(fixture);
+	}
+
+	private List<String> ourFixtureIds(List<Fixture> fixtures) {
+		List<String> fixtureIds = new ArrayList<String> ();
+		for (Fixture fixture : ourFixtures(fixtures)) {
+			fixtureIds.add(fixture.getFixtureId());
+		}
+		return fixtureIds;
+	}
+
+	private List<Fixture> ourFixtures(List<Fixture> fixtures) {
+		List<Fixture> ourFixtures = new ArrayList<Fixture> ();
+		for (Fixture fixture : fixtures) {
+			if (seasonNumber.equals(fixture.getSeason().getSeasonNumber())) ourFixtures.add(fixture);
+		}
+		return ourFixtures;
+	}
+
+	private static Calendar daysFromToday(int days) {
+		Calendar date = Calendar.getInstance();
+		date.set(Calendar.HOUR_OF_DAY, 0);
+		date.set(Calendar.MINUTE, 0);
+		date.set(Calendar.SECOND, 0);
+		date.set(Calendar.MILLISECOND, 0);
+		date.add(Calendar.DAY_OF_MONTH, days);
+		return date;
+	}
+}
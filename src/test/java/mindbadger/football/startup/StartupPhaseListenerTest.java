@@ -0,0 +1,81 @@
+package mindbadger.football.startup;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import mindbadger.TestApplication;
+import mindbadger.football.repository.TeamRepository;
+import mindbadger.football.repository.async.AsyncFixtureRepository;
+
+public class StartupPhaseListenerTest {
+	private static final String ASYNC_FIXTURE_REPOSITORY = "asyncFixtureRepository";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void startupShouldBeTimedPhaseByPhaseAndReported () throws Exception {
+		// Given
+		File reportDirectory = temporaryFolder.newFolder();
+
+		// When
+		try (ConfigurableApplicationContext context = start("football.startup-report.enabled=true",
+				"football.startup-report.report-directory=" + reportDirectory.getPath(),
+				"football.startup-report.backend=startuptest")) {
+
+			// Then
+			StartupTimings timings = context.getBean(StartupTimings.class);
+			Map<String, Long> phases = timings.getPhases();
+			assertTrue (phases.containsKey("environment"));
+			assertTrue (phases.containsKey("context"));
+			assertTrue (phases.containsKey("refresh"));
+			String teamRepositoryName = context.getBeanNamesForType(TeamRepository.class)[0];
+			assertNotNull (timings.getBeanNanos(teamRepositoryName));
+		}
+
+		File[] reports = reportDirectory.listFiles();
+		assertEquals (1, reports.length);
+		JSONObject report = new JSONObject(new String(Files.readAllBytes(reports[0].toPath()), StandardCharsets.UTF_8));
+		assertEquals ("startuptest", report.getString("backend"));
+		assertTrue (report.getString("mode").startsWith("eager-"));
+		assertTrue (report.getInt("beansCreated") > 0);
+		assertTrue (report.getJSONObject("phases").getDouble("refresh") > 0);
+	}
+
+	@Test
+	public void lazyInitializationShouldCreateOnlyTheBeansThatAreAskedFor () {
+		// When
+		try (ConfigurableApplicationContext context = start("football.lazy-initialization.enabled=true")) {
+
+			// Then
+			assertFalse (context.getBeanFactory().containsSingleton(ASYNC_FIXTURE_REPOSITORY));
+			assertNotNull (context.getBean(AsyncFixtureRepository.class));
+			assertTrue (context.getBeanFactory().containsSingleton(ASYNC_FIXTURE_REPOSITORY));
+		}
+	}
+
+	@Test
+	public void beansShouldBeCreatedUpFrontByDefault () {
+		// When
+		try (ConfigurableApplicationContext context = start()) {
+
+			// Then
+			assertTrue (context.getBeanFactory().containsSingleton(ASYNC_FIXTURE_REPOSITORY));
+		}
+	}
+
+	private static ConfigurableApplicationContext start(String... properties) {
+		return new SpringApplicationBuilder(TestApplication.class).web(false).properties(properties).run();
+	}
+}